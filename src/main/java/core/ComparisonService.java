@@ -1,10 +1,13 @@
 package core;
 
 import data_representation.DataRepresentation;
+import data_representation.TokenSequence;
 import metrics.comparison.listwise.ListwiseComparisonStrategy;
 import metrics.comparison.pairwise.PairwiseComparisonStrategy;
 import model.ListwiseCommand;
 import model.PairwiseCommand;
+import model.PairwiseTileCommand;
+import utilities.DoubleList;
 import utilities.Tuple;
 
 import java.beans.PropertyChangeEvent;
@@ -27,6 +30,18 @@ import java.util.concurrent.Future;
  *
  */
 public class ComparisonService {
+	//the number of consecutive pairs each pairwise comparison task compares
+	private static final int PAIRS_PER_TASK = 256;
+	//the cache the test cases of a tile should fit in, which is the size of a typical L2 cache
+	private static final int CACHE_BYTES = 256 * 1024;
+	//the fewest and most test cases along the side of a tile
+	private static final int MIN_TILE_SIDE = 8;
+	private static final int MAX_TILE_SIDE = 1024;
+	//the fewest tiles along the side of the pairs, so there are enough tiles to spread over the threads
+	private static final int MIN_TILES_PER_SIDE = 12;
+	//the most test cases looked at to estimate the size of a test case
+	private static final int SIZE_SAMPLES = 64;
+
 	private ExecutorService threadPool;
 	private PropertyChangeSupport support;
 
@@ -45,61 +60,169 @@ public class ComparisonService {
 	 * using the provided aggregation
 	 * strategy
 	 *
+	 * The pairs are read from the list as they are compared, in runs of consecutive pairs, so a list that makes
+	 * its pairs when they are read never has every pair made at once. The pairs of a PairList are instead compared
+	 * in tiles, which each compare a run of test cases with another run small enough to stay in cache, and only
+	 * the distinct pairs of a DistinctPairs are compared. The similarities are kept in an array rather than as a
+	 * Double for each pair.
+	 *
 	 * @param testCasePairs the list of test case pairs
 	 * @param strategy    	the strategy to use to compare the tests
 	 * @return the list of calculated similarities as Doubles
 	 */
 	public List<Double> pairwiseCompare(List<Tuple<DataRepresentation, DataRepresentation>> testCasePairs, PairwiseComparisonStrategy strategy,
 										PropertyChangeListener pcl, boolean useThreadPool) throws Exception {
+		if (testCasePairs instanceof DistinctPairs)
+			return distinctCompare((DistinctPairs) testCasePairs, strategy, pcl, useThreadPool);
+		double[] similarities = new double[testCasePairs.size()];
+		List<Callable<Object>> tasks = (testCasePairs instanceof PairList)
+				? tileTasks((PairList) testCasePairs, strategy, similarities, pcl)
+				: runTasks(testCasePairs, strategy, similarities, pcl);
+		compareHelper(tasks, pcl, similarities.length, useThreadPool);
+		return new DoubleList(similarities);
+	}
+
+	/**
+	 * private helper method to compare only the distinct pairs of a list of pairs with repeated test cases, and
+	 * find the similarity of every pair from them
+	 */
+	private List<Double> distinctCompare(DistinctPairs pairs, PairwiseComparisonStrategy strategy, PropertyChangeListener pcl,
+										 boolean useThreadPool) throws Exception {
+		double[] distinctSimilarities = new double[pairs.getDistinctPairs().size()];
+		List<Tuple<DataRepresentation, DataRepresentation>> extraPairs = pairs.getExtraPairs();
+		double[] extraSimilarities = new double[extraPairs.size()];
+		List<Callable<Object>> tasks = tileTasks(pairs.getDistinctPairs(), strategy, distinctSimilarities, pcl);
+		tasks.addAll(runTasks(extraPairs, strategy, extraSimilarities, pcl));
+		compareHelper(tasks, pcl, distinctSimilarities.length + extraSimilarities.length, useThreadPool);
+		return pairs.expand(distinctSimilarities, extraSimilarities);
+	}
+
+	/**
+	 * private helper method to split a list of pairs into runs of consecutive pairs to compare. The pairs are read
+	 * from the list as they are compared, so a list that makes its pairs when they are read never has every pair
+	 * made at once.
+	 *
+	 * @param similarities filled with the similarity of each pair when the tasks are done
+	 */
+	private static List<Callable<Object>> runTasks(List<Tuple<DataRepresentation, DataRepresentation>> testCasePairs,
+												   PairwiseComparisonStrategy strategy, double[] similarities, PropertyChangeListener pcl) {
 		List<Callable<Object>> tasks = new ArrayList<>();
-		for (Tuple testCasePair : testCasePairs) {
-			tasks.add(new PairwiseCommand(strategy, (DataRepresentation)testCasePair.getLeft(),
-					(DataRepresentation)testCasePair.getRight(), pcl));
+		for (int from = 0; from < testCasePairs.size(); from += PAIRS_PER_TASK) {
+			int start = from;
+			List<Tuple<DataRepresentation, DataRepresentation>> run =
+					testCasePairs.subList(from, Math.min(from + PAIRS_PER_TASK, testCasePairs.size()));
+			tasks.add(() -> {
+				int i = start;
+				for (Tuple<DataRepresentation, DataRepresentation> testCasePair : run)
+					similarities[i++] = (double) new PairwiseCommand(strategy, testCasePair.getLeft(), testCasePair.getRight(), pcl).call();
+				return run.size();
+			});
 		}
+		return tasks;
+	}
+
+	/**
+	 * private helper method to split the pairs of a PairList into tiles to compare. Each tile writes the similarity
+	 * of its pairs at their positions in the list, so the similarities are in the order of the list however the
+	 * tiles are scheduled.
+	 *
+	 * @param similarities filled with the similarity of each pair when the tasks are done
+	 */
+	private static List<Callable<Object>> tileTasks(PairList pairs, PairwiseComparisonStrategy strategy, double[] similarities,
+													PropertyChangeListener pcl) {
+		List<Callable<Object>> tasks = new ArrayList<>();
+		for (int[] tile : pairs.tiles(tileSide(pairs)))
+			tasks.add(new PairwiseTileCommand(strategy, pairs, tile, similarities, pcl));
+		return tasks;
+	}
 
-		if(useThreadPool)
-			return threadPoolCompareHelper(tasks, pcl);
+	/**
+	 * private helper method to run comparison tasks that write their similarities into arrays. Waiting on every
+	 * task makes the similarities they wrote visible to this thread.
+	 */
+	private void compareHelper(List<Callable<Object>> tasks, PropertyChangeListener pcl, int numberTasks,
+							   boolean useThreadPool) throws Exception {
+		if (useThreadPool)
+			threadPoolCompareHelper(tasks, pcl, numberTasks);
 		else
-			return sequentialCompareHelper(tasks, pcl);
+			sequentialCompareHelper(tasks, pcl, numberTasks);
+	}
+
+	/**
+	 * finds how many test cases to put along the side of a tile, so that the test cases of the two runs of a tile
+	 * fit in cache together, while leaving enough tiles to keep every thread busy
+	 *
+	 * @param pairs the pairs to split into tiles
+	 * @return the most test cases in a run of a tile
+	 */
+	static int tileSide(PairList pairs) {
+		int n = pairs.getTestCaseCount();
+		if (n == 0)
+			return MIN_TILE_SIDE;
+		//the size of a test case is estimated from an even sample of the test cases
+		int samples = Math.min(n, SIZE_SAMPLES);
+		long bytes = 0;
+		for (int s = 0; s < samples; s++)
+			bytes += estimateBytes(pairs.getTestCase((int) ((long) s * n / samples)));
+		long perTestCase = Math.max(1, bytes / samples);
+
+		long side = CACHE_BYTES / (2 * perTestCase);
+		side = Math.min(side, Math.max(MIN_TILE_SIDE, n / MIN_TILES_PER_SIDE));
+		return (int) Math.max(MIN_TILE_SIDE, Math.min(MAX_TILE_SIDE, side));
+	}
+
+	/**
+	 * @return roughly how many bytes a comparison reads from a parsed test case: the ids of its elements when it
+	 * is a token sequence, or else its text
+	 */
+	private static long estimateBytes(DataRepresentation testCase) {
+		//every test case also has the header of its object and arrays
+		long overhead = 64;
+		if (testCase instanceof TokenSequence)
+			return overhead + 4L * ((TokenSequence) testCase).length();
+		String text = testCase.toString();
+		return overhead + 2L * (text == null ? 0 : text.length());
 	}
 
 	/**
 	 * private helper method to perform comparison sequentially
 	 *
 	 * @param tasks the comparisons to make
-	 * @return the list of calculated similarities as Doubles
+	 * @param numberTasks the number of comparisons the tasks make between them
+	 * @return the result of each task
 	 */
-	private List<Double> sequentialCompareHelper(List<Callable<Object>> tasks, PropertyChangeListener pcl) throws Exception {
+	private List<Object> sequentialCompareHelper(List<Callable<Object>> tasks, PropertyChangeListener pcl, int numberTasks) throws Exception {
 		if (pcl != null)
 			support.addPropertyChangeListener(pcl);
 
-		support.firePropertyChange(new PropertyChangeEvent(this, "numberTasks", 0, tasks.size()));
+		support.firePropertyChange(new PropertyChangeEvent(this, "numberTasks", 0, numberTasks));
 
-		ArrayList<Double> similarities = new ArrayList<>();
+		ArrayList<Object> results = new ArrayList<>();
 		for (Callable<Object> task : tasks)
-			similarities.add((double)task.call());
-		return similarities;
+			results.add(task.call());
+		return results;
 	}
 
 	/**
 	 * private helper method to perform comparison with thread pool
 	 *
 	 * @param tasks the comparisons to make in the thread pool
-	 * @return the list of calculated similarities as Doubles
+	 * @param numberTasks the number of comparisons the tasks make between them
+	 * @return the result of each task
 	 */
 
-	private List<Double> threadPoolCompareHelper(List<Callable<Object>> tasks, PropertyChangeListener pcl) throws ExecutionException, InterruptedException {
+	private List<Object> threadPoolCompareHelper(List<Callable<Object>> tasks, PropertyChangeListener pcl, int numberTasks) throws ExecutionException, InterruptedException {
 		if (pcl != null)
 			support.addPropertyChangeListener(pcl);
 
-		support.firePropertyChange(new PropertyChangeEvent(this, "numberTasks", 0, tasks.size()));
+		support.firePropertyChange(new PropertyChangeEvent(this, "numberTasks", 0, numberTasks));
 		List<Future<Object>> futureList = threadPool.invokeAll(tasks);
 
-		ArrayList<Double> similarities = new ArrayList<>();
+		ArrayList<Object> results = new ArrayList<>();
 		for (Future<Object> future : futureList)
-			similarities.add((Double) future.get());
+			results.add(future.get());
 
-		return similarities;
+		return results;
 	}
 
 
@@ -118,9 +241,11 @@ public class ComparisonService {
 		for(List<DataRepresentation> testsuite: testsuites)
 			tasks.add(new ListwiseCommand(strategy, testsuite, pcl));
 
-		if(useThreadPool)
-			return threadPoolCompareHelper(tasks, pcl);
-		else
-			return sequentialCompareHelper(tasks, pcl);
+		List<Object> results = useThreadPool ? threadPoolCompareHelper(tasks, pcl, tasks.size())
+				: sequentialCompareHelper(tasks, pcl, tasks.size());
+		List<Double> similarities = new ArrayList<>(results.size());
+		for (Object result : results)
+			similarities.add((Double) result);
+		return similarities;
 	}
 }
\ No newline at end of file
@@ -1,9 +1,11 @@
 package core;
 
 import data_representation.DataRepresentation;
+import data_representation.SymbolTable;
 import metrics.aggregation.AggregationStrategy;
 import metrics.comparison.listwise.ListwiseComparisonStrategy;
 import metrics.comparison.pairwise.PairwiseComparisonStrategy;
+import metrics.report_format.NearDuplicates;
 import metrics.report_format.ReportFormat;
 import model.*;
 import user_interface.ConsoleOutputService;
@@ -21,6 +23,8 @@ import java.util.Arrays;
 import java.util.List;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.function.BiFunction;
+import java.util.function.Function;
 
 /**
  * The Controller is the main logic for the program. It pieces together the different services to
@@ -36,6 +40,8 @@ public class Controller {
     private static final String LISTWISE_COMPARISON_INTERFACE_PATH = "metrics.comparison.listwise.ListwiseComparisonStrategy";
     private static final String AGGREGATION_INTERFACE_PATH = "metrics.aggregation.AggregationStrategy";
     private static final String REPORT_FORMAT_INTERFACE_PATH = "metrics.report_format.ReportFormat";
+    //the seed of random sampling, so that repeating a sampled compare command compares the same test cases
+    private static final long SAMPLE_SEED = 0;
 
     //configuration object containing config file values
     private Config config;
@@ -291,55 +297,152 @@ public class Controller {
             return;
         }
 
+        //near-duplicates are found from the sets of elements of test cases, so only set-based metrics can be used
+        NearDuplicateFinder nearDuplicateFinder = null;
+        SimilarityJoin similarityJoin = null;
+        if (dto.getNearDuplicateThreshold() != null) {
+            if (type == ComparisonType.pairwise && Boolean.TRUE.equals(dto.getExactNearDuplicates()))
+                similarityJoin = SimilarityJoin.forMetric(pairwiseStrategy, dto.getNearDuplicateThreshold());
+            else if (type == ComparisonType.pairwise)
+                nearDuplicateFinder = NearDuplicateFinder.forMetric(pairwiseStrategy, dto.getNearDuplicateThreshold());
+            if (nearDuplicateFinder == null && similarityJoin == null) {
+                console.displayResults("near-duplicates can only be found with a set-based pairwise metric, such as JaccardIndex or Dice");
+                return;
+            }
+            if (dto.getReportFormats() == null)
+                dto.setReportFormats(new String[]{NearDuplicates.class.getSimpleName()});
+        }
+
+        //pairs within a number of edits are found from their shared q-grams, so only edit distances can be used
+        EditDistanceJoin editDistanceJoin = null;
+        if (dto.getMaxEditDistance() != null) {
+            if (type == ComparisonType.pairwise && dto.getNearDuplicateThreshold() == null)
+                editDistanceJoin = EditDistanceJoin.forMetric(pairwiseStrategy, dto.getMaxEditDistance());
+            if (editDistanceJoin == null) {
+                console.displayResults("pairs within an edit distance can only be found with the Levenshtein metric, and not with a similarity threshold");
+                return;
+            }
+            if (dto.getReportFormats() == null)
+                dto.setReportFormats(new String[]{NearDuplicates.class.getSimpleName()});
+        }
+
+        //the nearest test cases are searched for in an index of the first suite, so only metrics it supports can be used
+        if (dto.getNearestTestCases() != null) {
+            if (type != ComparisonType.pairwise || !MetricIndex.supports(pairwiseStrategy) || dto.getTestCaseLocationTwo() == null
+                    || dto.getNearDuplicateThreshold() != null || dto.getMaxEditDistance() != null) {
+                console.displayResults("nearest test cases can only be found between two test suites with the Levenshtein metric, and not with another near-duplicate search");
+                return;
+            }
+            if (dto.getReportFormats() == null)
+                dto.setReportFormats(new String[]{NearDuplicates.class.getSimpleName()});
+        }
+
         ReportFormat[] reportFormats = loadReportFormats(dto);
         if (reportFormats.length == 0) {
             return;
         }
 
+        //create a work-stealing thread pool for reading, pairing and comparison, so threads that finish their tiles
+        //of pairs take tiles from busy threads. The files of a test suite folder are read on the same pool
+        if (dto.getNumberOfThreads() == null) {
+            dto.setNumberOfThreads(config.getNumThreads());
+        }
+        ExecutorService threadPool = Executors.newWorkStealingPool(dto.getNumberOfThreads());
+        fileReaderService.setReaders(threadPool);
+        //test suites are only cached when a cache folder is configured
+        String suiteCacheLocation = config.getSuiteCacheLocation();
+        fileReaderService.setSuiteCache((suiteCacheLocation == null || suiteCacheLocation.isEmpty())
+                ? null : new SuiteCache(new File(suiteCacheLocation)));
+
+        //the elements of the test suites are given ids in a new table, shared by both test suites of the comparison
+        SymbolTable symbols = new SymbolTable();
+        //test cases are read with the settings configured for the data representation, such as the shingle size
+        dataRepresentation = dataRepresentation.configure(config);
+
         //read in the first test suite file
         if (dto.getDelimiter() == null)
             dto.setDelimiter(config.getDelimiter());
-        DataRepresentation[] testSuite1 = getTestSuite(dto.getTestCaseLocationOne(), dto.getDelimiter(), dataRepresentation);
-        if(testSuite1 == null) //this triggers when an exception is thrown
+        //listwise metrics look at each test case once, so large files can be mapped instead of read into memory
+        boolean allowMapping = type == ComparisonType.listwise && dto.getSampleSize() == null;
+        TestSuite testSuite1 = getTestSuite(dto.getTestCaseLocationOne(), dto, dataRepresentation, symbols, allowMapping);
+        if(testSuite1 == null) {//this triggers when an exception is thrown
+            threadPool.shutdown();
             return;
-        else if (testSuite1.length == 0){//if the file has not test cases, we cannot proceed with hte operation
+        } else if (testSuite1.isEmpty()){//if the file has not test cases, we cannot proceed with hte operation
             console.displayResults("operation failed because " + dto.getTestCaseLocationOne() + " does not contain any test cases");
+            threadPool.shutdown();
             return;
         }
 
         //if there is a second file, read it in as well
-        DataRepresentation[] testSuite2 = null;
+        TestSuite testSuite2 = null;
         if(dto.getTestCaseLocationTwo() != null) {
-            testSuite2 = getTestSuite(dto.getTestCaseLocationTwo(), dto.getDelimiter(), dataRepresentation);
-            if (testSuite2 == null) //this triggers when an exception is thrown
+            testSuite2 = getTestSuite(dto.getTestCaseLocationTwo(), dto, dataRepresentation, symbols, allowMapping);
+            if (testSuite2 == null) { //this triggers when an exception is thrown
+                closeTestSuites(testSuite1);
+                threadPool.shutdown();
                 return;
-            else if (testSuite2.length == 0) {//if the file has not test cases, we cannot proceed with the operation
+            } else if (testSuite2.isEmpty()) {//if the file has not test cases, we cannot proceed with the operation
                 console.displayResults("operation failed because " + dto.getTestCaseLocationTwo() + " does not contain any test cases");
+                closeTestSuites(testSuite1, testSuite2);
+                threadPool.shutdown();
                 return;
             }
         }
 
-        //create thread pool for pairing and comparison
-        if (dto.getNumberOfThreads() == null) {
-            dto.setNumberOfThreads(config.getNumThreads());
-        }
-        ExecutorService threadPool = Executors.newFixedThreadPool(dto.getNumberOfThreads());
+        if (dto.getSampleSize() != null)
+            dto.setPopulationSize(testSuite1.getPopulationSize() + (testSuite2 == null ? 0 : testSuite2.getPopulationSize()));
+
         List<Double> similaritiesFromComparisons;
         comparisonService = new ComparisonService(threadPool);
         switch(type) { //pairing and comparison is dependent on the type of comparison metric being used
             case pairwise:
+                if (dto.getNearestTestCases() != null) {//only the test cases near each new test case are compared
+                    similaritiesFromComparisons = findNearest(dto, pairwiseStrategy, dataRepresentation, testSuite1, testSuite2);
+                    if (similaritiesFromComparisons == null)
+                        return;
+                    break;
+                }
+                if (editDistanceJoin != null) {//every pair within the distance is found without comparing every pair
+                    similaritiesFromComparisons = joinNearDuplicates(dto, editDistanceJoin::joinWithin,
+                            editDistanceJoin::joinBetween, testSuite1, testSuite2);
+                    if (similaritiesFromComparisons == null)
+                        return;
+                    break;
+                }
+                if (similarityJoin != null) {//every near-duplicate is found without comparing every pair
+                    similaritiesFromComparisons = joinNearDuplicates(dto, similarityJoin::joinWithin,
+                            similarityJoin::joinBetween, testSuite1, testSuite2);
+                    if (similaritiesFromComparisons == null)
+                        return;
+                    break;
+                }
+                if (nearDuplicateFinder != null) {//only the likely near-duplicates are paired and compared
+                    similaritiesFromComparisons = findNearDuplicates(dto, nearDuplicateFinder, pairwiseStrategy, testSuite1, testSuite2);
+                    if (similaritiesFromComparisons == null)
+                        return;
+                    break;
+                }
                 //generate the pairs for comparison
                 pairingService = new PairingService(threadPool);
                 List<Tuple<DataRepresentation, DataRepresentation>> pairs;
                 console.displayResults("Pairing Test Cases...");
                 try {
-                    if (testSuite2 == null)
-                        pairs = pairingService.makePairsWithin(console, testSuite1[0],
-                                fileReaderService.readTestCases(dto.getTestCaseLocationOne(), dto.getDelimiter()));
+                    //test cases that can be iterated over more than once are paired without being parsed again
+                    boolean rewindable = testSuite1.getDataRepresentations().get(0).cursor() != null;
+                    if (testSuite2 == null && rewindable)
+                        pairs = pairingService.makePairsWithin(console, testSuite1.getDataRepresentations());
+                    else if (testSuite2 == null)
+                        pairs = pairingService.makePairsWithin(console, dataRepresentation, testSuite1.getTestCases());
+                    else if (rewindable)
+                        pairs = pairingService.makePairsBetween(console,
+                                Arrays.asList(testSuite1.getDataRepresentations(), testSuite2.getDataRepresentations()));
                     else
-                        pairs = pairingService.makePairsBetween(console, testSuite1[0],
-                                fileReaderService.readTestCases(dto.getTestCaseLocationOne(), dto.getDelimiter()),
-                                fileReaderService.readTestCases(dto.getTestCaseLocationTwo(), dto.getDelimiter()));
+                        pairs = pairingService.makePairsBetween(console, dataRepresentation,
+                                testSuite1.getTestCases(), testSuite2.getTestCases());
+                } catch (IllegalArgumentException e) {//too many pairs to compare at once
+                    console.displayResults("Error during pair generation: " + e.getMessage());
+                    return;
                 } catch (Exception e) {
                     console.displayResults("Error during pair generation: " + e.toString());
                     return;
@@ -362,14 +465,16 @@ public class Controller {
                 try {
                     console.displayResults("Performing Comparison...");
                     List<List<DataRepresentation>> suites = new ArrayList<>();
-                    suites.add(Arrays.asList(testSuite1));
+                    suites.add(testSuite1.getDataRepresentations());
                     if (testSuite2 != null) {
-                        suites.add(Arrays.asList(testSuite2));
+                        suites.add(testSuite2.getDataRepresentations());
                     }
                     similaritiesFromComparisons = comparisonService.listwiseCompare(suites, listwiseStrategy, console, dto.isUseThreadPool());
                 } catch (Exception e) {
                     console.displayResults("Error in pairwise comparison calculation: " + e.toString());
                     return;
+                } finally {
+                    closeTestSuites(testSuite1, testSuite2);
                 }
                 break;
             default:
@@ -378,7 +483,14 @@ public class Controller {
 
         threadPool.shutdown();
 
-        if (similaritiesFromComparisons.isEmpty()) {
+        if (dto.getSampleSize() != null && dto.getNearDuplicates() == null && !similaritiesFromComparisons.isEmpty())
+            estimateSampleError(dto, type, listwiseStrategy, similaritiesFromComparisons, testSuite1, testSuite2);
+
+        if (similaritiesFromComparisons.isEmpty() && dto.getMaxEditDistance() != null) {
+            console.displayResults("No pairs of test cases are within the edit distance");
+        } else if (similaritiesFromComparisons.isEmpty() && dto.getNearDuplicates() != null) {
+            console.displayResults("No pairs of test cases reach the near-duplicate similarity threshold");
+        } else if (similaritiesFromComparisons.isEmpty()) {
             console.displayResults("No results were obtained from the calculation");
         } else {
             List<List<Double>> aggregateResults = new ArrayList<>();
@@ -406,6 +518,159 @@ public class Controller {
         }
     }
 
+    /**
+     * estimates how far the results of a comparison on sampled test suites may be from the results on the whole
+     * test suites, and records the estimate so that it is shown in reports
+     *
+     * @param dto the compare command
+     * @param type the type of the comparison metric
+     * @param listwiseStrategy the listwise metric, if the comparison was listwise
+     * @param similarities the results of the comparison
+     * @param testSuite1 the first sampled test suite
+     * @param testSuite2 the second sampled test suite, which may be null
+     */
+    private void estimateSampleError(CompareDTO dto, ComparisonType type, ListwiseComparisonStrategy listwiseStrategy,
+                                     List<Double> similarities, TestSuite testSuite1, TestSuite testSuite2) {
+        SampleErrorEstimator estimator = new SampleErrorEstimator();
+        try {
+            if (type == ComparisonType.pairwise) {
+                dto.setSampleError(testSuite2 == null ? estimator.pairwiseError(similarities, testSuite1.size())
+                        : estimator.pairwiseError(similarities, testSuite1.size(), testSuite2.size()));
+            } else {
+                List<List<DataRepresentation>> testSuites = new ArrayList<>();
+                testSuites.add(testSuite1.getDataRepresentations());
+                if (testSuite2 != null)
+                    testSuites.add(testSuite2.getDataRepresentations());
+                dto.setSampleError(estimator.listwiseError(listwiseStrategy, testSuites));
+            }
+        } catch (Exception e) {
+            console.displayResults("Error estimating sampling error: " + e.toString());
+        }
+    }
+
+    /**
+     * finds the pairs of test cases that are near-duplicates. Only the candidate pairs found from the MinHash
+     * signatures of the test cases are compared, and the pairs that reach the threshold are recorded so that they
+     * are shown in reports.
+     *
+     * @param dto the compare command, which holds the similarity threshold
+     * @param finder finds the candidate pairs
+     * @param strategy the set-based metric the candidates are compared with
+     * @param testSuite1 the first test suite
+     * @param testSuite2 the second test suite, which may be null
+     * @return the similarity of each near-duplicate pair, or null if the search failed
+     */
+    private List<Double> findNearDuplicates(CompareDTO dto, NearDuplicateFinder finder, PairwiseComparisonStrategy strategy,
+                                            TestSuite testSuite1, TestSuite testSuite2) {
+        List<DataRepresentation> suite1 = testSuite1.getDataRepresentations();
+        List<DataRepresentation> suite2 = (testSuite2 == null) ? suite1 : testSuite2.getDataRepresentations();
+        if (suite1.get(0).cursor() == null) {
+            console.displayResults("near-duplicates can only be found in test cases that can be read more than once");
+            return null;
+        }
+        console.displayResults("Finding Candidate Near-Duplicates...");
+        List<int[]> candidates = (testSuite2 == null) ? finder.candidatesWithin(suite1) : finder.candidatesBetween(suite1, suite2);
+        List<Tuple<DataRepresentation, DataRepresentation>> pairs = new ArrayList<>(candidates.size());
+        for (int[] candidate : candidates)
+            pairs.add(new Tuple<>(suite1.get(candidate[0]).cursor(), suite2.get(candidate[1]).cursor()));
+
+        List<Double> similarities = new ArrayList<>();
+        try {
+            if (!pairs.isEmpty()) {
+                console.displayResults("Performing Comparison...");
+                similarities = comparisonService.pairwiseCompare(pairs, strategy, console, dto.isUseThreadPool());
+            }
+        } catch (Exception e) {
+            console.displayResults("Error in pairwise comparison calculation: " + e.toString());
+            return null;
+        }
+
+        List<NearDuplicatePair> nearDuplicates = new ArrayList<>();
+        List<Double> nearDuplicateSimilarities = new ArrayList<>();
+        for (int k = 0; k < candidates.size(); k++) {
+            double similarity = similarities.get(k);
+            if (similarity >= dto.getNearDuplicateThreshold()) {
+                nearDuplicates.add(new NearDuplicatePair(candidates.get(k)[0], candidates.get(k)[1], similarity));
+                nearDuplicateSimilarities.add(similarity);
+            }
+        }
+        dto.setNearDuplicates(nearDuplicates);
+        return nearDuplicateSimilarities;
+    }
+
+    /**
+     * finds the nearest test cases of the first test suite to each test case of the second, from a metric index of
+     * the first suite, and records them as near-duplicate pairs so that they are shown in reports. The index of a
+     * whole suite is cached with the suite, so that checking new test cases against an unchanged suite does not
+     * build it again.
+     *
+     * @param dto the compare command, which holds the number of nearest test cases
+     * @param strategy the metric the index is searched by
+     * @param format the data representation of the test cases
+     * @param testSuite1 the test suite that is indexed
+     * @param testSuite2 the test suite whose test cases are searched for
+     * @return the distance of each nearest test case, or null if the search failed
+     */
+    private List<Double> findNearest(CompareDTO dto, PairwiseComparisonStrategy strategy, DataRepresentation format,
+                                     TestSuite testSuite1, TestSuite testSuite2) {
+        List<DataRepresentation> suite1 = testSuite1.getDataRepresentations();
+        if (suite1.get(0).cursor() == null) {
+            console.displayResults("nearest test cases can only be found in test cases that can be read more than once");
+            return null;
+        }
+        List<NearDuplicatePair> nearest = new ArrayList<>();
+        List<Double> distances = new ArrayList<>();
+        try {
+            console.displayResults("Indexing Test Cases...");
+            //a sample is indexed on its own, as the cached index is of the whole suite
+            MetricIndex index = (dto.getSampleSize() != null) ? MetricIndex.build(suite1, strategy)
+                    : fileReaderService.readMetricIndex(dto.getTestCaseLocationOne(), dto.getDelimiter(), format, testSuite1, strategy);
+
+            console.displayResults("Finding Nearest Test Cases...");
+            List<DataRepresentation> suite2 = testSuite2.getDataRepresentations();
+            for (int j = 0; j < suite2.size(); j++) {
+                for (Tuple<Integer, Double> neighbour : index.nearest(suite2.get(j), dto.getNearestTestCases())) {
+                    nearest.add(new NearDuplicatePair(neighbour.getLeft(), j, neighbour.getRight()));
+                    distances.add(neighbour.getRight());
+                }
+            }
+        } catch (Exception e) {
+            console.displayResults("Error in pairwise comparison calculation: " + e.toString());
+            return null;
+        }
+        dto.setNearDuplicates(nearest);
+        return distances;
+    }
+
+    /**
+     * finds every near-duplicate pair of test cases with a join, which finds the similarity of each pair it verifies
+     * itself, and records the pairs so that they are shown in reports
+     *
+     * @param dto the compare command
+     * @param within joins the test cases of one suite
+     * @param between joins the test cases of two suites
+     * @param testSuite1 the first test suite
+     * @param testSuite2 the second test suite, which may be null
+     * @return the similarity of each near-duplicate pair, or null if the search failed
+     */
+    private List<Double> joinNearDuplicates(CompareDTO dto, Function<List<DataRepresentation>, List<NearDuplicatePair>> within,
+                                            BiFunction<List<DataRepresentation>, List<DataRepresentation>, List<NearDuplicatePair>> between,
+                                            TestSuite testSuite1, TestSuite testSuite2) {
+        List<DataRepresentation> suite1 = testSuite1.getDataRepresentations();
+        if (suite1.get(0).cursor() == null) {
+            console.displayResults("near-duplicates can only be found in test cases that can be read more than once");
+            return null;
+        }
+        console.displayResults("Finding Near-Duplicates...");
+        List<NearDuplicatePair> nearDuplicates = (testSuite2 == null) ? within.apply(suite1)
+                : between.apply(suite1, testSuite2.getDataRepresentations());
+        List<Double> nearDuplicateSimilarities = new ArrayList<>(nearDuplicates.size());
+        for (NearDuplicatePair pair : nearDuplicates)
+            nearDuplicateSimilarities.add(pair.getSimilarity());
+        dto.setNearDuplicates(nearDuplicates);
+        return nearDuplicateSimilarities;
+    }
+
     private void outputResults(CompareDTO dto, List<Double> similaritiesFromComparisons, List<List<Double>> aggregateResults, ReportFormat[] reportFormats){
 
         //output results to file, if required
@@ -452,16 +717,28 @@ public class Controller {
 
     /**
      * loads a test suite from a given file into the system. The test cases in the system are expected to
-     * be seperated by the provided delimiter, and be formated according to the supplied data representation
+     * be seperated by the provided delimiter, and be formated according to the supplied data representation.
+     * This is the only place a compare command reads a test suite, every later stage uses the loaded suite.
+     *
+     * When the command asks for a sample, only a random sample of the test cases is kept.
      *
      * @param filename the name of the test suite file
-     * @param delimiter the character/string/regex that separates each file in the test suite
+     * @param dto the compare command, which holds the delimiter that separates each test case and the sample size
      * @param format the data representation of the test cases
-     * @return an array of data representations where each data representation contains a test case
+     * @param symbols the table the elements of the test cases are given ids in, shared by every suite of the command
+     * @param allowMapping true if a large test suite file may be memory mapped instead of read into memory
+     * @return the test suite, with each test case parsed into a data representation
      */
-    private DataRepresentation[] getTestSuite(String filename, String delimiter, DataRepresentation format){
+    private TestSuite getTestSuite(String filename, CompareDTO dto, DataRepresentation format, SymbolTable symbols, boolean allowMapping){
+        String delimiter = dto.getDelimiter();
         try {
-            return fileReaderService.readIntoDataRepresentation(filename, delimiter, format);
+            if (dto.getSampleSize() != null)
+                return fileReaderService.sampleTestSuite(filename, delimiter, format, dto.getSampleSize(),
+                        Boolean.TRUE.equals(dto.getStratifiedSample()), SAMPLE_SEED, symbols);
+            long mappedFileThreshold = config.getMappedFileThreshold() * 1024L * 1024L;
+            if (allowMapping && fileReaderService.isMappable(filename, delimiter, mappedFileThreshold))
+                return new TestSuite(null, fileReaderService.mapIntoDataRepresentation(filename, delimiter, format, symbols), symbols);
+            return fileReaderService.readTestSuite(filename, delimiter, format, symbols);
         } catch (InvalidFormatException e) {
             console.displayResults("one or more test cases in " + filename + " do not match the specified data representation: "
                     + format.getClass().getName() + ": " + e.getMessage());
@@ -473,6 +750,21 @@ public class Controller {
         return null;
     }
 
+    /**
+     * releases the files held by any test suites that were memory mapped
+     *
+     * @param testSuites the test suites to close, which may be null
+     */
+    private void closeTestSuites(TestSuite... testSuites) {
+        for (TestSuite testSuite : testSuites) {
+            if (testSuite != null) {
+                try {
+                    testSuite.close();
+                } catch (IOException ignore) {}
+            }
+        }
+    }
+
     /**
      * performs a "configure" operation that is characterized by the contents of the passed ConfigDTO
      *
@@ -536,6 +828,10 @@ public class Controller {
                 result.append("\t\t\t-d <delimiter>: set the delimiter that separates test cases within the passed test suite file(s). This can be a character, string, or regular expression").append(System.lineSeparator());
                 result.append("\t\t\t-s <filename>: denote that the results of the operation should be saved to a file named <filename>").append(System.lineSeparator());
                 result.append("\t\t\t-t [<integer>]: denote that the operation should use a thread pool for concurrency, and optionally specify the number of threads").append(System.lineSeparator());
+                result.append("\t\t\t-k <integer> [stratified]: compare a random sample of <integer> test cases from each test suite, optionally sampling each file of a folder in proportion to its size").append(System.lineSeparator());
+                result.append("\t\t\t-n <threshold> [exact]: only find the pairs of test cases with at least <threshold> similarity, from MinHash signatures rather than comparing every pair, or every such pair with a prefix-filtered join when exact. Requires JaccardIndex or Dice").append(System.lineSeparator());
+                result.append("\t\t\t-e <integer>: only find the pairs of test cases within <integer> edits of each other, from shared q-grams rather than comparing every pair. Requires Levenshtein").append(System.lineSeparator());
+                result.append("\t\t\t-q <integer>: find the <integer> nearest test cases of the first test suite to each test case of the second, from an index of the first suite that is cached with it. Requires Levenshtein").append(System.lineSeparator());
                 result.append("\tconfig <parameter> <value>").append(System.lineSeparator());
                 result.append("\t\tsets the value of a parameter read from the configuration file").append(System.lineSeparator());
                 result.append("\thelp").append(System.lineSeparator());
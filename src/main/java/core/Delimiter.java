@@ -0,0 +1,135 @@
+package core;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * The delimiter that separates the test cases of a test suite file. A delimiter is classified once, when it
+ * is created: a delimiter with no regular expression metacharacters is searched for as literal text with the
+ * Boyer-Moore-Horspool algorithm, while any other delimiter is compiled into a Pattern a single time.
+ * Delimiters are cached, so the same delimiter string is never classified or compiled twice.
+ */
+public class Delimiter {
+    //any of these characters means the delimiter is a regular expression rather than literal text
+    private static final String METACHARACTERS = "\\[](){}.*+?^$|";
+    //characters below this value have their shift stored in a table
+    private static final int TABLE_SIZE = 256;
+    private static final Map<String, Delimiter> cache = new ConcurrentHashMap<>();
+
+    private String delimiter;
+    //the compiled delimiter, null for a literal delimiter
+    private Pattern pattern;
+    //how far the search moves for each character under the end of the delimiter, null for a regex delimiter
+    private int[] shifts;
+
+    /**
+     * Constructor
+     *
+     * @param delimiter the character(s)/pattern that separates each test case
+     */
+    private Delimiter(String delimiter) {
+        this.delimiter = delimiter;
+        if (isLiteral(delimiter)) {
+            int last = delimiter.length() - 1;
+            shifts = new int[TABLE_SIZE];
+            Arrays.fill(shifts, delimiter.length());
+            for (int i = 0; i < last; i++) {
+                char c = delimiter.charAt(i);
+                if (c < TABLE_SIZE)
+                    shifts[c] = last - i;
+            }
+        } else {
+            pattern = Pattern.compile(delimiter);
+        }
+    }
+
+    /**
+     * gets the delimiter for a string, classifying and compiling it if it has not been seen before
+     *
+     * @param delimiter the character(s)/pattern that separates each test case
+     * @return the delimiter, or null if the passed delimiter is null
+     */
+    public static Delimiter of(String delimiter) {
+        if (delimiter == null)
+            return null;
+        return cache.computeIfAbsent(delimiter, Delimiter::new);
+    }
+
+    /**
+     * determines whether a delimiter is matched as literal text, because it contains no regular expression metacharacters
+     *
+     * @param delimiter the character(s)/pattern that separates each test case
+     * @return true if the delimiter is literal text
+     */
+    public static boolean isLiteral(String delimiter) {
+        if (delimiter == null || delimiter.isEmpty())
+            return false;
+        for (int i = 0; i < delimiter.length(); i++) {
+            if (METACHARACTERS.indexOf(delimiter.charAt(i)) >= 0)
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * @return true if this delimiter is searched for as literal text
+     */
+    public boolean isLiteral() {
+        return pattern == null;
+    }
+
+    /**
+     * @return the compiled delimiter, or null if the delimiter is literal text
+     */
+    public Pattern getPattern() {
+        return pattern;
+    }
+
+    /**
+     * @return the number of characters in a literal delimiter
+     */
+    public int length() {
+        return delimiter.length();
+    }
+
+    /**
+     * finds the next occurrence of a literal delimiter in some text
+     *
+     * @param text the text to search
+     * @param from the position in the text to start searching from
+     * @return the position of the start of the delimiter, or -1 if it does not occur
+     */
+    public int indexIn(CharSequence text, int from) {
+        int last = delimiter.length() - 1;
+        int position = Math.max(from, 0);
+        while (position + last < text.length()) {
+            char c = text.charAt(position + last);
+            int i = last;
+            while (i >= 0 && text.charAt(position + i) == delimiter.charAt(i))
+                i--;
+            if (i < 0)
+                return position;
+            position += (c < TABLE_SIZE) ? shifts[c] : shiftFor(c);
+        }
+        return -1;
+    }
+
+    /**
+     * calculates the shift for a character that does not fit in the shift table
+     *
+     * @param c the character under the end of the delimiter
+     * @return how far the search can move forward
+     */
+    private int shiftFor(char c) {
+        int last = delimiter.length() - 1;
+        int i = delimiter.lastIndexOf(c, last - 1);
+        return (i < 0) ? delimiter.length() : last - i;
+    }
+
+    @Override
+    public String toString() {
+        return delimiter;
+    }
+}
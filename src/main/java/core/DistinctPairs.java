@@ -0,0 +1,227 @@
+package core;
+
+import data_representation.DataRepresentation;
+import utilities.DoubleList;
+import utilities.Tuple;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.Spliterator;
+
+/**
+ * The pairs of test cases to compare from parsed test suites, with repeated test cases folded together. Generated
+ * test suites often hold many test cases with the same content, differing only in their identifiers, and every
+ * pair of such test cases has the same similarity. A test case is a duplicate of another when they have equal
+ * content keys, and each distinct test case stands for every test case with its content.
+ *
+ * As a list, this holds every pair, in the same order as a PairList. Comparing the pairs only needs to compare
+ * the distinct pairs, which are:
+ *
+ * - the pairs of the distinct test cases, listed as a PairList, in the same order as the test cases first appear
+ * - within a suite, each distinct test case that appears more than once, paired with itself
+ * - within a suite, the pairs of distinct test cases in the opposite order, when a later distinct test case also
+ *   appears before an earlier one. Metrics are not all symmetric, so these are compared again in that order.
+ *
+ * The similarity of every pair is then the similarity of the distinct pair it stands for, so the similarities,
+ * and anything aggregated from them, are the same as when every pair is compared.
+ */
+public class DistinctPairs extends AbstractList<Tuple<DataRepresentation, DataRepresentation>> implements RandomAccess {
+    //every pair, and the pairs of the distinct test cases
+    private final PairList pairs;
+    private final PairList distinctPairs;
+    //the index of the distinct test case each test case stands for
+    private final int[] representatives;
+    //the distinct pairs that are not pairs of the distinct list, as the indices of their distinct test cases
+    private final int[] extraPairs;
+    private final Map<Long, Integer> extraPositions;
+
+    private DistinctPairs(PairList pairs, PairList distinctPairs, int[] representatives, int[] extraPairs) {
+        this.pairs = pairs;
+        this.distinctPairs = distinctPairs;
+        this.representatives = representatives;
+        this.extraPairs = extraPairs;
+        this.extraPositions = new HashMap<>();
+        for (int k = 0; k < extraPairs.length / 2; k++)
+            extraPositions.put(key(extraPairs[2 * k], extraPairs[2 * k + 1]), k);
+    }
+
+    /**
+     * lists the pairs of test cases within one test suite, folding test cases with the same content together
+     *
+     * @param testSuite the parsed test cases, which must support cursor()
+     * @return the pairs of the test suite
+     */
+    public static DistinctPairs within(List<DataRepresentation> testSuite) {
+        int[] representatives = new int[testSuite.size()];
+        List<DataRepresentation> distinct = fold(testSuite, representatives, 0);
+
+        //where each distinct test case first and last appears, and how often
+        int[] first = new int[distinct.size()];
+        int[] last = new int[distinct.size()];
+        int[] counts = new int[distinct.size()];
+        for (int i = 0; i < representatives.length; i++) {
+            int a = representatives[i];
+            if (counts[a]++ == 0)
+                first[a] = i;
+            last[a] = i;
+        }
+
+        int[] extraPairs = new int[8];
+        int extras = 0;
+        for (int a = 0; a < distinct.size(); a++) {
+            if (counts[a] > 1)
+                extraPairs = add(extraPairs, extras++, a, a);
+            //distinct test cases are in the order they first appear, so the later ones that appear before the last
+            //time this one does are the ones after it that first appear before then
+            for (int b = a + 1; b < distinct.size() && first[b] < last[a]; b++)
+                extraPairs = add(extraPairs, extras++, b, a);
+        }
+        return new DistinctPairs(PairList.within(testSuite), PairList.within(distinct), representatives,
+                Arrays.copyOf(extraPairs, 2 * extras));
+    }
+
+    /**
+     * lists the pairs of test cases between test suites, folding test cases of the same suite with the same
+     * content together. A test case is only paired with the test cases of other suites, so each distinct pair is
+     * a pair of the distinct test cases of two suites.
+     *
+     * @param testSuites the parsed test cases of each suite, which must support cursor()
+     * @return the pairs between the test suites
+     */
+    public static DistinctPairs between(List<List<DataRepresentation>> testSuites) {
+        int total = 0;
+        for (List<DataRepresentation> testSuite : testSuites)
+            total += testSuite.size();
+        int[] representatives = new int[total];
+        List<List<DataRepresentation>> distinct = new ArrayList<>();
+        int offset = 0;
+        int distinctOffset = 0;
+        for (List<DataRepresentation> testSuite : testSuites) {
+            int[] suiteRepresentatives = new int[testSuite.size()];
+            List<DataRepresentation> suiteDistinct = fold(testSuite, suiteRepresentatives, distinctOffset);
+            System.arraycopy(suiteRepresentatives, 0, representatives, offset, suiteRepresentatives.length);
+            distinct.add(suiteDistinct);
+            offset += testSuite.size();
+            distinctOffset += suiteDistinct.size();
+        }
+        return new DistinctPairs(PairList.between(testSuites), PairList.between(distinct), representatives, new int[0]);
+    }
+
+    /**
+     * finds the distinct test cases of a suite, in the order they first appear
+     *
+     * @param testSuite the parsed test cases
+     * @param representatives filled with the index of the distinct test case each test case stands for
+     * @param offset the index of the first distinct test case of the suite
+     * @return the first test case with each content
+     */
+    private static List<DataRepresentation> fold(List<DataRepresentation> testSuite, int[] representatives, int offset) {
+        List<DataRepresentation> distinct = new ArrayList<>();
+        Map<Object, Integer> indices = new HashMap<>();
+        int i = 0;
+        for (DataRepresentation testCase : testSuite) {
+            Object key = testCase.contentKey();
+            Integer index = (key == null) ? null : indices.get(key);
+            if (index == null) {
+                index = distinct.size();
+                distinct.add(testCase);
+                if (key != null)
+                    indices.put(key, index);
+            }
+            representatives[i++] = offset + index;
+        }
+        return distinct;
+    }
+
+    private static int[] add(int[] extraPairs, int extras, int a, int b) {
+        if (2 * extras + 1 >= extraPairs.length)
+            extraPairs = Arrays.copyOf(extraPairs, extraPairs.length * 2);
+        extraPairs[2 * extras] = a;
+        extraPairs[2 * extras + 1] = b;
+        return extraPairs;
+    }
+
+    private static long key(int a, int b) {
+        return ((long) a << 32) | (b & 0xFFFFFFFFL);
+    }
+
+    /**
+     * @return the pairs of the distinct test cases
+     */
+    public PairList getDistinctPairs() {
+        return distinctPairs;
+    }
+
+    /**
+     * @return the distinct pairs that are not pairs of the distinct test cases in getDistinctPairs(): distinct test
+     * cases paired with themselves, or in the opposite order
+     */
+    public List<Tuple<DataRepresentation, DataRepresentation>> getExtraPairs() {
+        return new ExtraPairList();
+    }
+
+    /**
+     * finds the similarity of every pair from the similarities of the distinct pairs
+     *
+     * @param distinctSimilarities the similarity of each pair of getDistinctPairs()
+     * @param extraSimilarities the similarity of each pair of getExtraPairs()
+     * @return the similarity of every pair, in the order of the list
+     */
+    public List<Double> expand(double[] distinctSimilarities, double[] extraSimilarities) {
+        double[] similarities = new double[pairs.size()];
+        int n = pairs.getTestCaseCount();
+        int position = 0;
+        for (int i = 0; i < n; i++) {
+            int a = representatives[i];
+            for (int j = pairs.firstPartner(i); j < n; j++) {
+                int b = representatives[j];
+                if (distinctPairs.isPair(a, b))
+                    similarities[position++] = distinctSimilarities[distinctPairs.positionOf(a, b)];
+                else
+                    similarities[position++] = extraSimilarities[extraPositions.get(key(a, b))];
+            }
+        }
+        return new DoubleList(similarities);
+    }
+
+    @Override
+    public int size() {
+        return pairs.size();
+    }
+
+    @Override
+    public Tuple<DataRepresentation, DataRepresentation> get(int index) {
+        return pairs.get(index);
+    }
+
+    @Override
+    public Iterator<Tuple<DataRepresentation, DataRepresentation>> iterator() {
+        return pairs.iterator();
+    }
+
+    @Override
+    public Spliterator<Tuple<DataRepresentation, DataRepresentation>> spliterator() {
+        return pairs.spliterator();
+    }
+
+    private class ExtraPairList extends AbstractList<Tuple<DataRepresentation, DataRepresentation>> implements RandomAccess {
+        @Override
+        public int size() {
+            return extraPairs.length / 2;
+        }
+
+        @Override
+        public Tuple<DataRepresentation, DataRepresentation> get(int index) {
+            if (index < 0 || index >= size())
+                throw new IndexOutOfBoundsException("pair " + index + " of " + size());
+            return new Tuple<>(distinctPairs.getTestCase(extraPairs[2 * index]).cursor(),
+                    distinctPairs.getTestCase(extraPairs[2 * index + 1]).cursor());
+        }
+    }
+}
@@ -0,0 +1,350 @@
+package core;
+
+import data_representation.DataRepresentation;
+import data_representation.SymbolTable;
+import metrics.comparison.pairwise.Levenshtein;
+import metrics.comparison.pairwise.PairwiseComparisonStrategy;
+import model.NearDuplicatePair;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Finds every pair of test cases within a number of edits of each other under the Levenshtein metric, without
+ * finding the distance of every pair, with the filters of q-gram edit distance joins:
+ *
+ * - two test cases can only be within k edits when their lengths differ by at most k (length filtering)
+ * - each edit changes at most q of the runs of q consecutive elements of a test case, its q-grams, so two test
+ *   cases within k edits share all but k * q of the q-grams of the longer one (count filtering)
+ * - the q-grams of each test case are ordered from the rarest to the most frequent, and two test cases that share
+ *   enough q-grams share one of the first k * q + 1 of each, so candidates are only found through an inverted index
+ *   of those q-grams (prefix filtering)
+ *
+ * The distance of each remaining candidate is found in a band of the distance matrix k cells either side of its
+ * diagonal, which is given up on once every cell of a row is more than k. Test cases too short for a q-gram to
+ * survive k edits have no q-grams to filter by, so they are compared with every test case of a close enough length.
+ *
+ * The distances are the ones the metric finds, including its reading of a test case: when both test cases have
+ * elements, the first element of each is not compared, and a test case with no elements is as far from another as
+ * the other is long.
+ */
+public class EditDistanceJoin {
+    //the length of the q-grams filtered by, which is short since each edit can change this many q-grams
+    public static final int DEFAULT_GRAM_LENGTH = 2;
+
+    private final int maxDistance;
+    private final int gramLength;
+
+    /**
+     * Constructor
+     *
+     * @param maxDistance the most edits between the test cases of a pair
+     */
+    public EditDistanceJoin(int maxDistance) {
+        this(maxDistance, DEFAULT_GRAM_LENGTH);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param maxDistance the most edits between the test cases of a pair
+     * @param gramLength the number of consecutive elements in a q-gram
+     */
+    public EditDistanceJoin(int maxDistance, int gramLength) {
+        if (maxDistance < 0)
+            throw new IllegalArgumentException("an edit distance cannot be negative");
+        if (gramLength < 1)
+            throw new IllegalArgumentException("a q-gram must have at least one element");
+        this.maxDistance = maxDistance;
+        this.gramLength = gramLength;
+    }
+
+    /**
+     * creates a join for the distance of a metric, if the metric is an edit distance
+     *
+     * @param strategy the metric pairs are compared with
+     * @param maxDistance the most edits between the test cases of a pair
+     * @return a join, or null if the metric is not an edit distance the join can find
+     */
+    public static EditDistanceJoin forMetric(PairwiseComparisonStrategy strategy, int maxDistance) {
+        if (strategy instanceof Levenshtein)
+            return new EditDistanceJoin(maxDistance);
+        return null;
+    }
+
+    /**
+     * @return the most edits between the test cases of a pair
+     */
+    public int getMaxDistance() {
+        return maxDistance;
+    }
+
+    /**
+     * finds the pairs of test cases within a test suite that are within the distance
+     *
+     * @param testSuite the parsed test cases
+     * @return each pair within the distance, with its distance, the first test case before the second, in the order
+     * the pairs would be made
+     */
+    public List<NearDuplicatePair> joinWithin(List<DataRepresentation> testSuite) {
+        return join(testSuite, -1);
+    }
+
+    /**
+     * finds the pairs of test cases between two test suites that are within the distance
+     *
+     * @param testSuite1 the parsed test cases of the first suite
+     * @param testSuite2 the parsed test cases of the second suite
+     * @return each pair within the distance, with its distance, the first test case from the first suite and the
+     * second from the second suite, in the order the pairs would be made
+     */
+    public List<NearDuplicatePair> joinBetween(List<DataRepresentation> testSuite1, List<DataRepresentation> testSuite2) {
+        List<DataRepresentation> testCases = new ArrayList<>(testSuite1);
+        testCases.addAll(testSuite2);
+        List<NearDuplicatePair> pairs = join(testCases, testSuite1.size());
+        List<NearDuplicatePair> between = new ArrayList<>(pairs.size());
+        for (NearDuplicatePair pair : pairs)
+            between.add(new NearDuplicatePair(pair.getFirst(), pair.getSecond() - testSuite1.size(), pair.getSimilarity()));
+        return between;
+    }
+
+    /**
+     * @param split the index of the first test case of the second suite, or -1 if there is one suite, in which
+     *              case any two test cases can be a pair
+     */
+    private List<NearDuplicatePair> join(List<DataRepresentation> testCases, int split) {
+        int n = testCases.size();
+        SymbolTable symbols = SymbolTable.of(testCases);
+        int[][] ids = new int[n][];
+        for (int i = 0; i < n; i++) {
+            DataRepresentation cursor = testCases.get(i).cursor();
+            ids[i] = symbols.idsOf(cursor == null ? testCases.get(i) : cursor);
+        }
+        List<long[]> found = new ArrayList<>();
+
+        //a test case with no elements is as far from another as the other is long
+        List<Integer> withinReach = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            if (ids[i].length <= maxDistance)
+                withinReach.add(i);
+        }
+        for (int e = 0; e < n; e++) {
+            if (ids[e].length != 0)
+                continue;
+            for (int r : withinReach) {
+                if (r == e || (ids[r].length == 0 && r < e) || !isPair(e, r, split))
+                    continue;
+                found.add(new long[]{Math.min(e, r), Math.max(e, r), ids[r].length});
+            }
+        }
+
+        //otherwise the elements after the first of each are compared
+        int[][] sequences = new int[n][];
+        for (int i = 0; i < n; i++)
+            sequences[i] = (ids[i].length == 0) ? null : Arrays.copyOfRange(ids[i], 1, ids[i].length);
+        int[][] grams = orderedGrams(sequences);
+
+        //test cases are indexed and probed from the shortest to the longest
+        int[] order = new int[n];
+        int sequenceCount = 0;
+        for (int i = 0; i < n; i++) {
+            if (sequences[i] != null)
+                order[sequenceCount++] = i;
+        }
+        order = Arrays.stream(order, 0, sequenceCount).boxed()
+                .sorted((a, b) -> Integer.compare(sequences[a].length, sequences[b].length))
+                .mapToInt(Integer::intValue).toArray();
+
+        int tokens = 0;
+        for (int[] gramSet : grams) {
+            if (gramSet != null) {
+                for (int token : gramSet)
+                    tokens = Math.max(tokens, token + 1);
+            }
+        }
+        //the test cases with each q-gram in their indexed prefix
+        int[][] postings = new int[tokens][];
+        int[] postingSizes = new int[tokens];
+        //postings before this are too short to be within the distance of any later test case
+        int[] postingStarts = new int[tokens];
+
+        int prefix = maxDistance * gramLength + 1;
+        int[] marks = new int[n];
+        Arrays.fill(marks, -1);
+        int[] candidates = new int[n];
+        //test cases before this in the order are too short to be within the distance of any later test case
+        int windowStart = 0;
+        for (int position = 0; position < order.length; position++) {
+            int y = order[position];
+            int length = sequences[y].length;
+            int minLength = length - maxDistance;
+            while (sequences[order[windowStart]].length < minLength)
+                windowStart++;
+            //the q-grams the pair must share, since the longer test case loses at most this many to the edits
+            int needed = length - gramLength + 1 - maxDistance * gramLength;
+
+            int count = 0;
+            if (needed <= 0) {//too short to filter by q-grams
+                for (int p = windowStart; p < position; p++)
+                    candidates[count++] = order[p];
+            } else {
+                for (int i = 0; i < Math.min(prefix, grams[y].length); i++) {
+                    int token = grams[y][i];
+                    for (int p = postingStarts[token]; p < postingSizes[token]; p++) {
+                        int x = postings[token][p];
+                        if (sequences[x].length < minLength) {
+                            postingStarts[token] = p + 1;
+                            continue;
+                        }
+                        if (marks[x] != y) {
+                            marks[x] = y;
+                            candidates[count++] = x;
+                        }
+                    }
+                }
+            }
+
+            for (int c = 0; c < count; c++) {
+                int x = candidates[c];
+                if (!isPair(x, y, split))
+                    continue;
+                if (needed > 0 && SymbolTable.countCommon(grams[x], grams[y]) < needed)
+                    continue;
+                int distance = distance(sequences[x], sequences[y], maxDistance);
+                if (distance <= maxDistance)
+                    found.add(new long[]{Math.min(x, y), Math.max(x, y), distance});
+            }
+
+            for (int i = 0; i < Math.min(prefix, grams[y].length); i++) {
+                int token = grams[y][i];
+                if (postings[token] == null)
+                    postings[token] = new int[2];
+                else if (postingSizes[token] == postings[token].length)
+                    postings[token] = Arrays.copyOf(postings[token], postingSizes[token] * 2);
+                postings[token][postingSizes[token]++] = y;
+            }
+        }
+
+        found.sort((a, b) -> (a[0] != b[0]) ? Long.compare(a[0], b[0]) : Long.compare(a[1], b[1]));
+        List<NearDuplicatePair> pairs = new ArrayList<>(found.size());
+        for (long[] pair : found)
+            pairs.add(new NearDuplicatePair((int) pair[0], (int) pair[1], pair[2]));
+        return pairs;
+    }
+
+    private static boolean isPair(int i, int j, int split) {
+        return split < 0 || (i < split) != (j < split);
+    }
+
+    /**
+     * finds the q-grams of each test case, with each q-gram given a rank by how many test cases have it, the
+     * rarest first, and sorted by rank. A q-gram that appears more than once in a test case is counted once for each
+     * time, as a different q-gram for each occurrence, so the q-grams two test cases share are the ones they have in
+     * common as sorted sets.
+     */
+    private int[][] orderedGrams(int[][] sequences) {
+        int[][] grams = new int[sequences.length][];
+        //q-grams are told apart by a hash of their elements, where two q-grams with the same hash only make the
+        //filters looser, never leave out a pair within the distance
+        Map<Long, Integer> occurrences = new HashMap<>();
+        for (int i = 0; i < sequences.length; i++) {
+            int[] sequence = sequences[i];
+            if (sequence == null)
+                continue;
+            grams[i] = new int[Math.max(0, sequence.length - gramLength + 1)];
+            Map<Long, Integer> seen = new HashMap<>();
+            for (int p = 0; p < grams[i].length; p++) {
+                long hash = 0;
+                for (int e = p; e < p + gramLength; e++)
+                    hash = mix(hash * 31 + sequence[e]);
+                int occurrence = seen.merge(hash, 1, Integer::sum);
+                long key = mix(hash + occurrence);
+                Integer id = occurrences.get(key);
+                if (id == null)
+                    occurrences.put(key, id = occurrences.size());
+                grams[i][p] = id;
+            }
+        }
+
+        int ids = occurrences.size();
+        int[] frequencies = new int[ids];
+        for (int[] gramSet : grams) {
+            if (gramSet != null) {
+                for (int id : gramSet)
+                    frequencies[id]++;
+            }
+        }
+        Integer[] byFrequency = new Integer[ids];
+        for (int id = 0; id < ids; id++)
+            byFrequency[id] = id;
+        Arrays.sort(byFrequency, (a, b) -> (frequencies[a] != frequencies[b])
+                ? Integer.compare(frequencies[a], frequencies[b]) : Integer.compare(a, b));
+        int[] ranks = new int[ids];
+        for (int rank = 0; rank < ids; rank++)
+            ranks[byFrequency[rank]] = rank;
+        for (int[] gramSet : grams) {
+            if (gramSet == null)
+                continue;
+            for (int g = 0; g < gramSet.length; g++)
+                gramSet[g] = ranks[gramSet[g]];
+            Arrays.sort(gramSet);
+        }
+        return grams;
+    }
+
+    /**
+     * finds the edit distance of two sequences, if it is at most a bound, from the cells of the distance matrix at
+     * most the bound from its diagonal
+     *
+     * @param s the first sequence
+     * @param t the second sequence
+     * @param bound the most edits of interest
+     * @return the edit distance, or bound + 1 if it is more than the bound
+     */
+    static int distance(int[] s, int[] t, int bound) {
+        int m = s.length;
+        int n = t.length;
+        int over = bound + 1;
+        if (Math.abs(m - n) > bound)
+            return over;
+
+        int[] previous = new int[n + 1];
+        int[] current = new int[n + 1];
+        for (int j = 0; j <= n; j++)
+            previous[j] = Math.min(j, over);
+        for (int i = 1; i <= m; i++) {
+            int from = Math.max(1, i - bound);
+            int to = Math.min(n, i + bound);
+            current[from - 1] = (from == 1) ? Math.min(i, over) : over;
+            int rowMin = current[from - 1];
+            for (int j = from; j <= to; j++) {
+                int cell = previous[j - 1] + (s[i - 1] == t[j - 1] ? 0 : 1);
+                cell = Math.min(cell, previous[j] + 1);
+                cell = Math.min(cell, current[j - 1] + 1);
+                current[j] = Math.min(cell, over);
+                rowMin = Math.min(rowMin, current[j]);
+            }
+            //the cell past the band is read by the next row as out of reach
+            if (to < n)
+                current[to + 1] = over;
+            if (rowMin > bound)
+                return over;
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[n];
+    }
+
+    /**
+     * spreads the bits of a hash, as the finalizer of splitmix64
+     */
+    private static long mix(long hash) {
+        hash = (hash ^ (hash >>> 30)) * 0xBF58476D1CE4E5B9L;
+        hash = (hash ^ (hash >>> 27)) * 0x94D049BB133111EBL;
+        return hash ^ (hash >>> 31);
+    }
+}
@@ -3,17 +3,36 @@ package core;
 import com.google.gson.Gson;
 import com.google.gson.stream.JsonReader;
 import data_representation.DataRepresentation;
+import data_representation.SymbolTable;
+import metrics.comparison.pairwise.PairwiseComparisonStrategy;
 import model.Config;
+import model.TestSuite;
+import utilities.Reservoir;
+import utilities.Tuple;
 
+import java.io.Closeable;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.FileReader;
 import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
 import java.lang.reflect.InvocationTargetException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
 import java.util.Objects;
-import java.util.Scanner;
+import java.util.Random;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import java.util.zip.ZipFile;
 
 /**
  * Handles the system functionality for reading test cases from files.
@@ -22,47 +41,153 @@ import java.util.Scanner;
 
  */
 public class FileReaderService {
+	//the pool the files of a folder are read on at the same time, or null to read them one at a time
+	private ExecutorService readers;
+	//the cache of previously parsed test suites, or null to always read test suites from their text
+	private SuiteCache suiteCache;
+
+	/**Constructor*/
+	public FileReaderService() {
+	}
+
+	public ExecutorService getReaders() {
+		return readers;
+	}
+
 	/**
-	 * reads a file's contents into a single string
+	 * sets the pool that the files of a test suite folder are read on, which is the thread pool of the command
+	 * reading the suite, so that reading uses the same threads as the rest of the command. The pool is not shut
+	 * down by this service.
 	 *
-	 * @param filename the location of the file
-	 * @return a String containing the entire contents of the file
-	 * @throws FileNotFoundException thrown when no file with the specified name is found
+	 * @param readers the pool, or null to read the files one at a time
 	 */
-	private String readFile(String filename) throws FileNotFoundException {
-		File file = new File(filename);
+	public void setReaders(ExecutorService readers) {
+		this.readers = readers;
+	}
 
-		Scanner sc = new Scanner(file);
+	public SuiteCache getSuiteCache() {
+		return suiteCache;
+	}
 
-		StringBuilder s = new StringBuilder();
-		while (sc.hasNextLine()) {
-			s.append(sc.nextLine());
-			if(sc.hasNextLine())
-				s.append(System.lineSeparator());
-		}
-		sc.close();
-		return s.toString();
+	public void setSuiteCache(SuiteCache suiteCache) {
+		this.suiteCache = suiteCache;
 	}
 
 	/**
-	 * recursively reads through a folder structure to find all test cases in a folder
+	 * a task that reads the contents of a single test suite source
 	 *
-	 * @param file the name of the file to read from
-	 * @return a list of all file contents found
-	 * @throws FileNotFoundException occurs when a file specified does not exist
+	 * @param <T> the type each test case is read into
 	 */
-	private ArrayList<String> readFromFolder(File file) throws FileNotFoundException {
-		ArrayList<String> list = new ArrayList<>();
+	private interface SourceTask<T> {
+		List<T> read(SuiteSource source) throws Exception;
+	}
+
+	/**
+	 * recursively reads through a folder structure to find all test suite files in a folder. The files in
+	 * each folder are sorted by name, so the order does not depend on the file system.
+	 *
+	 * @param file the name of the file or folder to read from
+	 * @return a list of all files found
+	 */
+	private ArrayList<File> listFiles(File file) {
+		ArrayList<File> list = new ArrayList<>();
 
 		if(file.isDirectory()){//its a folder
-			for(File subFile : Objects.requireNonNull(file.listFiles()))
-				list.addAll(readFromFolder(subFile));
+			File[] subFiles = Objects.requireNonNull(file.listFiles());
+			Arrays.sort(subFiles);
+			for(File subFile : subFiles)
+				list.addAll(listFiles(subFile));
 		} else{//its a file
-				list.add(readFile(file.getAbsolutePath()));
+			list.add(file);
 		}
 		return list;
 	}
 
+	/**
+	 * finds every source of test cases in a test suite: each plain or gzip compressed file, and each
+	 * entry of any zip or jar archives
+	 *
+	 * @param file the test suite file or folder
+	 * @param archives the list that each archive opened is added to, so they can be closed once read
+	 * @return the sources, in the order their test cases appear in the test suite
+	 * @throws IOException when an archive cannot be opened
+	 */
+	private List<SuiteSource> listSources(File file, List<Closeable> archives) throws IOException {
+		if (!file.exists())
+			throw new FileNotFoundException(file.getPath());
+		List<SuiteSource> sources = new ArrayList<>();
+		for (File f : listFiles(file)) {
+			if (SuiteSource.isArchive(f)) {
+				ZipFile archive = new ZipFile(f);
+				archives.add(archive);
+				sources.addAll(SuiteSource.forArchive(archive));
+			} else
+				sources.add(SuiteSource.forFile(f));
+		}
+		return sources;
+	}
+
+	/**
+	 * closes every archive opened while listing the sources of a test suite
+	 *
+	 * @param archives the open archives
+	 */
+	private void closeAll(List<Closeable> archives) {
+		for (Closeable archive : archives) {
+			try {
+				archive.close();
+			} catch (IOException ignore) {}
+		}
+	}
+
+	/**
+	 * opens a reader over the test cases of a single test suite source
+	 *
+	 * @param source the test suite source
+	 * @param delimiter the delimiter that separates each test case in the file, or null for a single test case
+	 * @return a stream of the test cases in the source, which closes the source when the stream is closed
+	 */
+	private Stream<String> streamSource(SuiteSource source, Delimiter delimiter) {
+		TestCaseReader reader;
+		try {
+			reader = new TestCaseReader(source.open(), delimiter);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		return StreamSupport.stream(Spliterators.spliteratorUnknownSize(reader, Spliterator.ORDERED), false)
+				.onClose(() -> {
+					try {
+						reader.close();
+					} catch (IOException e) {
+						throw new UncheckedIOException(e);
+					}
+				});
+	}
+
+	/**
+	 * lazily reads the test cases of a test suite file, or folder of test suite files. Test cases are read
+	 * from disk one at a time as the stream is consumed, so the memory used is bounded by the size of the
+	 * largest test case rather than the size of the test suite. The stream should be closed after use.
+	 *
+	 * @param filename the test suite file or folder containing test cases
+	 * @param delimiter the character(s)/pattern that separates each test case in the file
+	 * @return a stream of the test cases, in the order they appear in the test suite
+	 * @throws FileNotFoundException thrown when no file with the specified name is found
+	 */
+	public Stream<String> streamTestCases(String filename, String delimiter) throws FileNotFoundException {
+		Delimiter pattern = Delimiter.of(delimiter);
+		List<Closeable> archives = new ArrayList<>();
+		List<SuiteSource> sources;
+		try {
+			sources = listSources(new File(filename), archives);
+		} catch (FileNotFoundException e) {
+			throw e;
+		} catch (IOException e) {
+			closeAll(archives);
+			throw new UncheckedIOException(e);
+		}
+		return sources.stream().flatMap(source -> streamSource(source, pattern)).onClose(() -> closeAll(archives));
+	}
 
 	/**
 	 * reads a test suite file located at filename into the passed DataRepresentation for later iteration over
@@ -72,27 +197,19 @@ public class FileReaderService {
 	 * @return the test cases formatted as DataRepresentation objects
 	 */
 	public String[] readTestCases(String filename, String delimiter) throws FileNotFoundException {
-		String[] testFiles = readFromFolder(new File(filename)).toArray(new String[0]);
-
-		ArrayList<String> list = new ArrayList<>();
-		for(String s : testFiles) {
-			if (s.equals("")) //the file is empty
-				continue;
-
-			//at this point, we have all the file read in, so we can split up the test cases
-			String[] testCases;
-			if (delimiter == null)
-				testCases = new String[]{s};
-			else
-				testCases = s.split(delimiter);
-
-			list.addAll(Arrays.asList(testCases));
+		Delimiter pattern = Delimiter.of(delimiter);
+		try {
+			return readSources(filename, source -> readSource(source, pattern)).toArray(new String[0]);
+		} catch (FileNotFoundException | RuntimeException e) {
+			throw e;
+		} catch (Exception e) {
+			throw uncheck(e);
 		}
-		return list.toArray(new String[0]);
 	}
 
 	/**
-	 * reads a test suite file located at filename into the passed DataRepresentation for later iteration over
+	 * reads a test suite file located at filename into the passed DataRepresentation for later iteration over.
+	 * The elements of the test cases are given ids in a new symbol table.
 	 *
 	 * @param filename the test suite file containing test cases
 	 * @param delimiter the character(s)/pattern that separates each test case in the file
@@ -102,14 +219,404 @@ public class FileReaderService {
 	public DataRepresentation[] readIntoDataRepresentation(String filename, String delimiter, DataRepresentation format) throws InvalidFormatException, FileNotFoundException, NoSuchMethodException, IllegalAccessException, InvocationTargetException, InstantiationException {
 		if (format == null)
 			throw new InvalidFormatException();
-		String[] testCases = readTestCases(filename, delimiter);
-		ArrayList<DataRepresentation> list = new ArrayList<>();
-		for (String testCase : testCases) {//once all test cases are read, parse them into data representations
-			DataRepresentation d = format.getClass().getConstructor().newInstance();
+		File file = new File(filename);
+		if (!file.exists())
+			throw new FileNotFoundException(filename);
+		Supplier<? extends DataRepresentation> factory = format.factory(new SymbolTable());
+		Delimiter pattern = Delimiter.of(delimiter);
+		try {//each source is parsed by the thread that reads it
+			return readSources(filename, source -> parseSource(source, pattern, factory)).toArray(new DataRepresentation[0]);
+		} catch (InvalidFormatException | FileNotFoundException | IllegalAccessException
+				| InvocationTargetException | InstantiationException | RuntimeException e) {
+			throw e;
+		} catch (Exception e) {
+			throw uncheck(e);
+		}
+	}
+
+	/**
+	 * reads a test suite once, parsing each test case into the passed DataRepresentation in the thread that reads
+	 * it, so that the suite does not need to be read or parsed again by later stages of a command. The text of each
+	 * test case is only kept when it is cached, or when the data representation cannot be iterated over more than once.
+	 * When a suite cache is set, an unchanged test suite is loaded from the cache instead of being parsed.
+	 *
+	 * @param filename the test suite file or folder containing test cases
+	 * @param delimiter the character(s)/pattern that separates each test case in the file
+	 * @param format the data representation that the test cases are read into
+	 * @param symbols the table the elements of the test cases are given ids in
+	 * @return the test suite
+	 */
+	public TestSuite readTestSuite(String filename, String delimiter, DataRepresentation format, SymbolTable symbols) throws InvalidFormatException, FileNotFoundException, NoSuchMethodException, IllegalAccessException, InvocationTargetException, InstantiationException {
+		if (format == null)
+			throw new InvalidFormatException();
+		SuiteCache.Key key = null;
+		if (suiteCache != null) {
+			File file = new File(filename);
+			if (!file.exists())
+				throw new FileNotFoundException(filename);
+			try {
+				key = suiteCache.createKey(filename, listFiles(file), delimiter, format);
+				TestSuite cached = suiteCache.load(key, format, symbols);
+				if (cached != null)
+					return cached;
+			} catch (IOException e) {//the suite is read as if there were no cache
+				key = null;
+			}
+		}
+
+		//the text is only kept for the cache, or to pair test cases that cannot be iterated over more than once
+		boolean keepText = key != null || format.cursor() == null;
+		Supplier<? extends DataRepresentation> factory = format.factory(symbols);
+		Delimiter pattern = Delimiter.of(delimiter);
+		TestSuite testSuite;
+		try {//each source is parsed by the thread that reads it
+			if (keepText) {
+				List<Tuple<String, DataRepresentation>> read = readSources(filename, source -> parseSourceWithText(source, pattern, factory));
+				String[] testCases = new String[read.size()];
+				List<DataRepresentation> dataRepresentations = new ArrayList<>(read.size());
+				for (int i = 0; i < testCases.length; i++) {
+					testCases[i] = read.get(i).getLeft();
+					dataRepresentations.add(read.get(i).getRight());
+				}
+				testSuite = new TestSuite(testCases, dataRepresentations, symbols);
+			} else
+				testSuite = new TestSuite(null, readSources(filename, source -> parseSource(source, pattern, factory)), symbols);
+		} catch (InvalidFormatException | FileNotFoundException | IllegalAccessException
+				| InvocationTargetException | InstantiationException | RuntimeException e) {
+			throw e;
+		} catch (Exception e) {
+			throw uncheck(e);
+		}
+		if (key != null) {
+			try {
+				suiteCache.store(key, testSuite);
+			} catch (IOException ignore) {}//failing to cache the suite does not prevent it from being used
+		}
+		return testSuite;
+	}
+
+	/**
+	 * finds the metric index of a test suite read by readTestSuite(). When a suite cache is set, the index of an
+	 * unchanged test suite is loaded from the cache, and otherwise the index is built and stored in the cache.
+	 *
+	 * @param filename the test suite file or folder containing test cases
+	 * @param delimiter the character(s)/pattern that separates each test case in the file
+	 * @param format the data representation that the test cases were read into
+	 * @param testSuite the test suite
+	 * @param metric the metric test cases are compared with, which must be supported by MetricIndex
+	 * @return the index of the test suite
+	 * @throws Exception when the metric fails to compare two test cases while building the index
+	 */
+	public MetricIndex readMetricIndex(String filename, String delimiter, DataRepresentation format, TestSuite testSuite,
+									   PairwiseComparisonStrategy metric) throws Exception {
+		SuiteCache.Key key = null;
+		if (suiteCache != null) {
+			try {
+				key = suiteCache.createKey(filename, listFiles(new File(filename)), delimiter, format);
+				MetricIndex cached = suiteCache.loadIndex(key, testSuite.getDataRepresentations(), metric);
+				if (cached != null)
+					return cached;
+			} catch (IOException e) {//the index is built as if there were no cache
+				key = null;
+			}
+		}
+
+		MetricIndex index = MetricIndex.build(testSuite.getDataRepresentations(), metric);
+		if (key != null) {
+			try {
+				suiteCache.storeIndex(key, index, metric);
+			} catch (IOException ignore) {}//failing to cache the index does not prevent it from being used
+		}
+		return index;
+	}
+
+	/**
+	 * reads a uniform random sample of the test cases in a test suite, without holding the rest of the suite in
+	 * memory. Test cases are streamed through a reservoir, and only the sampled test cases are parsed. When the
+	 * sample is stratified, each source of the suite contributes to the sample in proportion to its number of
+	 * test cases. Each source is read into its own reservoir, and once a source has been read every reservoir is
+	 * shrunk to the largest share its stratum can still be given, so the strata hold at most about twice the
+	 * sample between them. The same seed always selects the same sample from the same suite.
+	 *
+	 * @param filename the test suite file or folder containing test cases
+	 * @param delimiter the character(s)/pattern that separates each test case in the file
+	 * @param format the data representation that the test cases are read into
+	 * @param sampleSize the number of test cases to sample
+	 * @param stratified true to sample each source file in proportion to its size
+	 * @param seed the seed of the random selection
+	 * @param symbols the table the elements of the sampled test cases are given ids in
+	 * @return the sampled test cases, in the order they appear in the test suite
+	 */
+	public TestSuite sampleTestSuite(String filename, String delimiter, DataRepresentation format, int sampleSize, boolean stratified, long seed, SymbolTable symbols) throws InvalidFormatException, FileNotFoundException, NoSuchMethodException, IllegalAccessException, InvocationTargetException, InstantiationException {
+		if (format == null)
+			throw new InvalidFormatException();
+		Delimiter pattern = Delimiter.of(delimiter);
+		Random random = new Random(seed);
+		List<Reservoir<String>> strata = new ArrayList<>();
+		List<Closeable> archives = new ArrayList<>();
+		try {
+			long position = 0;
+			for (SuiteSource source : listSources(new File(filename), archives)) {
+				if (strata.isEmpty() || stratified)
+					strata.add(new Reservoir<>(sampleSize));
+				Reservoir<String> reservoir = strata.get(strata.size() - 1);
+				try (TestCaseReader reader = new TestCaseReader(source.open(), pattern)) {
+					while (reader.hasNext())
+						reservoir.offer(position++, reader.next(), random);
+				}
+				if (stratified) {
+					for (Reservoir<String> stratum : strata)
+						stratum.shrink(largestShare(stratum.getSeen(), sampleSize, position), random);
+				}
+			}
+		} catch (FileNotFoundException e) {
+			throw e;
+		} catch (IOException e) {
+			throw uncheck(e);
+		} finally {
+			closeAll(archives);
+		}
+
+		long populationSize = 0;
+		for (Reservoir<String> reservoir : strata)
+			populationSize += reservoir.getSeen();
+		if (stratified)
+			allocate(strata, sampleSize, populationSize, random);
+
+		List<Tuple<Long, String>> sample = new ArrayList<>();
+		for (Reservoir<String> reservoir : strata)
+			sample.addAll(reservoir.getItems());
+		sample.sort(Comparator.comparing(Tuple::getLeft));
+		String[] testCases = new String[sample.size()];
+		for (int i = 0; i < testCases.length; i++)
+			testCases[i] = sample.get(i).getRight();
+		return new TestSuite(testCases, parseAll(Arrays.asList(testCases), format.factory(symbols)), populationSize, symbols);
+	}
+
+	/**
+	 * finds the largest share of the sample a stratum can be given by allocate(). A share only gets smaller as the
+	 * test cases of later strata are read, so the test cases of a stratum beyond this share can be dropped early.
+	 *
+	 * @param stratumSize the number of test cases in the stratum
+	 * @param sampleSize the total number of test cases to sample
+	 * @param populationSize the number of test cases read so far, in every stratum
+	 * @return the largest share of the stratum
+	 */
+	private static int largestShare(long stratumSize, int sampleSize, long populationSize) {
+		if (populationSize <= sampleSize)//every test case may still be in the sample
+			return sampleSize;
+		//the share rounded down, plus one for the test cases left over
+		return (int) Math.min(sampleSize, (long) ((double) sampleSize * stratumSize / populationSize) + 1);
+	}
+
+	/**
+	 * shrinks the reservoir of each stratum to its share of the sample, in proportion to the number of test cases
+	 * in the stratum. Shares are rounded down, and the test cases left over go to the strata with the largest remainders.
+	 *
+	 * @param strata a full reservoir for each stratum
+	 * @param sampleSize the total number of test cases to sample
+	 * @param populationSize the total number of test cases in every stratum
+	 * @param random the source of randomness
+	 */
+	private void allocate(List<Reservoir<String>> strata, int sampleSize, long populationSize, Random random) {
+		if (populationSize <= sampleSize)//every test case is in the sample
+			return;
+		int[] shares = new int[strata.size()];
+		double[] remainders = new double[strata.size()];
+		int allocated = 0;
+		for (int i = 0; i < strata.size(); i++) {
+			double exact = (double) sampleSize * strata.get(i).getSeen() / populationSize;
+			shares[i] = (int) exact;
+			remainders[i] = exact - shares[i];
+			allocated += shares[i];
+		}
+		Integer[] byRemainder = new Integer[strata.size()];
+		for (int i = 0; i < byRemainder.length; i++)
+			byRemainder[i] = i;
+		Arrays.sort(byRemainder, (a, b) -> Double.compare(remainders[b], remainders[a]));
+		for (int i = 0; allocated < sampleSize && i < byRemainder.length; i++) {
+			shares[byRemainder[i]]++;
+			allocated++;
+		}
+		for (int i = 0; i < strata.size(); i++)
+			strata.get(i).shrink(shares[i], random);
+	}
+
+	/**
+	 * reads every source of a test suite, reading several sources at the same time on the pool of readers.
+	 * The results are returned in the same order as the sources are listed, so they do not depend on which
+	 * source finishes first.
+	 *
+	 * @param filename the test suite file or folder containing test cases
+	 * @param task the task that reads a single source
+	 * @param <T> the type each test case is read into
+	 * @return the test cases of every source in the test suite, in order
+	 * @throws Exception the first exception thrown when reading a source, in the order the sources are listed
+	 */
+	private <T> List<T> readSources(String filename, SourceTask<T> task) throws Exception {
+		List<Closeable> archives = new ArrayList<>();
+		try {
+			List<SuiteSource> sources = listSources(new File(filename), archives);
+			List<T> result = new ArrayList<>();
+			ExecutorService pool = readers;
+			if (pool == null || pool.isShutdown() || sources.size() < 2) {
+				for (SuiteSource source : sources)
+					result.addAll(task.read(source));
+				return result;
+			}
+			List<Future<List<T>>> futures = new ArrayList<>(sources.size());
+			try {
+				for (SuiteSource source : sources)
+					futures.add(pool.submit(() -> task.read(source)));
+				for (Future<List<T>> future : futures)
+					result.addAll(future.get());
+			} catch (ExecutionException e) {
+				if (e.getCause() instanceof Exception)
+					throw (Exception) e.getCause();
+				throw new IllegalStateException(e.getCause());
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new InterruptedIOException("interrupted while reading " + filename);
+			} finally {//sources still being read are abandoned once one fails
+				for (Future<List<T>> future : futures)
+					future.cancel(true);
+			}
+			return result;
+		} finally {
+			closeAll(archives);
+		}
+	}
+
+	/**
+	 * reads all of the test cases in a single test suite source
+	 *
+	 * @param source the test suite source
+	 * @param delimiter the delimiter that separates each test case in the file, or null for a single test case
+	 * @return the test cases in the source
+	 * @throws IOException thrown when the source cannot be read
+	 */
+	private List<String> readSource(SuiteSource source, Delimiter delimiter) throws IOException {
+		List<String> testCases = new ArrayList<>();
+		try (TestCaseReader reader = new TestCaseReader(source.open(), delimiter)) {
+			while (reader.hasNext())
+				testCases.add(reader.next());
+		} catch (UncheckedIOException e) {
+			throw e.getCause();
+		}
+		return testCases;
+	}
+
+	/**
+	 * reads all of the test cases in a single test suite source, parsing each one as soon as it is read
+	 *
+	 * @param source the test suite source
+	 * @param delimiter the delimiter that separates each test case in the file, or null for a single test case
+	 * @param factory the factory of the data representation
+	 * @return the parsed test cases in the source
+	 */
+	private List<DataRepresentation> parseSource(SuiteSource source, Delimiter delimiter, Supplier<? extends DataRepresentation> factory)
+			throws IOException, InvalidFormatException {
+		List<DataRepresentation> list = new ArrayList<>();
+		try (TestCaseReader reader = new TestCaseReader(source.open(), delimiter)) {
+			while (reader.hasNext()) {
+				DataRepresentation d = factory.get();
+				d.parse(reader.next());
+				list.add(d);
+			}
+		} catch (UncheckedIOException e) {
+			throw e.getCause();
+		}
+		return list;
+	}
+
+	/**
+	 * reads all of the test cases in a single test suite source, parsing each one as soon as it is read and
+	 * keeping its text alongside it
+	 *
+	 * @param source the test suite source
+	 * @param delimiter the delimiter that separates each test case in the file, or null for a single test case
+	 * @param factory the factory of the data representation
+	 * @return the text and parsed form of each test case in the source
+	 */
+	private List<Tuple<String, DataRepresentation>> parseSourceWithText(SuiteSource source, Delimiter delimiter,
+			Supplier<? extends DataRepresentation> factory) throws IOException, InvalidFormatException {
+		List<Tuple<String, DataRepresentation>> list = new ArrayList<>();
+		try (TestCaseReader reader = new TestCaseReader(source.open(), delimiter)) {
+			while (reader.hasNext()) {
+				String testCase = reader.next();
+				DataRepresentation d = factory.get();
+				d.parse(testCase);
+				list.add(new Tuple<>(testCase, d));
+			}
+		} catch (UncheckedIOException e) {
+			throw e.getCause();
+		}
+		return list;
+	}
+
+	/**
+	 * parses test cases into new instances of a data representation
+	 *
+	 * @param testCases the test cases to parse
+	 * @param factory the factory of the data representation
+	 * @return the parsed test cases
+	 */
+	private List<DataRepresentation> parseAll(List<String> testCases, Supplier<? extends DataRepresentation> factory)
+			throws InvalidFormatException {
+		List<DataRepresentation> list = new ArrayList<>(testCases.size());
+		for (String testCase : testCases) {
+			DataRepresentation d = factory.get();
 			d.parse(testCase);
 			list.add(d);
 		}
-		return list.toArray(new DataRepresentation[0]);
+		return list;
+	}
+
+	/**
+	 * memory maps a test suite file rather than reading it into memory. The test cases in the file are indexed
+	 * when it is mapped, but are only parsed into the passed DataRepresentation when they are retrieved from
+	 * the returned list. The returned test suite should be closed after use to release the file.
+	 *
+	 * @param filename the test suite file containing test cases
+	 * @param delimiter the literal text that separates each test case in the file
+	 * @param format the data representation that the test cases are read into
+	 * @param symbols the table the elements of the test cases are given ids in when they are parsed
+	 * @return a list of the test cases, backed by the mapped file
+	 * @throws InvalidFormatException when no data representation is passed
+	 * @throws IOException when the file cannot be found or mapped
+	 */
+	public MappedTestSuite mapIntoDataRepresentation(String filename, String delimiter, DataRepresentation format, SymbolTable symbols) throws InvalidFormatException, IOException, NoSuchMethodException, InstantiationException {
+		if (format == null)
+			throw new InvalidFormatException();
+		File file = new File(filename);
+		if (!file.isFile())
+			throw new FileNotFoundException(filename);
+		return new MappedTestSuite(file, delimiter, format, symbols);
+	}
+
+	/**
+	 * determines whether a test suite should be memory mapped with mapIntoDataRepresentation(). A test suite
+	 * can be mapped if it is a single uncompressed file and the delimiter is literal text rather than a regular expression.
+	 *
+	 * @param filename the test suite file containing test cases
+	 * @param delimiter the character(s)/pattern that separates each test case in the file
+	 * @param minimumSize the size in bytes that a file must be to be worth mapping, or 0 to never map files
+	 * @return true if the test suite should be mapped
+	 */
+	public boolean isMappable(String filename, String delimiter, long minimumSize) {
+		File file = new File(filename);
+		return minimumSize > 0 && file.isFile() && file.length() >= minimumSize
+				&& !SuiteSource.isCompressed(file) && Delimiter.isLiteral(delimiter);
+	}
+
+	/**
+	 * wraps an exception from reading a test suite that the calling method does not declare
+	 *
+	 * @param e the exception thrown while reading a test suite
+	 * @return an unchecked exception with the passed exception as its cause
+	 */
+	private UncheckedIOException uncheck(Exception e) {
+		return new UncheckedIOException((e instanceof IOException) ? (IOException) e : new IOException(e));
 	}
 
 	/**
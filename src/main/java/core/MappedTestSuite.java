@@ -0,0 +1,369 @@
+package core;
+
+import data_representation.DataRepresentation;
+import data_representation.SymbolTable;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.CodingErrorAction;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.function.Supplier;
+
+/**
+ * A test suite backed by a memory mapped file. Rather than holding each test case in memory, the file is
+ * scanned once to build a compact index of where each test case begins and ends, and a test case is only
+ * decoded from the mapped file and parsed into its DataRepresentation when it is requested. Parsed test cases
+ * are not kept, so the memory used is proportional to the number of test cases rather than to the size of the
+ * file. Test cases are only checked against the DataRepresentation as they are parsed, so a test case that does
+ * not match it is found when it is first requested.
+ *
+ * Test cases are split in the same way as reading the file with a TestCaseReader, with the restriction that
+ * the delimiter must be literal text. Any system line separator in the delimiter matches any line terminator
+ * in the file that a TestCaseReader recognizes.
+ */
+public class MappedTestSuite extends AbstractList<DataRepresentation> implements RandomAccess, Closeable {
+    //files are mapped in regions of this size, since a single mapping is limited to 2GB
+    private static final int REGION_SHIFT = 30;
+    private static final long REGION_MASK = (1L << REGION_SHIFT) - 1;
+    private static final int INITIAL_CAPACITY = 1024;
+    //marks a position in the delimiter where any line terminator in the file matches
+    private static final int LINE_BREAK = -1;
+    //marks a position in the delimiter that can never match, as line terminators in the file are normalized
+    private static final int NO_MATCH = -2;
+
+    private FileChannel channel;
+    private MappedByteBuffer[] regions;
+    private Charset charset;
+    //the encoding of each line terminator other than "\r" and "\n", which are always single bytes
+    private byte[][] otherLineTerminators;
+    private Supplier<? extends DataRepresentation> factory;
+    //the byte offset in the file and the byte length of each test case
+    private long[] offsets;
+    private int[] lengths;
+    private int size;
+
+    /**
+     * Constructor. Maps the file and indexes the test cases in it, without decoding or parsing them.
+     *
+     * @param file the test suite file to map
+     * @param delimiter the literal text that separates each test case in the file, or null for a single test case
+     * @param format the data representation that the test cases are read into
+     * @param symbols the table the elements of the test cases are given ids in when they are parsed
+     * @throws IOException when the file cannot be mapped
+     * @throws NoSuchMethodException when the data representation does not have a public no-args constructor
+     * @throws InstantiationException when the data representation is abstract
+     */
+    public MappedTestSuite(File file, String delimiter, DataRepresentation format, SymbolTable symbols) throws IOException, NoSuchMethodException, InstantiationException {
+        this.factory = format.factory(symbols);
+        this.charset = Charset.defaultCharset();
+        this.otherLineTerminators = encodeLineTerminators(charset);
+        this.offsets = new long[INITIAL_CAPACITY];
+        this.lengths = new int[INITIAL_CAPACITY];
+        this.channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+        try {
+            long fileSize = channel.size();
+            regions = new MappedByteBuffer[(int) ((fileSize + REGION_MASK) >>> REGION_SHIFT)];
+            for (int i = 0; i < regions.length; i++) {
+                long start = (long) i << REGION_SHIFT;
+                regions[i] = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(REGION_MASK + 1, fileSize - start));
+            }
+            index(fileSize, delimiter == null ? null : toUnits(delimiter));
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    @Override
+    public DataRepresentation get(int index) {
+        if (index < 0 || index >= size)
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        DataRepresentation d = factory.get();
+        try {
+            d.parse(getTestCase(index));
+        } catch (InvalidFormatException e) {
+            throw new IllegalStateException("test case " + index + " does not match the data representation: " + e.getMessage(), e);
+        }
+        return d;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * decodes a test case from the mapped file
+     *
+     * @param index the position of the test case in the suite
+     * @return the test case, as it would be read by a TestCaseReader
+     */
+    public String getTestCase(int index) {
+        if (index < 0 || index >= size)
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        long position = offsets[index];
+        ByteBuffer bytes = regions[(int) (position >>> REGION_SHIFT)].duplicate();
+        bytes.position((int) (position & REGION_MASK));
+        if (bytes.remaining() >= lengths[index]) {//the test case is decoded straight from the mapped file
+            bytes.limit(bytes.position() + lengths[index]);
+        } else {//the test case crosses the boundary between two regions, so it is copied out of both
+            byte[] copy = new byte[lengths[index]];
+            int copied = 0;
+            while (copied < copy.length) {
+                ByteBuffer region = regions[(int) (position >>> REGION_SHIFT)].duplicate();
+                region.position((int) (position & REGION_MASK));
+                int length = Math.min(copy.length - copied, region.remaining());
+                region.get(copy, copied, length);
+                copied += length;
+                position += length;
+            }
+            bytes = ByteBuffer.wrap(copy);
+        }
+        CharsetDecoder decoder = charset.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        try {
+            return normalizeLineTerminators(decoder.decode(bytes));
+        } catch (CharacterCodingException e) {//cannot happen when malformed input is replaced
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * scans the mapped file for the delimiter, recording the position of each test case between delimiters.
+     * Like String.split, empty test cases are kept unless they are at the end of the file.
+     *
+     * @param fileSize the number of bytes in the file
+     * @param delimiter the delimiter converted into units by toUnits(), or null for a single test case
+     */
+    private void index(long fileSize, int[] delimiter) {
+        //the final line terminator of the file is never part of a test case
+        long end = fileSize - lineTerminatorBefore(fileSize);
+
+        int emptyTestCasesPending = 0;
+        long testCaseStart = 0;
+        if (delimiter != null) {
+            for (long position = 0; position < end; ) {
+                long matchEnd = matchAt(position, end, delimiter);
+                if (matchEnd < 0) {
+                    position++;
+                    continue;
+                }
+                if (position == testCaseStart) {
+                    emptyTestCasesPending++;
+                } else {
+                    for (; emptyTestCasesPending > 0; emptyTestCasesPending--)
+                        add(testCaseStart, 0);
+                    add(testCaseStart, position - testCaseStart);
+                }
+                testCaseStart = matchEnd;
+                position = matchEnd;
+            }
+        }
+        if (testCaseStart < end) {
+            for (; emptyTestCasesPending > 0; emptyTestCasesPending--)
+                add(testCaseStart, 0);
+            add(testCaseStart, end - testCaseStart);
+        }
+    }
+
+    /**
+     * determines whether the delimiter appears at a position in the file
+     *
+     * @param position the position in the file to check
+     * @param end the position in the file that the delimiter must end by
+     * @param delimiter the delimiter converted into units by toUnits()
+     * @return the position just after the delimiter, or -1 if the delimiter is not at the position
+     */
+    private long matchAt(long position, long end, int[] delimiter) {
+        if (position > 0 && byteAt(position) == '\n' && byteAt(position - 1) == '\r')
+            return -1; //the second half of a "\r\n" line terminator cannot begin a match
+        for (int unit : delimiter) {
+            if (position >= end)
+                return -1;
+            if (unit == LINE_BREAK) {
+                int length = lineTerminatorAt(position, end);
+                if (length == 0)
+                    return -1;
+                position += length;
+            } else if (unit == (byteAt(position) & 0xFF) && lineTerminatorAt(position, end) == 0) {
+                position++;
+            } else {
+                return -1;
+            }
+        }
+        return position;
+    }
+
+    /**
+     * finds the length of the line terminator that begins at a position in the file
+     *
+     * @param position the position in the file to check
+     * @param end the position in the file that the line terminator must end by
+     * @return the number of bytes in the line terminator, or 0 if there is no line terminator at the position
+     */
+    private int lineTerminatorAt(long position, long end) {
+        byte b = byteAt(position);
+        if (b == '\r')
+            return (position + 1 < end && byteAt(position + 1) == '\n') ? 2 : 1;
+        if (b == '\n')
+            return 1;
+        for (byte[] terminator : otherLineTerminators) {
+            if (bytesAt(position, end, terminator))
+                return terminator.length;
+        }
+        return 0;
+    }
+
+    /**
+     * finds the length of the line terminator that ends at a position in the file
+     *
+     * @param end the position just after the line terminator
+     * @return the number of bytes in the line terminator, or 0 if there is no line terminator before the position
+     */
+    private int lineTerminatorBefore(long end) {
+        if (end == 0)
+            return 0;
+        byte b = byteAt(end - 1);
+        if (b == '\n')
+            return (end > 1 && byteAt(end - 2) == '\r') ? 2 : 1;
+        if (b == '\r')
+            return 1;
+        for (byte[] terminator : otherLineTerminators) {
+            if (end >= terminator.length && bytesAt(end - terminator.length, end, terminator))
+                return terminator.length;
+        }
+        return 0;
+    }
+
+    /**
+     * determines whether a sequence of bytes appears at a position in the file
+     */
+    private boolean bytesAt(long position, long end, byte[] bytes) {
+        if (position + bytes.length > end)
+            return false;
+        for (int i = 0; i < bytes.length; i++) {
+            if (byteAt(position + i) != bytes[i])
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * encodes each line terminator other than "\r" and "\n" in a charset. Line terminators the charset cannot
+     * encode can never appear in a file, so they are left out.
+     *
+     * @param charset the charset of the file
+     * @return the encoded line terminators
+     */
+    private static byte[][] encodeLineTerminators(Charset charset) {
+        List<byte[]> encoded = new ArrayList<>();
+        for (char c : TestCaseReader.LINE_TERMINATORS.toCharArray()) {
+            if (c != '\r' && c != '\n' && charset.newEncoder().canEncode(c))
+                encoded.add(String.valueOf(c).getBytes(charset));
+        }
+        return encoded.toArray(new byte[0][]);
+    }
+
+    /**
+     * records the location of a test case in the index
+     *
+     * @param offset the byte offset of the test case in the file
+     * @param length the number of bytes in the test case
+     */
+    private void add(long offset, long length) {
+        if (length > Integer.MAX_VALUE)
+            throw new IllegalStateException("test case at byte " + offset + " is larger than 2GB");
+        if (size == offsets.length) {
+            offsets = Arrays.copyOf(offsets, size * 2);
+            lengths = Arrays.copyOf(lengths, size * 2);
+        }
+        offsets[size] = offset;
+        lengths[size] = (int) length;
+        size++;
+    }
+
+    /**
+     * reads a single byte from the mapped file
+     *
+     * @param position the position of the byte in the file
+     * @return the byte at the position
+     */
+    private byte byteAt(long position) {
+        return regions[(int) (position >>> REGION_SHIFT)].get((int) (position & REGION_MASK));
+    }
+
+    /**
+     * converts the delimiter into the units it is matched against the file with: the encoded bytes of
+     * the delimiter, with each line separator replaced by LINE_BREAK
+     *
+     * @param delimiter the literal delimiter
+     * @return the delimiter units
+     */
+    private int[] toUnits(String delimiter) {
+        if (delimiter.isEmpty())
+            throw new IllegalArgumentException("a memory mapped test suite requires a non-empty delimiter");
+        String lineSeparator = System.lineSeparator();
+        int[] units = new int[0];
+        int i = 0;
+        while (i < delimiter.length()) {
+            int unitStart = units.length;
+            if (delimiter.startsWith(lineSeparator, i)) {
+                units = Arrays.copyOf(units, unitStart + 1);
+                units[unitStart] = LINE_BREAK;
+                i += lineSeparator.length();
+                continue;
+            }
+            int codePoint = delimiter.codePointAt(i);
+            byte[] bytes = new String(Character.toChars(codePoint)).getBytes(charset);
+            units = Arrays.copyOf(units, unitStart + bytes.length);
+            for (int j = 0; j < bytes.length; j++)
+                units[unitStart + j] = (Character.isBmpCodePoint(codePoint) && TestCaseReader.isLineTerminator((char) codePoint))
+                        ? NO_MATCH : bytes[j] & 0xFF;
+            i += Character.charCount(codePoint);
+        }
+        return units;
+    }
+
+    /**
+     * converts each line terminator in a decoded test case to the system line separator
+     *
+     * @param s the decoded test case
+     * @return the test case with normalized line terminators
+     */
+    private static String normalizeLineTerminators(CharSequence s) {
+        int first = 0;
+        while (first < s.length() && !TestCaseReader.isLineTerminator(s.charAt(first)))
+            first++;
+        if (first == s.length())//most test cases have no line terminators, so are used as they are decoded
+            return s.toString();
+        StringBuilder result = new StringBuilder(s.length());
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (TestCaseReader.isLineTerminator(c)) {
+                if (c == '\r' && i + 1 < s.length() && s.charAt(i + 1) == '\n')
+                    i++;
+                result.append(System.lineSeparator());
+            } else
+                result.append(c);
+        }
+        return result.toString();
+    }
+}
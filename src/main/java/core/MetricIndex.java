@@ -0,0 +1,274 @@
+package core;
+
+import data_representation.DataRepresentation;
+import metrics.comparison.pairwise.Levenshtein;
+import metrics.comparison.pairwise.PairwiseComparisonStrategy;
+import utilities.Tuple;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Random;
+
+/**
+ * An index of the test cases of a suite by their distance from each other under a metric that satisfies the
+ * triangle inequality, as a vantage-point tree. Each node of the tree is a test case, the vantage point, and the
+ * median distance from it to the test cases below it: the closer half of them are in one subtree, and the farther
+ * half in the other. By the triangle inequality, a test case at distance d from the vantage point is at least
+ * |d - r| from every test case r from the vantage point, so a search for the test cases near another only visits
+ * the subtrees that could hold them, rather than finding the distance to every test case.
+ *
+ * The index holds only the positions of the test cases in the suite, so it can be written to a file and read
+ * back for the same suite, without finding the distances again.
+ */
+public class MetricIndex {
+    private static final int MAGIC = 0x56505449;
+    private static final int VERSION = 1;
+    //fixes the choice of vantage points, so a suite always gives the same tree
+    private static final long SEED = 0x5DEECE66DL;
+    private static final Comparator<Tuple<Integer, Double>> NEAREST_FIRST =
+            Comparator.<Tuple<Integer, Double>, Double>comparing(Tuple::getRight).thenComparing(Tuple::getLeft);
+
+    private final List<DataRepresentation> testCases;
+    private final PairwiseComparisonStrategy metric;
+    //for each node, its test case, the median distance from it, and the node of each half, or -1 if it is empty
+    private final int[] points;
+    private final double[] radii;
+    private final int[] inside;
+    private final int[] outside;
+    private final int root;
+
+    private MetricIndex(List<DataRepresentation> testCases, PairwiseComparisonStrategy metric, int[] points,
+                        double[] radii, int[] inside, int[] outside, int root) {
+        this.testCases = testCases;
+        this.metric = metric;
+        this.points = points;
+        this.radii = radii;
+        this.inside = inside;
+        this.outside = outside;
+        this.root = root;
+    }
+
+    /**
+     * determines whether test cases can be indexed by a metric. Only metrics that satisfy the triangle inequality
+     * can be, which Hamming does not, as it only compares the elements up to the end of the shorter test case.
+     *
+     * @param metric the metric test cases are compared with
+     * @return true if the metric is a distance the index can search by
+     */
+    public static boolean supports(PairwiseComparisonStrategy metric) {
+        return metric instanceof Levenshtein;
+    }
+
+    /**
+     * builds the index of a test suite
+     *
+     * @param testCases the parsed test cases, which must support cursor()
+     * @param metric the metric test cases are compared with, which must be supported
+     * @return the index
+     * @throws Exception when the metric fails to compare two test cases
+     */
+    public static MetricIndex build(List<DataRepresentation> testCases, PairwiseComparisonStrategy metric) throws Exception {
+        if (!supports(metric))
+            throw new IllegalArgumentException(metric.getClass().getSimpleName() + " does not satisfy the triangle inequality");
+        int n = testCases.size();
+        int[] points = new int[n];
+        double[] radii = new double[n];
+        int[] inside = new int[n];
+        int[] outside = new int[n];
+        int[] items = new int[n];
+        for (int i = 0; i < n; i++)
+            items[i] = i;
+        MetricIndex index = new MetricIndex(testCases, metric, points, radii, inside, outside, n == 0 ? -1 : 0);
+        if (n > 0)
+            index.build(items, 0, n, 0, new double[n], new Random(SEED));
+        return index;
+    }
+
+    /**
+     * builds the subtree of some of the test cases, at the given node and the nodes after it
+     *
+     * @param items the test cases, of which those from start to end (exclusive) are in the subtree
+     * @param node the first free node, which the subtree is rooted at
+     * @return the first node after the subtree
+     */
+    private int build(int[] items, int start, int end, int node, double[] distances, Random random) throws Exception {
+        //the vantage point is chosen at random, and moved to the start
+        int chosen = start + random.nextInt(end - start);
+        int vantage = items[chosen];
+        items[chosen] = items[start];
+        items[start] = vantage;
+        points[node] = vantage;
+        inside[node] = -1;
+        outside[node] = -1;
+        int first = start + 1;
+        if (first == end)
+            return node + 1;
+
+        //the rest are split in half by their distance from the vantage point, so the tree is balanced even when
+        //many test cases are the same distance from it
+        Integer[] rest = new Integer[end - first];
+        for (int i = first; i < end; i++) {
+            distances[items[i]] = distance(testCases.get(vantage), testCases.get(items[i]));
+            rest[i - first] = items[i];
+        }
+        Arrays.sort(rest, Comparator.comparingDouble(i -> distances[i]));
+        for (int i = 0; i < rest.length; i++)
+            items[first + i] = rest[i];
+        int middle = first + (rest.length + 1) / 2;
+        radii[node] = distances[items[middle - 1]];
+
+        int next = node + 1;
+        inside[node] = next;
+        next = build(items, first, middle, next, distances, random);
+        if (middle < end) {
+            outside[node] = next;
+            next = build(items, middle, end, next, distances, random);
+        }
+        return next;
+    }
+
+    /**
+     * finds the test cases of the suite nearest to a test case
+     *
+     * @param query the test case, which must support cursor()
+     * @param k the most test cases to find
+     * @return the position in the suite and distance of the k nearest test cases, nearest first, where test cases
+     * the same distance away are in the order of the suite
+     * @throws Exception when the metric fails to compare two test cases
+     */
+    public List<Tuple<Integer, Double>> nearest(DataRepresentation query, int k) throws Exception {
+        //the farthest of the nearest test cases found so far is at the head
+        PriorityQueue<Tuple<Integer, Double>> found = new PriorityQueue<>(NEAREST_FIRST.reversed());
+        if (k > 0 && root >= 0)
+            nearest(query, k, root, found);
+        List<Tuple<Integer, Double>> nearest = new ArrayList<>(found);
+        nearest.sort(NEAREST_FIRST);
+        return nearest;
+    }
+
+    private void nearest(DataRepresentation query, int k, int node, PriorityQueue<Tuple<Integer, Double>> found) throws Exception {
+        double distance = distance(query, testCases.get(points[node]));
+        Tuple<Integer, Double> neighbour = new Tuple<>(points[node], distance);
+        if (found.size() < k) {
+            found.add(neighbour);
+        } else if (NEAREST_FIRST.compare(neighbour, found.peek()) < 0) {
+            found.poll();
+            found.add(neighbour);
+        }
+
+        //the half the test case falls in is searched first, as it is the more likely to hold near test cases
+        boolean insideFirst = distance <= radii[node];
+        for (int half = 0; half < 2; half++) {
+            boolean searchInside = (half == 0) == insideFirst;
+            int child = searchInside ? inside[node] : outside[node];
+            if (child < 0)
+                continue;
+            //test cases as far as the farthest found so far are still searched for, as they may come first in the suite
+            double reach = (found.size() < k) ? Double.POSITIVE_INFINITY : found.peek().getRight();
+            if (searchInside ? distance - reach <= radii[node] : distance + reach >= radii[node])
+                nearest(query, k, child, found);
+        }
+    }
+
+    /**
+     * finds the test cases of the suite within a distance of a test case
+     *
+     * @param query the test case, which must support cursor()
+     * @param maxDistance the greatest distance of a test case to find
+     * @return the position in the suite and distance of each test case at most the distance away, in the order of
+     * the suite
+     * @throws Exception when the metric fails to compare two test cases
+     */
+    public List<Tuple<Integer, Double>> within(DataRepresentation query, double maxDistance) throws Exception {
+        List<Tuple<Integer, Double>> found = new ArrayList<>();
+        if (root >= 0)
+            within(query, maxDistance, root, found);
+        found.sort(Comparator.comparing(Tuple::getLeft));
+        return found;
+    }
+
+    private void within(DataRepresentation query, double maxDistance, int node, List<Tuple<Integer, Double>> found) throws Exception {
+        double distance = distance(query, testCases.get(points[node]));
+        if (distance <= maxDistance)
+            found.add(new Tuple<>(points[node], distance));
+        if (inside[node] >= 0 && distance - maxDistance <= radii[node])
+            within(query, maxDistance, inside[node], found);
+        if (outside[node] >= 0 && distance + maxDistance >= radii[node])
+            within(query, maxDistance, outside[node], found);
+    }
+
+    private double distance(DataRepresentation testCase1, DataRepresentation testCase2) throws Exception {
+        return metric.compare(testCase1.cursor(), testCase2.cursor());
+    }
+
+    /**
+     * @return the number of test cases in the index
+     */
+    public int size() {
+        return points.length;
+    }
+
+    /**
+     * writes the index, so that it can be read back for the same test suite
+     *
+     * @param out where the index is written to
+     * @throws IOException when the index cannot be written
+     */
+    public void write(DataOutput out) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeUTF(metric.getClass().getName());
+        out.writeInt(points.length);
+        out.writeInt(root);
+        for (int node = 0; node < points.length; node++) {
+            out.writeInt(points[node]);
+            out.writeDouble(radii[node]);
+            out.writeInt(inside[node]);
+            out.writeInt(outside[node]);
+        }
+    }
+
+    /**
+     * reads an index written by write()
+     *
+     * @param in where the index is read from
+     * @param testCases the parsed test cases of the suite the index was built for
+     * @param metric the metric test cases are compared with
+     * @return the index, or null if it was built for another metric or another number of test cases
+     * @throws IOException when the index cannot be read, or is damaged
+     */
+    public static MetricIndex read(DataInput in, List<DataRepresentation> testCases, PairwiseComparisonStrategy metric) throws IOException {
+        if (in.readInt() != MAGIC || in.readInt() != VERSION)
+            throw new IOException("not a metric index");
+        if (!in.readUTF().equals(metric.getClass().getName()) || in.readInt() != testCases.size())
+            return null;
+        int n = testCases.size();
+        int root = in.readInt();
+        int[] points = new int[n];
+        double[] radii = new double[n];
+        int[] inside = new int[n];
+        int[] outside = new int[n];
+        for (int node = 0; node < n; node++) {
+            points[node] = in.readInt();
+            radii[node] = in.readDouble();
+            inside[node] = in.readInt();
+            outside[node] = in.readInt();
+            //every reference must be inside the index, and children come after their parent, so there are no cycles
+            if (points[node] < 0 || points[node] >= n || !isChild(inside[node], node, n) || !isChild(outside[node], node, n))
+                throw new IOException("metric index is damaged");
+        }
+        if (root != (n == 0 ? -1 : 0))
+            throw new IOException("metric index is damaged");
+        return new MetricIndex(testCases, metric, points, radii, inside, outside, root);
+    }
+
+    private static boolean isChild(int child, int node, int n) {
+        return child == -1 || (child > node && child < n);
+    }
+}
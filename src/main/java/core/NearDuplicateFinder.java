@@ -0,0 +1,220 @@
+package core;
+
+import data_representation.DataRepresentation;
+import data_representation.SymbolTable;
+import metrics.comparison.pairwise.Dice;
+import metrics.comparison.pairwise.JaccardIndex;
+import metrics.comparison.pairwise.PairwiseComparisonStrategy;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Finds the pairs of test cases that are likely to be near-duplicates under a set-based metric, without
+ * comparing every pair, using locality sensitive hashing of MinHash signatures.
+ *
+ * The signature of a test case is the smallest hash of its elements under each of a number of hash functions,
+ * and two test cases agree on any one of these with a probability equal to the Jaccard index of their sets of
+ * elements. The signature is cut into bands of rows, and test cases that agree on every row of a band become
+ * candidates. The number of rows in a band is chosen so that a pair at the threshold becomes a candidate with a
+ * high probability, while pairs far below it rarely do. Finding the candidates takes time linear in the number
+ * of test cases plus the number of candidates, rather than the square of the number of test cases.
+ *
+ * Candidates are only likely near-duplicates: they should be compared with the metric before being reported.
+ */
+public class NearDuplicateFinder {
+    //the number of hash functions in a signature
+    public static final int SIGNATURE_SIZE = 128;
+    //the least probability that a pair exactly at the threshold is found as a candidate
+    public static final double RECALL = 0.95;
+    //fixes the hash functions, so a search finds the same candidates every time
+    private static final long SEED = 0x5DEECE66DL;
+
+    private final double threshold;
+    private final int bands;
+    private final int rows;
+    private final long[] seeds;
+
+    /**
+     * Constructor
+     *
+     * @param threshold the Jaccard index a pair should reach to be a near-duplicate, from 0 to 1
+     */
+    public NearDuplicateFinder(double threshold) {
+        if (!(threshold >= 0 && threshold <= 1))
+            throw new IllegalArgumentException("a similarity threshold must be from 0 to 1");
+        this.threshold = threshold;
+        this.rows = rowsPerBand(threshold);
+        this.bands = SIGNATURE_SIZE / rows;
+        this.seeds = new long[bands * rows];
+        Random random = new Random(SEED);
+        for (int i = 0; i < seeds.length; i++)
+            seeds[i] = random.nextLong();
+    }
+
+    /**
+     * creates a finder for the near-duplicates of a metric, if the metric compares test cases as sets
+     *
+     * @param strategy the metric near-duplicates are judged by
+     * @param threshold the similarity under the metric a pair should reach to be a near-duplicate
+     * @return a finder, or null if near-duplicates of the metric cannot be found from MinHash signatures
+     */
+    public static NearDuplicateFinder forMetric(PairwiseComparisonStrategy strategy, double threshold) {
+        if (strategy instanceof JaccardIndex)
+            return new NearDuplicateFinder(threshold);
+        if (strategy instanceof Dice)//the Jaccard index is a function of the Dice coefficient
+            return new NearDuplicateFinder(threshold / (2 - threshold));
+        return null;
+    }
+
+    /**
+     * chooses the most rows in a band for which a pair at the threshold still becomes a candidate with at least
+     * the RECALL probability, since more rows make pairs below the threshold less likely to become candidates
+     */
+    static int rowsPerBand(double threshold) {
+        int best = 1;
+        for (int r = 2; r <= SIGNATURE_SIZE; r++) {
+            int b = SIGNATURE_SIZE / r;
+            if (1 - Math.pow(1 - Math.pow(threshold, r), b) >= RECALL)
+                best = r;
+        }
+        return best;
+    }
+
+    /**
+     * @return the Jaccard index a pair should reach to be a near-duplicate
+     */
+    public double getThreshold() {
+        return threshold;
+    }
+
+    /**
+     * @return the number of bands of the signature
+     */
+    public int getBands() {
+        return bands;
+    }
+
+    /**
+     * @return the number of rows in each band of the signature
+     */
+    public int getRows() {
+        return rows;
+    }
+
+    /**
+     * finds the MinHash signature of a parsed test case, from the same set of elements the set-based metrics
+     * compare: the hashes of its distinct elements when it keeps them as a set, such as shingles, or else the ids
+     * of its distinct elements
+     *
+     * @param testCase the test case, which is read through a cursor when it has one
+     * @param symbols the table the elements are given ids in, which must be the same for every signature compared
+     * @return the smallest hash of the elements under each hash function
+     */
+    public long[] signature(DataRepresentation testCase, SymbolTable symbols) {
+        long[] elements = testCase.distinctElements();
+        if (elements == null) {
+            DataRepresentation cursor = testCase.cursor();
+            int[] ids = symbols.distinctIdsOf(cursor == null ? testCase : cursor);
+            elements = new long[ids.length];
+            for (int i = 0; i < ids.length; i++)
+                elements[i] = ids[i];
+        }
+
+        long[] signature = new long[seeds.length];
+        Arrays.fill(signature, Long.MAX_VALUE);
+        for (long element : elements) {
+            long hash = mix(element);
+            for (int i = 0; i < seeds.length; i++) {
+                long h = mix(hash ^ seeds[i]);
+                if (h < signature[i])
+                    signature[i] = h;
+            }
+        }
+        return signature;
+    }
+
+    /**
+     * finds the candidate near-duplicates within a test suite
+     *
+     * @param testSuite the parsed test cases
+     * @return the indices (i, j) of each candidate pair, with i before j, in the order the pairs would be made
+     */
+    public List<int[]> candidatesWithin(List<DataRepresentation> testSuite) {
+        return candidates(testSuite, -1);
+    }
+
+    /**
+     * finds the candidate near-duplicates between two test suites
+     *
+     * @param testSuite1 the parsed test cases of the first suite
+     * @param testSuite2 the parsed test cases of the second suite
+     * @return the indices (i, j) of each candidate pair, with i in the first suite and j in the second, in the
+     * order the pairs would be made
+     */
+    public List<int[]> candidatesBetween(List<DataRepresentation> testSuite1, List<DataRepresentation> testSuite2) {
+        List<DataRepresentation> testCases = new ArrayList<>(testSuite1);
+        testCases.addAll(testSuite2);
+        List<int[]> candidates = candidates(testCases, testSuite1.size());
+        for (int[] candidate : candidates)
+            candidate[1] -= testSuite1.size();
+        return candidates;
+    }
+
+    /**
+     * @param split the index of the first test case of the second suite, or -1 if there is one suite, in which
+     *              case any two test cases can be a pair
+     */
+    private List<int[]> candidates(List<DataRepresentation> testCases, int split) {
+        SymbolTable symbols = SymbolTable.of(testCases);
+        long[][] signatures = new long[testCases.size()][];
+        for (int i = 0; i < signatures.length; i++)
+            signatures[i] = signature(testCases.get(i), symbols);
+
+        Set<Long> pairs = new HashSet<>();
+        for (int band = 0; band < bands; band++) {
+            Map<Long, List<Integer>> buckets = new HashMap<>();
+            for (int i = 0; i < signatures.length; i++) {
+                long key = band;
+                for (int row = band * rows; row < (band + 1) * rows; row++)
+                    key = mix(key * 31 + signatures[i][row]);
+                buckets.computeIfAbsent(key, k -> new ArrayList<>()).add(i);
+            }
+            for (List<Integer> bucket : buckets.values()) {
+                for (int a = 0; a < bucket.size(); a++) {
+                    for (int b = a + 1; b < bucket.size(); b++) {
+                        int i = bucket.get(a);
+                        int j = bucket.get(b);
+                        if (split < 0 || (i < split && j >= split))
+                            pairs.add(((long) i << 32) | j);
+                    }
+                }
+            }
+        }
+
+        long[] sorted = new long[pairs.size()];
+        int k = 0;
+        for (long pair : pairs)
+            sorted[k++] = pair;
+        Arrays.sort(sorted);
+        List<int[]> candidates = new ArrayList<>(sorted.length);
+        for (long pair : sorted)
+            candidates.add(new int[]{(int) (pair >>> 32), (int) pair});
+        return candidates;
+    }
+
+    /**
+     * spreads the bits of a hash, as the finalizer of splitmix64
+     */
+    private static long mix(long hash) {
+        hash = (hash ^ (hash >>> 30)) * 0xBF58476D1CE4E5B9L;
+        hash = (hash ^ (hash >>> 27)) * 0x94D049BB133111EBL;
+        return hash ^ (hash >>> 31);
+    }
+}
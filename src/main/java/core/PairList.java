@@ -0,0 +1,336 @@
+package core;
+
+import data_representation.DataRepresentation;
+import utilities.Tuple;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+
+/**
+ * The pairs of test cases to compare from parsed test suites, listed without being made. A pair is only made,
+ * as cursors over its two parsed test cases, when it is read from the list, so the list holds the test cases
+ * rather than every pair of them.
+ *
+ * Pairs are listed in the same order the PairingService makes them: within a suite, the first test case with
+ * each later test case, then the second with each later test case, and so on; between suites, each test case
+ * with every test case of the later suites. A pair is found from its position in the list by its indices (i, j)
+ * into the test cases, so a pair can be read from any position, and the list can be split among threads.
+ */
+public class PairList extends AbstractList<Tuple<DataRepresentation, DataRepresentation>> implements RandomAccess {
+    //the most pairs that can be compared at once, which is the most similarities an array can hold
+    public static final int MAX_PAIRS = Integer.MAX_VALUE - 8;
+
+    //the test cases of every suite, one suite after another
+    private final List<DataRepresentation> testCases;
+    //the index of the first test case after each suite, and the position of the first pair of each suite;
+    //null when the pairs are within one suite
+    private final int[] ends;
+    private final long[] firstPairs;
+    private final int size;
+
+    private PairList(List<DataRepresentation> testCases, int[] ends, long[] firstPairs, long size) {
+        this.testCases = testCases;
+        this.ends = ends;
+        this.firstPairs = firstPairs;
+        this.size = checkedCount(size);
+    }
+
+    /**
+     * counts the pairs of test cases within one test suite
+     *
+     * @param testCases the number of test cases in the suite
+     * @return the number of pairs
+     */
+    public static long countWithin(long testCases) {
+        return testCases * (testCases - 1) / 2;
+    }
+
+    /**
+     * counts the pairs of test cases between test suites, with each test case paired with every test case of the
+     * later suites
+     *
+     * @param testSuites the number of test cases in each suite
+     * @return the number of pairs
+     */
+    public static long countBetween(int... testSuites) {
+        long pairs = 0;
+        long later = 0;
+        for (int s = testSuites.length - 1; s >= 0; s--) {
+            pairs += testSuites[s] * later;
+            later += testSuites[s];
+        }
+        return pairs;
+    }
+
+    /**
+     * checks that a number of pairs can be compared at once, which needs a similarity for each pair
+     *
+     * @param pairs the number of pairs
+     * @return the number of pairs
+     * @throws IllegalArgumentException when there are more than MAX_PAIRS pairs
+     */
+    public static int checkedCount(long pairs) {
+        if (pairs > MAX_PAIRS)
+            throw new IllegalArgumentException("the test cases make " + pairs + " pairs, more than the " + MAX_PAIRS
+                    + " pairs that can be compared at once; compare a sample of the test cases with -k, or only"
+                    + " their near-duplicates with -n");
+        return (int) pairs;
+    }
+
+    /**
+     * lists the pairs of test cases within one test suite, with each test case paired with each other once
+     *
+     * @param testSuite the parsed test cases, which must support cursor()
+     * @return the pairs of the test suite
+     */
+    public static PairList within(List<DataRepresentation> testSuite) {
+        List<DataRepresentation> testCases = (testSuite instanceof RandomAccess) ? testSuite : new ArrayList<>(testSuite);
+        return new PairList(testCases, null, null, countWithin(testCases.size()));
+    }
+
+    /**
+     * lists the pairs of test cases between test suites, with each test case paired with every test case of the
+     * later suites
+     *
+     * @param testSuites the parsed test cases of each suite, which must support cursor()
+     * @return the pairs between the test suites
+     */
+    public static PairList between(List<List<DataRepresentation>> testSuites) {
+        List<DataRepresentation> testCases = new ArrayList<>();
+        for (List<DataRepresentation> testSuite : testSuites)
+            testCases.addAll(testSuite);
+        int[] ends = new int[testSuites.size()];
+        long[] firstPairs = new long[testSuites.size()];
+        long pairs = 0;
+        int end = 0;
+        for (int s = 0; s < ends.length; s++) {
+            firstPairs[s] = pairs;
+            end += testSuites.get(s).size();
+            ends[s] = end;
+            pairs += (long) testSuites.get(s).size() * (testCases.size() - end);
+        }
+        return new PairList(testCases, ends, firstPairs, pairs);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * makes the pair at a position, as new cursors over its test cases
+     */
+    @Override
+    public Tuple<DataRepresentation, DataRepresentation> get(int index) {
+        if (index < 0 || index >= size)
+            throw new IndexOutOfBoundsException("pair " + index + " of " + size);
+        int[] indices = indicesOf(index);
+        return pair(indices[0], indices[1]);
+    }
+
+    /**
+     * finds which test cases are paired at a position in the list
+     *
+     * @param index the position of the pair
+     * @return the index of the first and the second test case of the pair, among the test cases of every suite
+     */
+    public int[] indicesOf(int index) {
+        if (ends == null) {
+            //the pairs of the first i test cases are i(2n - i - 1)/2, which is solved for the largest i not past the index
+            long n = testCases.size();
+            double b = 2 * n - 1;
+            long i = (long) ((b - Math.sqrt(b * b - 8.0 * index)) / 2);
+            while (i > 0 && firstPairWithin(i) > index)
+                i--;
+            while (i + 1 < n && firstPairWithin(i + 1) <= index)
+                i++;
+            return new int[]{(int) i, (int) (index - firstPairWithin(i) + i + 1)};
+        }
+        int s = 0;
+        while (s + 1 < ends.length && firstPairs[s + 1] <= index)
+            s++;
+        long rest = testCases.size() - ends[s];
+        long offset = index - firstPairs[s];
+        int start = (s == 0) ? 0 : ends[s - 1];
+        return new int[]{(int) (start + offset / rest), (int) (ends[s] + offset % rest)};
+    }
+
+    /**
+     * finds the position of a pair in the list, the opposite of indicesOf()
+     *
+     * @param i the index of the first test case of the pair, among the test cases of every suite
+     * @param j the index of the second test case of the pair, which must be paired with the first
+     * @return the position of the pair
+     */
+    public int positionOf(int i, int j) {
+        if (ends == null)
+            return (int) (firstPairWithin(i) + j - i - 1);
+        int s = 0;
+        while (ends[s] <= i)
+            s++;
+        int start = (s == 0) ? 0 : ends[s - 1];
+        return (int) (firstPairs[s] + (long) (i - start) * (testCases.size() - ends[s]) + j - ends[s]);
+    }
+
+    /**
+     * @return the number of test cases in every suite
+     */
+    public int getTestCaseCount() {
+        return testCases.size();
+    }
+
+    /**
+     * obtains a parsed test case. The test case is shared by every pair it is in, so it should only be read
+     * through a cursor.
+     *
+     * @param i the index of the test case, among the test cases of every suite
+     * @return the test case
+     */
+    public DataRepresentation getTestCase(int i) {
+        return testCases.get(i);
+    }
+
+    /**
+     * splits the pairs into tiles: a tile pairs each of a run of consecutive test cases with each of another run,
+     * so comparing the pairs of a tile only reads the test cases of the two runs. Within one suite, the pairs are
+     * the upper triangle of a square of the test cases, and between suites each suite pairs with the later suites
+     * as a rectangle; these are cut into squares, and a tile on the edge of the triangle only holds its pairs.
+     *
+     * @param side the most test cases in a run
+     * @return the first and last (exclusive) test case of the two runs of each tile that holds any pairs
+     */
+    public List<int[]> tiles(int side) {
+        List<int[]> tiles = new ArrayList<>();
+        int n = testCases.size();
+        if (ends == null) {
+            for (int rows = 0; rows < n; rows += side) {
+                for (int columns = rows; columns < n; columns += side) {
+                    int[] tile = {rows, Math.min(rows + side, n), columns, Math.min(columns + side, n)};
+                    if (tile[3] > tile[0] + 1)//a tile on the diagonal of a single test case has no pairs
+                        tiles.add(tile);
+                }
+            }
+            return tiles;
+        }
+        int start = 0;
+        for (int end : ends) {
+            for (int rows = start; rows < end; rows += side) {
+                for (int columns = end; columns < n; columns += side)
+                    tiles.add(new int[]{rows, Math.min(rows + side, end), columns, Math.min(columns + side, n)});
+            }
+            start = end;
+        }
+        return tiles;
+    }
+
+    /**
+     * determines if two test cases are paired
+     *
+     * @param i the index of the first test case, among the test cases of every suite
+     * @param j the index of the second test case, after the first
+     * @return true if the test cases are a pair in the list
+     */
+    public boolean isPair(int i, int j) {
+        return j > i && j < testCases.size() && j >= firstPartner(i);
+    }
+
+    /**
+     * finds the first test case a test case is paired with. The test case is paired with every test case from this
+     * one on, so the pairs of a test case are its first partner and every later test case.
+     *
+     * @param i the index of the test case, among the test cases of every suite
+     * @return the index of its first partner, or the number of test cases if it is not paired with any
+     */
+    public int firstPartner(int i) {
+        if (ends == null)
+            return i + 1;
+        int s = 0;
+        while (ends[s] <= i)
+            s++;
+        return ends[s];
+    }
+
+    /**
+     * @return the position of the first pair of test case i within one suite
+     */
+    private long firstPairWithin(long i) {
+        return i * (2L * testCases.size() - i - 1) / 2;
+    }
+
+    private Tuple<DataRepresentation, DataRepresentation> pair(int i, int j) {
+        return new Tuple<>(testCases.get(i).cursor(), testCases.get(j).cursor());
+    }
+
+    @Override
+    public Iterator<Tuple<DataRepresentation, DataRepresentation>> iterator() {
+        return Spliterators.iterator(spliterator());
+    }
+
+    /**
+     * a spliterator over the pairs moves from one pair to the next without finding their indices again, and is split
+     * into halves of its remaining positions
+     */
+    @Override
+    public Spliterator<Tuple<DataRepresentation, DataRepresentation>> spliterator() {
+        return new PairSpliterator(0, size);
+    }
+
+    private class PairSpliterator implements Spliterator<Tuple<DataRepresentation, DataRepresentation>> {
+        private int index;
+        private final int end;
+        //the indices of the next pair, found when the first pair is read
+        private int i = -1;
+        private int j;
+
+        PairSpliterator(int index, int end) {
+            this.index = index;
+            this.end = end;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super Tuple<DataRepresentation, DataRepresentation>> action) {
+            if (index >= end)
+                return false;
+            if (i < 0) {
+                int[] indices = indicesOf(index);
+                i = indices[0];
+                j = indices[1];
+            }
+            action.accept(pair(i, j));
+            index++;
+            if (++j == testCases.size()) {//the next pair starts a new test case, which is paired from its first partner
+                i++;
+                if (index < end)
+                    j = firstPartner(i);
+            }
+            return true;
+        }
+
+        @Override
+        public Spliterator<Tuple<DataRepresentation, DataRepresentation>> trySplit() {
+            int middle = (index + end) >>> 1;
+            if (middle <= index)
+                return null;
+            Spliterator<Tuple<DataRepresentation, DataRepresentation>> prefix = new PairSpliterator(index, middle);
+            index = middle;
+            i = -1;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            return end - index;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | SIZED | SUBSIZED | NONNULL | IMMUTABLE;
+        }
+    }
+}
@@ -34,22 +34,17 @@ public class PairingService {
      *
      * @param testSuite the test suite of test cases
      * @return a list of pairs of test cases in the form of data representations
+     * @throws IllegalArgumentException when the test cases make more pairs than can be compared at once
      */
     public List<Tuple<DataRepresentation, DataRepresentation>> makePairsWithin(
             PropertyChangeListener pcl, DataRepresentation format, String[] testSuite) throws Exception {
+        PairList.checkedCount(PairList.countWithin(testSuite.length));
         setListener(pcl, testSuite.length);
-        List<Tuple<DataRepresentation, DataRepresentation>> pairs = new ArrayList<>();
         List<Future<Object>> futureList = new ArrayList<>();
         for (int i = 0; i < testSuite.length; i++)//for each test case, generate a command that makes pairs with the remainder of the suite
             futureList.add(threadPool.submit(new PairingCommand(pcl, testSuite[i],
                     Arrays.copyOfRange(testSuite, i+1, testSuite.length), format)));
-
-        for (Future<Object> future : futureList) {
-            List<Tuple<DataRepresentation, DataRepresentation>> result =
-                    (List<Tuple<DataRepresentation, DataRepresentation>>) future.get();
-            pairs.addAll(result);
-        }
-        return pairs;
+        return collectPairs(futureList);
     }
 
     /**
@@ -57,11 +52,13 @@ public class PairingService {
      *
      * @param testSuites an array of test suite arrays containing DataRepresentations for pairing
      * @return a list of pairs of test cases in the form of data representations
+     * @throws IllegalArgumentException when the test cases make more pairs than can be compared at once
      */
     public List<Tuple<DataRepresentation, DataRepresentation>> makePairsBetween(
             PropertyChangeListener pcl, DataRepresentation format, String[]... testSuites) throws Exception {
-        setListener(pcl, Arrays.stream(testSuites).mapToInt(e->e.length).toArray());
-        List<Tuple<DataRepresentation, DataRepresentation>> pairs = new ArrayList<>();
+        int[] sizes = Arrays.stream(testSuites).mapToInt(e->e.length).toArray();
+        PairList.checkedCount(PairList.countBetween(sizes));
+        setListener(pcl, sizes);
         List<Future<Object>> futureList = new ArrayList<>();
         for (int i = 0; i < testSuites.length; i++) {//for each test suite
             for (int j = 0; j < testSuites[i].length; j++) //for each test case, create a command that generates pairs on the rest of the suites
@@ -70,6 +67,58 @@ public class PairingService {
                         format
                        )));
         }
+        return collectPairs(futureList);
+    }
+
+    /**
+     * Makes pairs to be compared from a single test suite that has already been parsed. Each test case is compared
+     * to another test case once. The test cases must support cursor(), and each pair is made of cursors over the
+     * parsed test cases when it is read from the list, so the pairs are not all made up front. Test cases with
+     * the same content are folded together, so that only the distinct pairs need to be compared.
+     *
+     * @param testSuite the parsed test cases
+     * @return a list of pairs of test cases in the form of data representations
+     */
+    public List<Tuple<DataRepresentation, DataRepresentation>> makePairsWithin(
+            PropertyChangeListener pcl, List<DataRepresentation> testSuite) {
+        setListener(pcl, testSuite.size());
+        return completed(DistinctPairs.within(testSuite));
+    }
+
+    /**
+     * Makes pairs to be compared from one parsed test suite to another. Each test case is compared to another test
+     * case once. The test cases must support cursor(), and each pair is made of cursors over the parsed test cases
+     * when it is read from the list, so the pairs are not all made up front. Test cases of a suite with the same
+     * content are folded together, so that only the distinct pairs need to be compared.
+     *
+     * @param testSuites the parsed test cases of each test suite
+     * @return a list of pairs of test cases in the form of data representations
+     */
+    public List<Tuple<DataRepresentation, DataRepresentation>> makePairsBetween(
+            PropertyChangeListener pcl, List<List<DataRepresentation>> testSuites) {
+        setListener(pcl, testSuites.stream().mapToInt(List::size).toArray());
+        return completed(DistinctPairs.between(testSuites));
+    }
+
+    /**
+     * tells the listener that every pair of a list has been made, since listing them takes no work
+     *
+     * @param pairs the pairs
+     * @return the pairs
+     */
+    private DistinctPairs completed(DistinctPairs pairs) {
+        support.firePropertyChange(new PropertyChangeEvent(this, "completed", 0, pairs.size()));
+        return pairs;
+    }
+
+    /**
+     * waits for each pairing command to complete, and collects their pairs in the order the commands were submitted
+     *
+     * @param futureList the results of each pairing command
+     * @return every pair made
+     */
+    private List<Tuple<DataRepresentation, DataRepresentation>> collectPairs(List<Future<Object>> futureList) throws Exception {
+        List<Tuple<DataRepresentation, DataRepresentation>> pairs = new ArrayList<>();
         for (Future<Object> future : futureList) {
             List<Tuple<DataRepresentation, DataRepresentation>> result =
                     (List<Tuple<DataRepresentation, DataRepresentation>>) future.get();
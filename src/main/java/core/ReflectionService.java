@@ -1,5 +1,6 @@
 package core;
 
+import data_representation.Factories;
 import model.Config;
 
 import java.io.File;
@@ -12,6 +13,8 @@ import java.net.URISyntaxException;
 import java.util.ArrayList;
 import java.util.InputMismatchException;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipInputStream;
 
@@ -21,10 +24,26 @@ import java.util.zip.ZipInputStream;
  * @author crushton
  */
 public class ReflectionService {
+    //classes are resolved once and shared by every use of reflection in a run, as are their factories
+    private static final ConcurrentHashMap<String, Class<?>> CLASSES = new ConcurrentHashMap<>();
 
     public ReflectionService() {
     }
 
+    /**
+     * obtains a factory that creates new instances of a class with its public no-args constructor. The factory is
+     * generated the first time it is needed for a class and reused afterwards, so creating an instance costs the
+     * same as calling the constructor directly.
+     *
+     * @param type the class to create instances of
+     * @return a factory for the class
+     * @throws NoSuchMethodException when the class does not have a public no-args constructor
+     * @throws InstantiationException when the class is abstract
+     */
+    public static <T> Supplier<T> factory(Class<T> type) throws NoSuchMethodException, InstantiationException {
+        return Factories.of(type);
+    }
+
     /**
      * Instantiate a class with a no-args constructor.
      *
@@ -40,7 +59,7 @@ public class ReflectionService {
      */
     public Object loadClass(String classPath, String interfacePath)
             throws ClassNotFoundException, IllegalAccessException, InstantiationException, NoSuchMethodException, InvocationTargetException, InvalidFormatException {
-        return loadClassHelper(classPath, interfacePath).getConstructor().newInstance();
+        return factory(loadClassHelper(classPath, interfacePath)).get();
     }
 
     /**
@@ -144,7 +163,7 @@ public class ReflectionService {
         if (!checkFormat(classPath)) {
             throw new InvalidFormatException("Invalid class path. Expected: <package>.<subPackage>.<className> with any number of subpackages. Actual: " + classPath);
         }
-        Class<?> myClass = Class.forName(classPath);
+        Class<?> myClass = forName(classPath);
 
         if (interfacePath == null || interfacePath.isEmpty()) {
             return myClass;
@@ -152,10 +171,26 @@ public class ReflectionService {
         if (!checkFormat(interfacePath)) {
             throw new InvalidFormatException("Invalid interface path. Expected: <package>.<subPackage>.<interfaceName> with any number of subpackages. Actual: " + interfacePath);
         }
-        Class<?> myInterface = Class.forName(interfacePath);
+        Class<?> myInterface = forName(interfacePath);
         return checkClassTypes(myClass, myInterface);
     }
 
+    /**
+     * finds a class by name, looking each name up once
+     *
+     * @param className the full path and name of the class
+     * @return the class
+     * @throws ClassNotFoundException when the class doesn't exist
+     */
+    private static Class<?> forName(String className) throws ClassNotFoundException {
+        Class<?> found = CLASSES.get(className);
+        if (found == null) {
+            found = Class.forName(className);
+            CLASSES.putIfAbsent(className, found);
+        }
+        return found;
+    }
+
     /**
      * Checks that a class directly implements an interface and that the class is a class and interface is an interface.
      *
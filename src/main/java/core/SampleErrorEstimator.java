@@ -0,0 +1,172 @@
+package core;
+
+import data_representation.DataRepresentation;
+import metrics.comparison.listwise.ListwiseComparisonStrategy;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Estimates how far the mean similarity of a compare command on a random sample of test cases is likely
+ * to be from the mean similarity of the whole test suite, as a standard error.
+ *
+ * The estimate is a grouped jackknife: the sampled test cases are split into groups, and the comparison is
+ * repeated with each group left out. The spread of the results around each other estimates the standard
+ * error. Pairwise results do not need to be compared again, since leaving out a group only removes the pairs
+ * containing one of its test cases. Listwise results are computed again without each group.
+ */
+public class SampleErrorEstimator {
+    /*the default number of groups, which keeps the number of listwise recomputations small*/
+    public static final int DEFAULT_GROUPS = 20;
+
+    private int groups;
+
+    /**Constructor*/
+    public SampleErrorEstimator() {
+        this(DEFAULT_GROUPS);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param groups the most groups to split the sample into
+     */
+    public SampleErrorEstimator(int groups) {
+        if (groups < 2)
+            throw new IllegalArgumentException("the jackknife needs at least two groups");
+        this.groups = groups;
+    }
+
+    /**
+     * estimates the standard error of the mean of pairwise similarities. The similarities must be in the order
+     * the PairingService makes pairs: each test case with every later test case of the same suite when there is
+     * one suite, or each test case with every test case of the later suites when there are several.
+     *
+     * @param similarities the similarity of each pair
+     * @param suiteSizes the number of test cases in each suite that was paired
+     * @return the estimated standard error, or null if there are too few test cases to estimate it
+     */
+    public Double pairwiseError(List<Double> similarities, int... suiteSizes) {
+        int total = 0;
+        long pairs = 0;
+        for (int size : suiteSizes) {
+            pairs += (long) size * total;
+            total += size;
+        }
+        if (suiteSizes.length == 1)
+            pairs = (long) total * (total - 1) / 2;
+        if (pairs != similarities.size())
+            throw new IllegalArgumentException("the number of similarities does not match the suite sizes");
+        int g = Math.min(groups, total);
+        if (g < 2)
+            return null;
+
+        //the sum and number of pairs that would be left out with each group
+        double[] groupSums = new double[g];
+        long[] groupCounts = new long[g];
+        double sum = 0;
+        int k = 0;
+        if (suiteSizes.length == 1) {
+            for (int i = 0; i < total; i++) {
+                for (int j = i + 1; j < total; j++)
+                    sum += leaveOut(similarities.get(k++), i % g, j % g, groupSums, groupCounts);
+            }
+        } else {
+            int offset = 0;
+            for (int s = 0; s < suiteSizes.length; s++) {
+                int later = offset + suiteSizes[s];
+                for (int i = offset; i < offset + suiteSizes[s]; i++) {
+                    for (int j = later; j < total; j++)
+                        sum += leaveOut(similarities.get(k++), i % g, j % g, groupSums, groupCounts);
+                }
+                offset = later;
+            }
+        }
+
+        double[] replicates = new double[g];
+        for (int r = 0; r < g; r++) {
+            long remaining = k - groupCounts[r];
+            if (remaining == 0)//leaving out a group leaves no pairs, so the spread cannot be measured
+                return null;
+            replicates[r] = (sum - groupSums[r]) / remaining;
+        }
+        return jackknife(replicates);
+    }
+
+    /**
+     * records a pair against the groups of its test cases, counting a pair once when both are in the same group
+     *
+     * @return the similarity of the pair
+     */
+    private static double leaveOut(double similarity, int groupA, int groupB, double[] groupSums, long[] groupCounts) {
+        groupSums[groupA] += similarity;
+        groupCounts[groupA]++;
+        if (groupB != groupA) {
+            groupSums[groupB] += similarity;
+            groupCounts[groupB]++;
+        }
+        return similarity;
+    }
+
+    /**
+     * estimates the standard error of the mean listwise similarity of one or more test suites, by comparing
+     * each suite again with each group of test cases left out. Each comparison iterates over cursors of the
+     * parsed test cases, so no test case is parsed again.
+     *
+     * @param strategy the listwise metric used in the comparison
+     * @param testSuites the parsed test cases of each suite, which must support cursor()
+     * @return the estimated standard error, or null if there are too few test cases to estimate it
+     */
+    public Double listwiseError(ListwiseComparisonStrategy strategy, List<List<DataRepresentation>> testSuites) {
+        int total = 0;
+        for (List<DataRepresentation> testSuite : testSuites)
+            total += testSuite.size();
+        int g = Math.min(groups, total);
+        if (g < 2)
+            return null;
+
+        double[] replicates = new double[g];
+        for (int r = 0; r < g; r++) {
+            double sum = 0;
+            int offset = 0;
+            for (List<DataRepresentation> testSuite : testSuites) {
+                List<DataRepresentation> remaining = new ArrayList<>(testSuite.size());
+                for (int i = 0; i < testSuite.size(); i++) {
+                    if ((offset + i) % g != r)
+                        remaining.add(cursor(testSuite.get(i)));
+                }
+                sum += strategy.compare(remaining);
+                offset += testSuite.size();
+            }
+            replicates[r] = sum / testSuites.size();
+        }
+        return jackknife(replicates);
+    }
+
+    /**
+     * @param testCase a parsed test case
+     * @return a new iterator over the test case
+     */
+    private static DataRepresentation cursor(DataRepresentation testCase) {
+        DataRepresentation cursor = testCase.cursor();
+        if (cursor == null)
+            throw new IllegalArgumentException("the sampling error of a listwise comparison can only be estimated for test cases that can be iterated over more than once");
+        return cursor;
+    }
+
+    /**
+     * @param replicates the estimate computed with each group left out
+     * @return the jackknife standard error of the estimate
+     */
+    private static double jackknife(double[] replicates) {
+        int g = replicates.length;
+        double mean = 0;
+        for (double replicate : replicates)
+            mean += replicate;
+        mean /= g;
+        double squares = 0;
+        for (double replicate : replicates)
+            squares += (replicate - mean) * (replicate - mean);
+        return Math.sqrt((g - 1) * squares / g);
+    }
+}
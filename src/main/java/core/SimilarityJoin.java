@@ -0,0 +1,255 @@
+package core;
+
+import data_representation.DataRepresentation;
+import data_representation.SymbolTable;
+import metrics.comparison.pairwise.Dice;
+import metrics.comparison.pairwise.JaccardIndex;
+import metrics.comparison.pairwise.PairwiseComparisonStrategy;
+import model.NearDuplicatePair;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Finds every pair of test cases whose JaccardIndex or Dice similarity reaches a threshold, without comparing
+ * every pair, with the filters of the AllPairs and PPJoin set-similarity joins:
+ *
+ * - the elements of each test case are ordered from the rarest to the most frequent across the test suites
+ * - two sets can only reach the threshold when their sizes are close enough (length filtering)
+ * - two sets can only reach the threshold when they share an element among the first few of each, their
+ *   prefixes, so test cases are only found as candidates through an inverted index of the prefixes (prefix
+ *   filtering). Rare elements come first, so few test cases share a prefix element.
+ * - a candidate is dropped once the elements left after the shared ones are too few to reach the threshold
+ *   (positional filtering)
+ *
+ * The remaining candidates are verified by counting their common elements, and the similarity of each pair is
+ * found the same way the metric finds it, so the answer is exactly the pairs the metric gives at least the
+ * threshold, with the same similarities. Test cases are compared as the same sets the metrics compare: their
+ * distinct shingles when read as shingles, or else their distinct elements.
+ */
+public class SimilarityJoin {
+    //how far the filters loosen the threshold, so that rounding can never filter out a pair that reaches it
+    private static final double SLACK = 1e-9;
+
+    private final double threshold;
+    private final boolean dice;
+    //the Jaccard index that is equivalent to the threshold, which the filters are found from
+    private final double jaccard;
+
+    /**
+     * Constructor
+     *
+     * @param threshold the similarity a pair should reach, from 0 to 1
+     * @param dice true if the similarity is the Dice coefficient, or false if it is the Jaccard index
+     */
+    public SimilarityJoin(double threshold, boolean dice) {
+        if (!(threshold >= 0 && threshold <= 1))
+            throw new IllegalArgumentException("a similarity threshold must be from 0 to 1");
+        this.threshold = threshold;
+        this.dice = dice;
+        this.jaccard = dice ? threshold / (2 - threshold) : threshold;
+    }
+
+    /**
+     * creates a join for the similarity of a metric, if the metric compares test cases as sets
+     *
+     * @param strategy the metric pairs are compared with
+     * @param threshold the similarity under the metric a pair should reach
+     * @return a join, or null if the metric is not a set similarity the join can find
+     */
+    public static SimilarityJoin forMetric(PairwiseComparisonStrategy strategy, double threshold) {
+        if (strategy instanceof JaccardIndex)
+            return new SimilarityJoin(threshold, false);
+        if (strategy instanceof Dice)
+            return new SimilarityJoin(threshold, true);
+        return null;
+    }
+
+    /**
+     * finds the pairs of test cases within a test suite that reach the threshold
+     *
+     * @param testSuite the parsed test cases
+     * @return each pair that reaches the threshold, with the first test case before the second, in the order the
+     * pairs would be made
+     */
+    public List<NearDuplicatePair> joinWithin(List<DataRepresentation> testSuite) {
+        return join(testSuite, -1);
+    }
+
+    /**
+     * finds the pairs of test cases between two test suites that reach the threshold
+     *
+     * @param testSuite1 the parsed test cases of the first suite
+     * @param testSuite2 the parsed test cases of the second suite
+     * @return each pair that reaches the threshold, with the first test case from the first suite and the second
+     * from the second suite, in the order the pairs would be made
+     */
+    public List<NearDuplicatePair> joinBetween(List<DataRepresentation> testSuite1, List<DataRepresentation> testSuite2) {
+        List<DataRepresentation> testCases = new ArrayList<>(testSuite1);
+        testCases.addAll(testSuite2);
+        List<NearDuplicatePair> pairs = join(testCases, testSuite1.size());
+        List<NearDuplicatePair> between = new ArrayList<>(pairs.size());
+        for (NearDuplicatePair pair : pairs)
+            between.add(new NearDuplicatePair(pair.getFirst(), pair.getSecond() - testSuite1.size(), pair.getSimilarity()));
+        return between;
+    }
+
+    /**
+     * @param split the index of the first test case of the second suite, or -1 if there is one suite, in which
+     *              case any two test cases can be a pair
+     */
+    private List<NearDuplicatePair> join(List<DataRepresentation> testCases, int split) {
+        int[][] sets = orderedSets(testCases);
+        int n = sets.length;
+
+        //test cases are indexed and probed from the smallest set to the largest. Empty sets have no similarity.
+        Integer[] order = new Integer[n];
+        for (int i = 0; i < n; i++)
+            order[i] = i;
+        Arrays.sort(order, (a, b) -> Integer.compare(sets[a].length, sets[b].length));
+
+        int tokens = 0;
+        for (int[] set : sets) {
+            for (int token : set)
+                tokens = Math.max(tokens, token + 1);
+        }
+        //the test cases with each element in their indexed prefix, and the position of the element in each
+        int[][] postings = new int[tokens][];
+        int[] postingSizes = new int[tokens];
+        //postings before this have sets too small to reach the threshold with any later set
+        int[] postingStarts = new int[tokens];
+
+        double t = Math.max(0, jaccard - SLACK);
+        int[] overlaps = new int[n];
+        int[] touched = new int[n];
+        List<long[]> found = new ArrayList<>();
+        List<Integer> seen = new ArrayList<>();
+        for (int x : order) {
+            int[] set = sets[x];
+            if (set.length == 0)
+                continue;
+            int size = set.length;
+            int minSize = (int) Math.ceil(t * size);
+            int probePrefix = (t == 0) ? 0 : size - (int) Math.ceil(t * size) + 1;
+
+            int candidates = 0;
+            if (t == 0) {//every pair reaches a threshold of 0, even one with nothing in common
+                for (int y : seen)
+                    overlaps[touched[candidates++] = y] = 1;
+            }
+            for (int i = 0; i < probePrefix; i++) {
+                int token = set[i];
+                int[] posting = postings[token];
+                for (int p = postingStarts[token]; p < postingSizes[token]; p += 2) {
+                    int y = posting[p];
+                    int sizeY = sets[y].length;
+                    if (sizeY < minSize) {//the set is too small for this and every later, larger, set
+                        postingStarts[token] = p + 2;
+                        continue;
+                    }
+                    if (overlaps[y] < 0)//already dropped by the positional filter
+                        continue;
+                    if (overlaps[y] == 0)
+                        touched[candidates++] = y;
+                    int needed = (int) Math.ceil(t / (1 + t) * (size + sizeY));
+                    int left = 1 + Math.min(size - i - 1, sizeY - posting[p + 1] - 1);
+                    overlaps[y] = (overlaps[y] + left >= needed) ? overlaps[y] + 1 : -1;
+                }
+            }
+
+            for (int c = 0; c < candidates; c++) {
+                int y = touched[c];
+                boolean paired = overlaps[y] > 0 && (split < 0 || (x < split) != (y < split));
+                overlaps[y] = 0;
+                if (paired) {
+                    int common = SymbolTable.countCommon(set, sets[y]);
+                    double similarity = similarity(common, set.length, sets[y].length);
+                    if (similarity >= threshold)
+                        found.add(new long[]{Math.min(x, y), Math.max(x, y), Double.doubleToLongBits(similarity)});
+                }
+            }
+
+            if (t == 0)
+                seen.add(x);
+            //the set is indexed by a shorter prefix than it is probed with, since it is only found by larger sets
+            int indexPrefix = (t == 0) ? 0 : size - (int) Math.ceil(2 * t / (1 + t) * size) + 1;
+            for (int i = 0; i < indexPrefix; i++) {
+                int token = set[i];
+                if (postings[token] == null)
+                    postings[token] = new int[4];
+                else if (postingSizes[token] == postings[token].length)
+                    postings[token] = Arrays.copyOf(postings[token], postingSizes[token] * 2);
+                postings[token][postingSizes[token]++] = x;
+                postings[token][postingSizes[token]++] = i;
+            }
+        }
+
+        found.sort((a, b) -> (a[0] != b[0]) ? Long.compare(a[0], b[0]) : Long.compare(a[1], b[1]));
+        List<NearDuplicatePair> pairs = new ArrayList<>(found.size());
+        for (long[] pair : found)
+            pairs.add(new NearDuplicatePair((int) pair[0], (int) pair[1], Double.longBitsToDouble(pair[2])));
+        return pairs;
+    }
+
+    /**
+     * finds the similarity of two sets the same way the metric does
+     */
+    private double similarity(int common, int size1, int size2) {
+        if (dice)
+            return (2.0 * common) / (size1 + size2);
+        return (double) common / (size1 + size2 - common);
+    }
+
+    /**
+     * finds the set of elements of each test case, with each element given a rank by how many test cases it is in,
+     * the rarest first, and each set sorted by rank
+     */
+    private static int[][] orderedSets(List<DataRepresentation> testCases) {
+        int[][] sets = new int[testCases.size()][];
+        //test cases kept as sets of hashes have their hashes first given dense ids of their own
+        Map<Long, Integer> hashIds = new HashMap<>();
+        SymbolTable symbols = SymbolTable.of(testCases);
+        int ids = 0;
+        for (int i = 0; i < sets.length; i++) {
+            DataRepresentation testCase = testCases.get(i);
+            long[] hashes = testCase.distinctElements();
+            if (hashes != null) {
+                sets[i] = new int[hashes.length];
+                for (int s = 0; s < hashes.length; s++) {
+                    Integer id = hashIds.get(hashes[s]);
+                    if (id == null)
+                        hashIds.put(hashes[s], id = hashIds.size());
+                    sets[i][s] = id;
+                }
+            } else {
+                DataRepresentation cursor = testCase.cursor();
+                sets[i] = symbols.distinctIdsOf(cursor == null ? testCase : cursor);
+            }
+            for (int id : sets[i])
+                ids = Math.max(ids, id + 1);
+        }
+
+        int[] frequencies = new int[ids];
+        for (int[] set : sets) {
+            for (int id : set)
+                frequencies[id]++;
+        }
+        Integer[] byFrequency = new Integer[ids];
+        for (int id = 0; id < ids; id++)
+            byFrequency[id] = id;
+        Arrays.sort(byFrequency, (a, b) -> (frequencies[a] != frequencies[b])
+                ? Integer.compare(frequencies[a], frequencies[b]) : Integer.compare(a, b));
+        int[] ranks = new int[ids];
+        for (int rank = 0; rank < ids; rank++)
+            ranks[byFrequency[rank]] = rank;
+        for (int[] set : sets) {
+            for (int s = 0; s < set.length; s++)
+                set[s] = ranks[set[s]];
+            Arrays.sort(set);
+        }
+        return sets;
+    }
+}
@@ -0,0 +1,337 @@
+package core;
+
+import data_representation.DataRepresentation;
+import data_representation.SymbolTable;
+import metrics.comparison.pairwise.PairwiseComparisonStrategy;
+import model.TestSuite;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * An on-disk cache of test suites that have already been read and parsed. Each cached suite is stored in a
+ * binary file as the text of each test case, when it was kept, followed by the parsed test cases encoded by the SuiteCodec: a
+ * dictionary of the distinct tokens in the suite and each test case as indices into it. Loading a suite
+ * therefore does not need to split or parse any text.
+ *
+ * A cached suite is identified by the path of the test suite, the delimiter and the DataRepresentation it
+ * was read with, including any settings of it. It is only used while the size, modification
+ * time and content hash of every file in the suite are the same as when it was cached, otherwise the suite is
+ * read again and the cache replaced.
+ *
+ * The MetricIndex of a cached suite under a metric can be stored beside it, under the same key, so an unchanged
+ * suite is searched without building its index again.
+ */
+public class SuiteCache {
+    private static final int MAGIC = 0x54435343;
+    private static final int VERSION = 4;
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private File directory;
+
+    /**
+     * identifies the contents of a test suite on disk, and the way it is read
+     */
+    public static class Key {
+        private String path;
+        private String delimiter;
+        private String format;
+        private List<String> files;
+        private long[] sizes;
+        private long[] modified;
+        private byte[][] hashes;
+
+        /**
+         * determines whether this key describes exactly the same test suite files as another
+         *
+         * @param other the key stored in the cache
+         * @return true if every component of the keys are the same
+         */
+        private boolean matches(Key other) {
+            return path.equals(other.path) && delimiter.equals(other.delimiter) && format.equals(other.format)
+                    && files.equals(other.files) && Arrays.equals(sizes, other.sizes)
+                    && Arrays.equals(modified, other.modified) && Arrays.deepEquals(hashes, other.hashes);
+        }
+    }
+
+    /**
+     * Constructor
+     *
+     * @param directory the folder that cached test suites are stored in, which is created when a suite is first stored
+     */
+    public SuiteCache(File directory) {
+        this.directory = directory;
+    }
+
+    public File getDirectory() {
+        return directory;
+    }
+
+    /**
+     * creates the key of a test suite, hashing the contents of each file in it
+     *
+     * @param filename the test suite file or folder
+     * @param files the test suite files that are read, in the order they are read
+     * @param delimiter the character(s)/pattern that separates each test case in the files
+     * @param format the data representation that the test cases are read into
+     * @return the key
+     * @throws IOException when a file cannot be read
+     */
+    public Key createKey(String filename, List<File> files, String delimiter, DataRepresentation format) throws IOException {
+        Key key = new Key();
+        key.path = new File(filename).getCanonicalPath();
+        key.delimiter = (delimiter == null) ? "" : "=" + delimiter; //distinguishes no delimiter from an empty one
+        key.format = format.formatKey();
+        key.files = new ArrayList<>(files.size());
+        key.sizes = new long[files.size()];
+        key.modified = new long[files.size()];
+        key.hashes = new byte[files.size()][];
+        for (int i = 0; i < files.size(); i++) {
+            File file = files.get(i);
+            key.files.add(file.getCanonicalPath());
+            key.sizes[i] = file.length();
+            key.modified[i] = file.lastModified();
+            key.hashes[i] = hash(file);
+        }
+        return key;
+    }
+
+    /**
+     * loads a test suite from the cache
+     *
+     * @param key the key of the test suite as it is currently on disk
+     * @param format the data representation that the test cases are restored into
+     * @param symbols the table the elements of the restored test cases are given ids in
+     * @return the test suite, or null if it is not cached or the cached copy is out of date
+     */
+    public TestSuite load(Key key, DataRepresentation format, SymbolTable symbols) {
+        File file = cacheFile(key);
+        if (!file.isFile())
+            return null;
+        long limit = file.length(); //no count or length in a valid cache file can be larger than the file
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file), BUFFER_SIZE))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION || !key.matches(readKey(in, limit)))
+                return null;
+            String[] testCases = null;
+            if (in.readBoolean()) {
+                testCases = new String[readLength(in, limit)];
+                for (int i = 0; i < testCases.length; i++)
+                    testCases[i] = readString(in, limit);
+            }
+            List<DataRepresentation> dataRepresentations = SuiteCodec.read(in, format.factory(symbols), limit);
+            if (testCases != null && dataRepresentations.size() != testCases.length)
+                return null;
+            return new TestSuite(testCases, dataRepresentations, symbols);
+        } catch (IOException | ReflectiveOperationException | InvalidFormatException | RuntimeException e) {
+            return null; //a damaged cache file is treated as if the suite was not cached
+        }
+    }
+
+    /**
+     * stores a test suite in the cache, replacing any previous copy. Test suites read into a DataRepresentation
+     * that cannot be restored from tokens are not stored.
+     *
+     * @param key the key of the test suite
+     * @param testSuite the test suite that was read
+     * @return true if the test suite was stored
+     * @throws IOException when the cache file cannot be written
+     */
+    public boolean store(Key key, TestSuite testSuite) throws IOException {
+        if (!directory.isDirectory() && !directory.mkdirs())
+            throw new IOException("could not create cache folder " + directory);
+        File file = cacheFile(key);
+        File temp = File.createTempFile(file.getName(), ".tmp", directory);
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temp), BUFFER_SIZE))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                writeKey(out, key);
+                String[] testCases = testSuite.getTestCases();
+                out.writeBoolean(testCases != null);
+                if (testCases != null) {
+                    out.writeInt(testCases.length);
+                    for (String testCase : testCases)
+                        writeString(out, testCase);
+                }
+                if (!SuiteCodec.write(out, testSuite.getDataRepresentations()))
+                    return false;
+            }
+            //the finished file replaces the old one at once, so a partly written cache is never read
+            Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            temp.delete();
+        }
+        return true;
+    }
+
+    /**
+     * loads the metric index of a test suite from the cache
+     *
+     * @param key the key of the test suite as it is currently on disk
+     * @param testCases the parsed test cases of the suite
+     * @param metric the metric the index was built with
+     * @return the index, or null if it is not cached or the cached copy is out of date
+     */
+    public MetricIndex loadIndex(Key key, List<DataRepresentation> testCases, PairwiseComparisonStrategy metric) {
+        File file = indexFile(key, metric);
+        if (!file.isFile())
+            return null;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file), BUFFER_SIZE))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION || !key.matches(readKey(in, file.length())))
+                return null;
+            return MetricIndex.read(in, testCases, metric);
+        } catch (IOException | RuntimeException e) {
+            return null; //a damaged index file is treated as if the index was not cached
+        }
+    }
+
+    /**
+     * stores the metric index of a test suite in the cache, replacing any previous copy
+     *
+     * @param key the key of the test suite
+     * @param index the index of the test suite
+     * @param metric the metric the index was built with
+     * @throws IOException when the index file cannot be written
+     */
+    public void storeIndex(Key key, MetricIndex index, PairwiseComparisonStrategy metric) throws IOException {
+        if (!directory.isDirectory() && !directory.mkdirs())
+            throw new IOException("could not create cache folder " + directory);
+        File file = indexFile(key, metric);
+        File temp = File.createTempFile(file.getName(), ".tmp", directory);
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temp), BUFFER_SIZE))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                writeKey(out, key);
+                index.write(out);
+            }
+            Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            temp.delete();
+        }
+    }
+
+    /**
+     * finds the file of the metric index of a test suite, beside the cache file of the suite
+     */
+    private File indexFile(Key key, PairwiseComparisonStrategy metric) {
+        String name = cacheFile(key).getName();
+        return new File(directory, name.substring(0, name.length() - ".suite".length()) + "."
+                + metric.getClass().getSimpleName() + ".index");
+    }
+
+    /**
+     * finds the cache file for a test suite. The file is named after the parts of the key that identify the
+     * suite, so changing the path, delimiter or data representation uses a different file.
+     *
+     * @param key the key of the test suite
+     * @return the cache file
+     */
+    private File cacheFile(Key key) {
+        MessageDigest digest = newDigest();
+        digest.update((key.path + '\0' + key.delimiter + '\0' + key.format).getBytes(StandardCharsets.UTF_8));
+        StringBuilder name = new StringBuilder();
+        for (byte b : digest.digest())
+            name.append(String.format("%02x", b));
+        return new File(directory, name + ".suite");
+    }
+
+    /**
+     * calculates the content hash of a file
+     *
+     * @param file the file to hash
+     * @return the SHA-256 hash of the file
+     * @throws IOException when the file cannot be read
+     */
+    private static byte[] hash(File file) throws IOException {
+        MessageDigest digest = newDigest();
+        byte[] buffer = new byte[BUFFER_SIZE];
+        try (InputStream in = new FileInputStream(file)) {
+            for (int read = in.read(buffer); read != -1; read = in.read(buffer))
+                digest.update(buffer, 0, read);
+        }
+        return digest.digest();
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {//every Java platform is required to support SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void writeKey(DataOutputStream out, Key key) throws IOException {
+        writeString(out, key.path);
+        writeString(out, key.delimiter);
+        writeString(out, key.format);
+        out.writeInt(key.files.size());
+        for (int i = 0; i < key.files.size(); i++) {
+            writeString(out, key.files.get(i));
+            out.writeLong(key.sizes[i]);
+            out.writeLong(key.modified[i]);
+            out.writeInt(key.hashes[i].length);
+            out.write(key.hashes[i]);
+        }
+    }
+
+    private static Key readKey(DataInputStream in, long limit) throws IOException {
+        Key key = new Key();
+        key.path = readString(in, limit);
+        key.delimiter = readString(in, limit);
+        key.format = readString(in, limit);
+        int files = readLength(in, limit);
+        key.files = new ArrayList<>(files);
+        key.sizes = new long[files];
+        key.modified = new long[files];
+        key.hashes = new byte[files][];
+        for (int i = 0; i < files; i++) {
+            key.files.add(readString(in, limit));
+            key.sizes[i] = in.readLong();
+            key.modified[i] = in.readLong();
+            key.hashes[i] = new byte[readLength(in, limit)];
+            in.readFully(key.hashes[i]);
+        }
+        return key;
+    }
+
+    /**
+     * writes a string of any length, as DataOutputStream.writeUTF() is limited to 64KB
+     */
+    private static void writeString(DataOutputStream out, String s) throws IOException {
+        byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in, long limit) throws IOException {
+        byte[] bytes = new byte[readLength(in, limit)];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * reads a count or length, checking it is possible so that a damaged file cannot cause a huge allocation
+     */
+    private static int readLength(DataInputStream in, long limit) throws IOException {
+        int length = in.readInt();
+        if (length < 0 || length > limit)
+            throw new IOException("cache file is damaged");
+        return length;
+    }
+}
@@ -0,0 +1,179 @@
+package core;
+
+import data_representation.DataRepresentation;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * A compact binary encoding of parsed test cases, used to store them on disk or send them to another process
+ * without parsing their text again. Test cases are encoded as the tokens they are restored from:
+ *
+ * - a dictionary of the distinct tokens in the test cases, most frequent first, each as its length and UTF-8 bytes
+ * - the number of test cases
+ * - for each test case, its number of tokens and the index of each token in the dictionary
+ *
+ * Every count, length and index is written as a varint: seven bits to a byte, with the high bit set on every
+ * byte but the last. The most frequent tokens have the smallest indices, so they take a single byte each.
+ */
+public class SuiteCodec {
+    /**
+     * encodes a list of parsed test cases
+     *
+     * @param out the output to write to
+     * @param testCases the parsed test cases
+     * @return true if the test cases were written, or false if one cannot be restored from tokens, in which
+     * case nothing is written
+     * @throws IOException when the output cannot be written
+     */
+    public static boolean write(DataOutput out, List<? extends DataRepresentation> testCases) throws IOException {
+        List<String[]> tokenized = new ArrayList<>(testCases.size());
+        Map<String, int[]> frequencies = new HashMap<>();
+        for (DataRepresentation testCase : testCases) {
+            String[] tokens = testCase.toTokens();
+            if (tokens == null)
+                return false;
+            tokenized.add(tokens);
+            for (String token : tokens)
+                frequencies.computeIfAbsent(token, t -> new int[1])[0]++;
+        }
+
+        List<String> entries = new ArrayList<>(frequencies.keySet());
+        entries.sort((a, b) -> Integer.compare(frequencies.get(b)[0], frequencies.get(a)[0]));
+        Map<String, Integer> dictionary = new HashMap<>(entries.size() * 2);
+        writeVarint(out, entries.size());
+        for (String entry : entries) {
+            dictionary.put(entry, dictionary.size());
+            writeString(out, entry);
+        }
+
+        writeVarint(out, tokenized.size());
+        for (String[] tokens : tokenized) {
+            writeVarint(out, tokens.length);
+            for (String token : tokens)
+                writeVarint(out, dictionary.get(token));
+        }
+        return true;
+    }
+
+    /**
+     * decodes a list of parsed test cases written by write()
+     *
+     * @param in the input to read from
+     * @param factory creates the data representation each test case is restored into
+     * @param limit the most bytes that can be left in the input, so a damaged input cannot cause a huge allocation
+     * @return the parsed test cases
+     * @throws IOException when the input cannot be read or is damaged
+     * @throws InvalidFormatException when the tokens do not describe test cases in the data representation
+     */
+    public static List<DataRepresentation> read(DataInput in, Supplier<? extends DataRepresentation> factory, long limit)
+            throws IOException, InvalidFormatException {
+        String[] dictionary = new String[readLength(in, limit)];
+        for (int i = 0; i < dictionary.length; i++)
+            dictionary[i] = readString(in, limit);
+
+        int count = readLength(in, limit);
+        List<DataRepresentation> testCases = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String[] tokens = new String[readLength(in, limit)];
+            for (int j = 0; j < tokens.length; j++) {
+                int index = readVarint(in);
+                if (index < 0 || index >= dictionary.length)
+                    throw new IOException("token is not in the dictionary");
+                tokens[j] = dictionary[index];
+            }
+            DataRepresentation testCase = factory.get();
+            testCase.fromTokens(tokens);
+            testCases.add(testCase);
+        }
+        return testCases;
+    }
+
+    /**
+     * encodes the tokens of a single test case, without a dictionary
+     *
+     * @param out the output to write to
+     * @param tokens the tokens of the test case
+     * @throws IOException when the output cannot be written
+     */
+    public static void writeTokens(DataOutput out, String[] tokens) throws IOException {
+        writeVarint(out, tokens.length);
+        for (String token : tokens)
+            writeString(out, token);
+    }
+
+    /**
+     * decodes the tokens of a single test case written by writeTokens()
+     *
+     * @param in the input to read from
+     * @param limit the most bytes that can be left in the input
+     * @return the tokens of the test case
+     * @throws IOException when the input cannot be read or is damaged
+     */
+    public static String[] readTokens(DataInput in, long limit) throws IOException {
+        String[] tokens = new String[readLength(in, limit)];
+        for (int i = 0; i < tokens.length; i++)
+            tokens[i] = readString(in, limit);
+        return tokens;
+    }
+
+    /**
+     * writes a non-negative int in as few bytes as it needs
+     */
+    public static void writeVarint(DataOutput out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    /**
+     * reads an int written by writeVarint()
+     */
+    public static int readVarint(DataInput in) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            byte b = in.readByte();
+            value |= (b & 0x7F) << shift;
+            if (b >= 0)
+                return value;
+        }
+        throw new IOException("varint is too long");
+    }
+
+    /**
+     * writes a string of any length, as DataOutput.writeUTF() is limited to 64KB
+     */
+    public static void writeString(DataOutput out, String s) throws IOException {
+        byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        writeVarint(out, bytes.length);
+        out.write(bytes);
+    }
+
+    /**
+     * reads a string written by writeString()
+     */
+    public static String readString(DataInput in, long limit) throws IOException {
+        byte[] bytes = new byte[readLength(in, limit)];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * reads a count or length, checking it is possible so that a damaged input cannot cause a huge allocation
+     */
+    private static int readLength(DataInput in, long limit) throws IOException {
+        int length = readVarint(in);
+        if (length < 0 || length > limit)
+            throw new IOException("encoded test cases are damaged");
+        return length;
+    }
+}
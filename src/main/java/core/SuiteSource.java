@@ -0,0 +1,141 @@
+package core;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * A single unit of a test suite that test cases are read from: a plain file, a gzip compressed file, or one
+ * entry of a zip or jar archive. Compressed sources are decompressed as they are read, so they never need to
+ * be extracted to disk. Sources are recognized by their file extension.
+ */
+public abstract class SuiteSource {
+    //the size of the buffer used when decompressing
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private String name;
+
+    /**
+     * Constructor
+     *
+     * @param name the name of the source, used to report errors
+     */
+    protected SuiteSource(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * opens the contents of the source for reading, decompressing them if needed
+     *
+     * @return a channel over the contents of the source, which must be closed after use
+     * @throws IOException when the source cannot be opened
+     */
+    public abstract ReadableByteChannel open() throws IOException;
+
+    /**
+     * @param file a test suite file
+     * @return true if the file is a zip or jar archive of test suite files
+     */
+    public static boolean isArchive(File file) {
+        String name = file.getName().toLowerCase(Locale.ROOT);
+        return name.endsWith(".zip") || name.endsWith(".jar");
+    }
+
+    /**
+     * @param file a test suite file
+     * @return true if the contents of the file must be decompressed before test cases can be read from it
+     */
+    public static boolean isCompressed(File file) {
+        return isArchive(file) || isGzip(file.getName());
+    }
+
+    /**
+     * @param name the name of a file or archive entry
+     * @return true if the file is gzip compressed
+     */
+    private static boolean isGzip(String name) {
+        return name.toLowerCase(Locale.ROOT).endsWith(".gz");
+    }
+
+    /**
+     * creates the source for a test suite file that is not an archive
+     *
+     * @param file the test suite file, which may be gzip compressed
+     * @return the source
+     */
+    public static SuiteSource forFile(File file) {
+        if (isGzip(file.getName())) {
+            return new SuiteSource(file.getPath()) {
+                @Override
+                public ReadableByteChannel open() throws IOException {
+                    return Channels.newChannel(decompress(new FileInputStream(file)));
+                }
+            };
+        }
+        return new SuiteSource(file.getPath()) {
+            @Override
+            public ReadableByteChannel open() throws IOException {
+                return new FileInputStream(file).getChannel();
+            }
+        };
+    }
+
+    /**
+     * creates a source for each file in an archive. The entries are sorted by name, so the order does not depend
+     * on how the archive was created. Entries of an archive can be read by several threads at the same time.
+     *
+     * @param archive the open archive, which must stay open until every source has been read
+     * @return the sources, in order
+     */
+    public static List<SuiteSource> forArchive(ZipFile archive) {
+        List<ZipEntry> entries = new ArrayList<>();
+        for (ZipEntry entry : Collections.list(archive.entries())) {
+            if (!entry.isDirectory())
+                entries.add(entry);
+        }
+        entries.sort(Comparator.comparing(ZipEntry::getName));
+
+        List<SuiteSource> sources = new ArrayList<>(entries.size());
+        for (ZipEntry entry : entries) {
+            sources.add(new SuiteSource(archive.getName() + "!/" + entry.getName()) {
+                @Override
+                public ReadableByteChannel open() throws IOException {
+                    InputStream in = archive.getInputStream(entry);
+                    return Channels.newChannel(isGzip(entry.getName()) ? decompress(in) : in);
+                }
+            });
+        }
+        return sources;
+    }
+
+    /**
+     * wraps a stream of gzip compressed data, closing the stream if it is not valid gzip data
+     *
+     * @param in the compressed stream
+     * @return the decompressed stream
+     * @throws IOException when the stream is not gzip compressed
+     */
+    private static InputStream decompress(InputStream in) throws IOException {
+        try {
+            return new GZIPInputStream(in, BUFFER_SIZE);
+        } catch (IOException e) {
+            in.close();
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,237 @@
+package core;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.CharBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CodingErrorAction;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.regex.Matcher;
+
+/**
+ * Reads the test cases of a single test suite file one at a time. The file is decoded in fixed size
+ * chunks and scanned for the delimiter as it arrives, so only the test case currently being read
+ * (plus one chunk) is ever held in memory, no matter how large the file is.
+ *
+ * The test cases produced are the same as reading the whole file with a Scanner, joining the lines
+ * with the system line separator, and splitting the result on the delimiter with String.split():
+ * line terminators are normalized, the final line terminator of the file is dropped, and trailing
+ * empty test cases are discarded. A literal delimiter is searched for directly, without the regex engine.
+ */
+public class TestCaseReader implements Iterator<String>, Closeable {
+    //the number of characters decoded from the file at a time
+    private static final int CHUNK_SIZE = 8192;
+    private static final String LINE_SEPARATOR = System.lineSeparator();
+    //every character that ends a line, as a Scanner reading lines decides
+    static final String LINE_TERMINATORS = "\r\n\u2028\u2029\u0085";
+
+    private Reader reader;
+    //the delimiter between test cases, null if the whole file is a single test case
+    private Delimiter delimiter;
+    private CharBuffer chunk;
+    //normalized file contents that have been read but not yet returned as a test case
+    private StringBuilder buffer;
+    //the position in the buffer to begin the next search for the delimiter
+    private int searchFrom;
+    //true when the last character read was a '\r', which may be the start of a "\r\n" line terminator
+    private boolean carriageReturnPending;
+    //true when a line terminator has been read, but not yet added to the buffer
+    private boolean lineBreakPending;
+    //the number of empty test cases found that should only be returned if a non-empty test case follows them
+    private int emptyTestCasesPending;
+    //a non-empty test case that is returned once the empty test cases preceding it have been returned
+    private String heldTestCase;
+    //true once a delimiter has been removed from the buffer, so the buffer no longer begins at the start of the file
+    private boolean delimiterFound;
+    private boolean endOfInput;
+    //the next test case to return, or null if it has not been found yet
+    private String next;
+
+    /**
+     * Constructor
+     *
+     * @param channel the source of the test suite file contents
+     * @param delimiter the character(s)/pattern that separates each test case, or null if there is only one test case
+     */
+    public TestCaseReader(ReadableByteChannel channel, String delimiter) {
+        this(channel, Delimiter.of(delimiter));
+    }
+
+    /**
+     * Constructor
+     *
+     * @param channel the source of the test suite file contents
+     * @param delimiter the classified delimiter that separates each test case, or null if there is only one test case
+     */
+    public TestCaseReader(ReadableByteChannel channel, Delimiter delimiter) {
+        this.reader = Channels.newReader(channel, Charset.defaultCharset().newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE), -1);
+        this.delimiter = delimiter;
+        this.chunk = CharBuffer.allocate(CHUNK_SIZE);
+        this.buffer = new StringBuilder();
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next == null) {
+            try {
+                next = findNextTestCase();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return next != null;
+    }
+
+    @Override
+    public String next() {
+        if (!hasNext())
+            throw new NoSuchElementException();
+        String testCase = next;
+        next = null;
+        return testCase;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    /**
+     * scans the file for the next test case, reading more of the file as needed
+     *
+     * @return the next test case in the file, or null if there are no more test cases
+     * @throws IOException when the file cannot be read
+     */
+    private String findNextTestCase() throws IOException {
+        if (heldTestCase != null)
+            return releaseHeldTestCase();
+        while (true) {
+            if (delimiter != null && delimiter.isLiteral()) {
+                int start = delimiter.indexIn(buffer, searchFrom);
+                if (start >= 0) {
+                    String testCase = buffer.substring(0, start);
+                    buffer.delete(0, start + delimiter.length());
+                    searchFrom = 0;
+                    if (testCase.isEmpty()) {
+                        emptyTestCasesPending++;
+                        continue;
+                    }
+                    return holdBehindEmptyTestCases(testCase);
+                }
+                //a match can only begin in the last few characters read, where the rest of it is yet to be read
+                searchFrom = Math.max(0, buffer.length() - delimiter.length() + 1);
+            } else if (delimiter != null) {
+                Matcher m = delimiter.getPattern().matcher(buffer);
+                boolean found = searchFrom <= buffer.length() && m.find(searchFrom);
+                if (found && (endOfInput || !m.hitEnd())) {
+                    String testCase = buffer.substring(0, m.start());
+                    int end = m.end();
+                    buffer.delete(0, end);
+                    //an empty match must move the search forward, otherwise it is found again
+                    searchFrom = (m.start() == end) ? 1 : 0;
+                    //like String.split, a zero-width match at the beginning of the input does not split it
+                    if (end == 0 && !delimiterFound)
+                        continue;
+                    delimiterFound = true;
+                    if (testCase.isEmpty()) {
+                        emptyTestCasesPending++;
+                        continue;
+                    }
+                    return holdBehindEmptyTestCases(testCase);
+                }
+                if (!found && !m.hitEnd())//no match can begin in what has been read so far
+                    searchFrom = buffer.length();
+            }
+            if (endOfInput) {
+                if (buffer.length() == 0)
+                    return null;
+                String testCase = buffer.toString();
+                buffer.setLength(0);
+                return holdBehindEmptyTestCases(testCase);
+            }
+            readChunk();
+        }
+    }
+
+    /**
+     * empty test cases are only kept when a non-empty test case follows them, so once one is found
+     * the empty test cases before it are returned first
+     *
+     * @param testCase a non-empty test case
+     * @return the next test case to return
+     */
+    private String holdBehindEmptyTestCases(String testCase) {
+        heldTestCase = testCase;
+        return releaseHeldTestCase();
+    }
+
+    /**
+     * returns the next of the empty test cases preceding the held test case, or the held test case itself
+     *
+     * @return the next test case to return
+     */
+    private String releaseHeldTestCase() {
+        if (emptyTestCasesPending > 0) {
+            emptyTestCasesPending--;
+            return "";
+        }
+        String testCase = heldTestCase;
+        heldTestCase = null;
+        return testCase;
+    }
+
+    /**
+     * reads the next chunk of the file into the buffer, converting each line terminator to the system line separator
+     *
+     * @throws IOException when the file cannot be read
+     */
+    private void readChunk() throws IOException {
+        chunk.clear();
+        int read = reader.read(chunk);
+        if (read == -1) {
+            //the final line terminator of the file is never part of a test case
+            endOfInput = true;
+            return;
+        }
+        chunk.flip();
+        while (chunk.hasRemaining()) {
+            char c = chunk.get();
+            if (carriageReturnPending) {
+                carriageReturnPending = false;
+                if (c == '\n')//the second half of a "\r\n" line terminator
+                    continue;
+            }
+            if (isLineTerminator(c)) {
+                //a '\r' is a line terminator on its own, unless it is followed by a '\n'
+                carriageReturnPending = c == '\r';
+                if (lineBreakPending)
+                    buffer.append(LINE_SEPARATOR);
+                lineBreakPending = true;
+            } else {
+                if (lineBreakPending) {
+                    buffer.append(LINE_SEPARATOR);
+                    lineBreakPending = false;
+                }
+                buffer.append(c);
+            }
+        }
+    }
+
+    /**
+     * determines whether a character ends a line, as a Scanner reading lines decides. "\r\n" is a single line
+     * terminator, which is made of the two characters that are each line terminators on their own.
+     *
+     * @param c the character
+     * @return true if the character is, or begins, a line terminator
+     */
+    static boolean isLineTerminator(char c) {
+        return LINE_TERMINATORS.indexOf(c) >= 0;
+    }
+}
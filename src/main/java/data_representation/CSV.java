@@ -1,6 +1,14 @@
 package data_representation;
 
 import core.InvalidFormatException;
+import core.SuiteCodec;
+
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.util.Arrays;
+import java.util.function.Supplier;
 
 /**
  * an implementation of a DataRepresentation for comma separated values
@@ -8,11 +16,15 @@ import core.InvalidFormatException;
  * @author luke
  *
  */
-public class CSV implements DataRepresentation {
+public class CSV implements TokenSequence, Externalizable {
+	private static final long serialVersionUID = 5387848315188674682L;
 	//the test case read from a file to use in comparison
 	private String testcase;
-	//the end position of the most recently used element in the test case
-	private int nextPosition;
+	//the number of elements used so far
+	private int nextElement;
+	//the table the elements are given ids in when parsed, and the id of each element
+	private transient SymbolTable symbols;
+	private transient int[] ids;
 
 	/**Constructor
 	 * 
@@ -21,38 +33,247 @@ public class CSV implements DataRepresentation {
 	 */
 	public CSV(String s) throws InvalidFormatException {
 		this.parse(s);
-		this.nextPosition = 0;
+		this.nextElement = 0;
 	}
 	
 	/**Constructor*/
 	public CSV() {
 		this.testcase = null;
-		this.nextPosition = 0;
+		this.nextElement = 0;
 	}
 
 	@Override
 	public boolean hasNext() {
-		return this.testcase.length() > this.nextPosition;
+		return this.ids.length > this.nextElement;
 	}
 
 	@Override
 	public String next() {
-		StringBuilder s = new StringBuilder();
-		while(this.hasNext() && this.testcase.charAt(this.nextPosition) != ',') {
-			s.append(this.testcase.charAt(this.nextPosition));
-			this.nextPosition++;
-		}
-		this.nextPosition++;
-		return s.toString();
+		//like reading past the final comma, reading past the last element gives empty text
+		return this.hasNext() ? this.symbols.symbolOf(this.ids[this.nextElement++]) : "";
+	}
+
+	@Override
+	public int nextId(SymbolTable symbols) {
+		if (symbols != this.symbols)
+			return TokenSequence.super.nextId(symbols);
+		return this.ids[this.nextElement++];
+	}
+
+	@Override
+	public SymbolTable getSymbolTable() {
+		return (this.symbols == null) ? new SymbolTable() : this.symbols;
+	}
+
+	/**
+	 * the test cases made by the factory give their elements ids in the table, rather than each in a new table
+	 */
+	@Override
+	public Supplier<? extends DataRepresentation> factory(SymbolTable symbols) throws NoSuchMethodException, InstantiationException {
+		Supplier<? extends DataRepresentation> factory = factory();
+		return () -> {
+			CSV testCase = (CSV) factory.get();
+			testCase.symbols = symbols;
+			return testCase;
+		};
+	}
+
+	/**
+	 * a cursor shares the text and ids of this test case, which are not changed once parsed
+	 */
+	@Override
+	public DataRepresentation cursor() {
+		CSV cursor = new CSV();
+		cursor.testcase = this.testcase;
+		cursor.symbols = this.symbols;
+		cursor.ids = this.ids;
+		return cursor;
+	}
+
+	@Override
+	public int length() {
+		return this.ids.length;
+	}
+
+	@Override
+	public int tokenAt(int index) {
+		return this.ids[index];
 	}
 
+	@Override
+	public int[] copyTo(int[] destination) {
+		int[] result = (destination.length < this.ids.length) ? new int[this.ids.length] : destination;
+		System.arraycopy(this.ids, 0, result, 0, this.ids.length);
+		return result;
+	}
+
+	/**
+	 * a test case is one or more characters on a single line, which may end with a comma followed by whitespace,
+	 * including line breaks. The test case is checked and split into elements in a single pass over its text.
+	 */
 	@Override
 	public void parse(String s) throws InvalidFormatException {
-		//this regex checks that a string is one or more groups of non-newline characters, separated by commas
-		if(s.matches("(.+?)(?:,\\s*|$)")) {
-			this.testcase = s;
-		}else
+		if (!isValid(s))
 			throw new InvalidFormatException();
+		this.testcase = s;
+		internElements();
+	}
+
+	/**
+	 * determines if a string is a CSV test case: one or more characters that are not line breaks, optionally
+	 * followed by a comma and any whitespace, which may include line breaks
+	 *
+	 * @param s the string to check
+	 * @return true if the string is a CSV test case
+	 */
+	static boolean isValid(String s) {
+		int end = s.length();
+		boolean lineBreakAtEnd = false;
+		while (end > 0 && isWhitespace(s.charAt(end - 1))) {
+			end--;
+			lineBreakAtEnd |= isLineBreak(s.charAt(end));
+		}
+		for (int i = 0; i < end; i++) {
+			if (isLineBreak(s.charAt(i)))
+				return false;
+		}
+		if (lineBreakAtEnd)//the line breaks must follow a comma, which must follow the rest of the test case
+			return end >= 2 && s.charAt(end - 1) == ',';
+		return !s.isEmpty();
+	}
+
+	/** the whitespace characters of a regular expression: [ \t\n\x0B\f\r] */
+	private static boolean isWhitespace(char c) {
+		return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+	}
+
+	/** the characters that end a line, which no element can contain */
+	private static boolean isLineBreak(char c) {
+		return c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029';
+	}
+
+	/**
+	 * the tokens of a CSV test case are the text between each comma, including any empty text after a final comma
+	 */
+	@Override
+	public String[] toTokens() {
+		return this.testcase.split(",", -1);
+	}
+
+	@Override
+	public void fromTokens(String[] tokens) throws InvalidFormatException {
+		if (tokens.length == 0)
+			throw new InvalidFormatException("no values in the test case");
+		this.testcase = String.join(",", tokens);
+		this.nextElement = 0;
+		internElements();
+	}
+
+	/**
+	 * gives each element of the test case an id in its symbol table, which is a new table unless the test case was
+	 * made by factory(SymbolTable). The elements are the text between
+	 * each comma, except for any empty text after a final comma. An element that starts and ends with a double
+	 * quote is quoted: its commas do not separate elements, a pair of double quotes inside it is a single double
+	 * quote, and the quotes around it are not part of the element. A double quote anywhere else is just text.
+	 */
+	private void internElements() {
+		int[] offsets = fieldOffsets(this.testcase);
+		int fields = elementCount(offsets);
+		if (this.symbols == null)
+			this.symbols = new SymbolTable();
+		this.ids = new int[fields];
+		for (int i = 0; i < fields; i++)
+			this.ids[i] = this.symbols.idOf(field(this.testcase, offsets[2 * i], offsets[2 * i + 1]));
+	}
+
+	/**
+	 * finds where each field of a line starts and ends, without copying any of its text
+	 *
+	 * @param s the text of a test case
+	 * @return the start and end offset of each field, in order, with quoted fields including their quotes
+	 */
+	static int[] fieldOffsets(String s) {
+		int[] offsets = new int[16];
+		int count = 0;
+		int length = s.length();
+		int start = 0;
+		while (true) {
+			int end = (start < length && s.charAt(start) == '"') ? quotedFieldEnd(s, start) : -1;
+			if (end < 0) {
+				end = s.indexOf(',', start);
+				if (end < 0)
+					end = length;
+			}
+			if (count == offsets.length)
+				offsets = Arrays.copyOf(offsets, count * 2);
+			offsets[count++] = start;
+			offsets[count++] = end;
+			if (end == length)
+				return Arrays.copyOf(offsets, count);
+			start = end + 1;
+		}
+	}
+
+	/**
+	 * @param offsets the offsets of the fields of a test case
+	 * @return the number of elements in the test case, which is every field except an empty final field
+	 */
+	static int elementCount(int[] offsets) {
+		int fields = offsets.length / 2;
+		return (fields > 1 && offsets[offsets.length - 1] == offsets[offsets.length - 2]) ? fields - 1 : fields;
+	}
+
+	/**
+	 * finds the end of a quoted field: the double quote that is not part of a pair, followed by a comma or the end
+	 * of the line
+	 *
+	 * @param s the text of a test case
+	 * @param start the offset of the opening double quote
+	 * @return the offset just past the closing double quote, or -1 if the field is not a well formed quoted field
+	 */
+	private static int quotedFieldEnd(String s, int start) {
+		int length = s.length();
+		int i = start + 1;
+		while (i < length) {
+			if (s.charAt(i) != '"') {
+				i++;
+			} else if (i + 1 < length && s.charAt(i + 1) == '"') {
+				i += 2;
+			} else {
+				return (i + 1 == length || s.charAt(i + 1) == ',') ? i + 1 : -1;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * @return the element with the text of a field, without the quotes around a quoted field
+	 */
+	static String field(String s, int start, int end) {
+		if (end - start < 2 || s.charAt(start) != '"' || quotedFieldEnd(s, start) != end)
+			return s.substring(start, end);
+		String content = s.substring(start + 1, end - 1);
+		return (content.indexOf('"') < 0) ? content : content.replace("\"\"", "\"");
+	}
+
+	/**
+	 * a serialized test case holds its text and position, and its elements are given ids again when it is read back
+	 */
+	@Override
+	public void writeExternal(ObjectOutput out) throws IOException {
+		out.writeBoolean(this.testcase != null);
+		if (this.testcase != null)
+			SuiteCodec.writeString(out, this.testcase);
+		SuiteCodec.writeVarint(out, this.nextElement);
+	}
+
+	@Override
+	public void readExternal(ObjectInput in) throws IOException {
+		if (in.readBoolean()) {
+			this.testcase = SuiteCodec.readString(in, Integer.MAX_VALUE);
+			internElements();
+		}
+		this.nextElement = SuiteCodec.readVarint(in);
 	}
 
 	@Override
@@ -2,9 +2,11 @@ package data_representation;
 
 import java.io.Serializable;
 import java.util.Iterator;
+import java.util.function.Supplier;
 
 import core.HelpTarget;
 import core.InvalidFormatException;
+import model.Config;
 
 /**
  * The interface for different test case formats to follow. This interface provides a means for a test case format
@@ -33,6 +35,131 @@ public interface DataRepresentation extends Iterator<Object>, HelpTarget, Serial
 	 */
 	void parse(String s) throws InvalidFormatException;
 
+	/**
+	 * obtains the next element in the test case being iterated over as an id in a symbol table, so it can be
+	 * compared to the elements of another test case without comparing Strings. The element is given an id
+	 * from its text, the same way metrics compare elements by their text.
+	 *
+	 * @param symbols the table to find the id in
+	 * @return the id of the next element of the test case being iterated over
+	 */
+	default int nextId(SymbolTable symbols) {
+		return symbols.idOf(next().toString());
+	}
+
+	/**
+	 * obtains the table the elements of this test case were given ids in when it was parsed. Comparing two test
+	 * cases with the ids of the same table only needs to look up elements that were not given an id at parse time.
+	 * A test case that does not give its elements ids when parsed has no table of its own, and is given a new one.
+	 *
+	 * @return the symbol table of this test case
+	 */
+	default SymbolTable getSymbolTable() {
+		return new SymbolTable();
+	}
+
+	/**
+	 * obtains a new iterator over the elements of this parsed test case, starting at the first element. Cursors
+	 * share the parsed test case rather than copying it, and iterating over one does not move any other, so a
+	 * test case parsed once can be compared with many others, from many threads at once.
+	 *
+	 * @return an independent iterator over the test case, or null if this test case can only be iterated over once
+	 */
+	default DataRepresentation cursor() {
+		return null;
+	}
+
+	/**
+	 * obtains a factory of new, empty test cases read the same way as this one, which the test cases of a suite read
+	 * into this data representation are each parsed into. Any settings of this test case are passed on to them.
+	 *
+	 * @return a factory of test cases in this format
+	 * @throws NoSuchMethodException when the class does not have a public no-args constructor
+	 * @throws InstantiationException when the class is abstract
+	 */
+	default Supplier<? extends DataRepresentation> factory() throws NoSuchMethodException, InstantiationException {
+		return Factories.of(getClass());
+	}
+
+	/**
+	 * obtains a factory of new, empty test cases read the same way as this one, which give their elements ids in
+	 * a symbol table when they are parsed. Every test case of a suite is parsed with the same table, so that their
+	 * ids can be compared with each other. A data representation that does not give its elements ids at parse
+	 * time ignores the table.
+	 *
+	 * @param symbols the table the elements of the test cases are given ids in
+	 * @return a factory of test cases in this format
+	 * @throws NoSuchMethodException when the class does not have a public no-args constructor
+	 * @throws InstantiationException when the class is abstract
+	 */
+	default Supplier<? extends DataRepresentation> factory(SymbolTable symbols) throws NoSuchMethodException, InstantiationException {
+		return factory();
+	}
+
+	/**
+	 * obtains a data representation read with the settings of a configuration, which test suites are read into in
+	 * place of this one
+	 *
+	 * @param config the configuration of the comparison
+	 * @return a data representation with the configured settings, or this one if it has no settings
+	 */
+	default DataRepresentation configure(Config config) {
+		return this;
+	}
+
+	/**
+	 * obtains a key for the way test cases are read into this data representation: its class and any settings of
+	 * it. Test cases read with the same key from the same text are parsed the same way.
+	 *
+	 * @return the key of the format
+	 */
+	default String formatKey() {
+		return getClass().getName();
+	}
+
+	/**
+	 * obtains the distinct elements of this parsed test case as 64-bit hashes, for data representations that
+	 * already keep their elements as a set, so metrics that compare sets do not need to build one
+	 *
+	 * @return the distinct hashes in increasing order, which must not be changed, or null if the test case does not
+	 * keep a set of its elements
+	 */
+	default long[] distinctElements() {
+		return null;
+	}
+
+	/**
+	 * obtains the tokens that a parsed test case is made of, so that it can be stored without its text and later
+	 * restored with fromTokens() rather than being parsed again
+	 *
+	 * @return the tokens of the parsed test case, or null if this DataRepresentation cannot be restored from tokens
+	 */
+	default String[] toTokens() {
+		return null;
+	}
+
+	/**
+	 * restores a parsed test case from the tokens previously obtained with toTokens()
+	 *
+	 * @param tokens the tokens of a parsed test case
+	 * @throws InvalidFormatException thrown when the tokens do not describe a test case in this format
+	 */
+	default void fromTokens(String[] tokens) throws InvalidFormatException {
+		throw new InvalidFormatException(getClass().getName() + " cannot be restored from tokens");
+	}
+
+	/**
+	 * obtains a key for the content of this parsed test case that metrics read, such as its elements, leaving out
+	 * anything that no metric reads, such as an identifier. Two test cases of the same data representation with
+	 * equal keys are compared the same way by every metric, so only one of them needs to be compared.
+	 *
+	 * @return a key with equals() and hashCode() over the content of the test case, or null if the content is not
+	 * known, in which case the test case is never treated as a duplicate of another
+	 */
+	default Object contentKey() {
+		return null;
+	}
+
 	/**
 	 * returns the test case being iterated over
 	 * 
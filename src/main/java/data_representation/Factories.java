@@ -0,0 +1,76 @@
+package data_representation;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Modifier;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * The factories that create new instances of classes with their public no-args constructor, such as the empty
+ * test cases of a data representation that each test case of a suite is parsed into. A factory is generated the
+ * first time it is needed for a class and reused afterwards, so creating an instance costs the same as calling
+ * the constructor directly.
+ */
+public final class Factories {
+    private static final ConcurrentHashMap<Class<?>, Supplier<?>> FACTORIES = new ConcurrentHashMap<>();
+
+    private Factories() {
+    }
+
+    /**
+     * obtains the factory of a class
+     *
+     * @param type the class to create instances of
+     * @return a factory for the class
+     * @throws NoSuchMethodException when the class does not have a public no-args constructor
+     * @throws InstantiationException when the class is abstract
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> Supplier<T> of(Class<T> type) throws NoSuchMethodException, InstantiationException {
+        Supplier<?> factory = FACTORIES.get(type);
+        if (factory == null) {
+            factory = create(type);
+            Supplier<?> existing = FACTORIES.putIfAbsent(type, factory);
+            if (existing != null)
+                factory = existing;
+        }
+        return (Supplier<T>) factory;
+    }
+
+    /**
+     * generates a factory for a class
+     *
+     * @param type the class to create instances of
+     * @return a factory calling the public no-args constructor of the class
+     * @throws NoSuchMethodException when the class does not have a public no-args constructor
+     * @throws InstantiationException when the class is abstract
+     */
+    private static <T> Supplier<T> create(Class<T> type) throws NoSuchMethodException, InstantiationException {
+        if (Modifier.isAbstract(type.getModifiers()))
+            throw new InstantiationException(type.getName() + " is abstract and cannot be instantiated");
+        Constructor<T> constructor = type.getConstructor();
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            MethodHandle handle = lookup.unreflectConstructor(constructor);
+            CallSite site = LambdaMetafactory.metafactory(lookup, "get", MethodType.methodType(Supplier.class),
+                    MethodType.methodType(Object.class), handle, MethodType.methodType(type));
+            @SuppressWarnings("unchecked")
+            Supplier<T> factory = (Supplier<T>) site.getTarget().invoke();
+            return factory;
+        } catch (Throwable e) {
+            //a class the factory cannot be generated for, such as one the lookup cannot see, is created reflectively
+            return () -> {
+                try {
+                    return constructor.newInstance();
+                } catch (ReflectiveOperationException ex) {
+                    throw new IllegalStateException(ex);
+                }
+            };
+        }
+    }
+}
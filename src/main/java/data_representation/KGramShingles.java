@@ -0,0 +1,323 @@
+package data_representation;
+
+import core.InvalidFormatException;
+import core.SuiteCodec;
+import model.Config;
+
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.nio.LongBuffer;
+import java.util.Arrays;
+import java.util.function.Supplier;
+
+/**
+ * A data representation that reads a test case as its k-grams, or shingles: every run of k consecutive elements.
+ * A test case in the trace format is read as its events and states, and any other test case is read as comma
+ * separated values. A test case with fewer than k elements has one shingle of all of its elements.
+ *
+ * Each shingle is a 64-bit hash of its elements, found with a rolling hash over the sequence, so the shingles of a
+ * test case are found in a single pass however large k is. The elements are hashed from their text, so the same
+ * shingle has the same hash in every test case. The distinct hashes are sorted when the test case is parsed, so
+ * set metrics can compare two test cases by merging them rather than building sets for every pair.
+ *
+ * Each test case has its own k, which is kept when it is stored or serialized, and every test case parsed from
+ * the factory of a test case has the same k, so a test suite is always read with the k it was asked for.
+ *
+ * Iterating over a test case gives the hash of each shingle, as a Long, in the order they appear.
+ */
+public class KGramShingles implements DataRepresentation, Externalizable {
+    private static final long serialVersionUID = -2705598476275585951L;
+
+    public static final int DEFAULT_SIZE = 3;
+    //the base of the rolling hash, which is odd so that multiplying by it loses no bits
+    private static final long BASE = 0x9E3779B97F4A7C15L;
+
+    //the number of elements in each shingle
+    private int size;
+    //the test case read from a file to use in comparison
+    private String testcase;
+    private int nextShingle;
+    //the hash of each shingle in order, and the distinct hashes in increasing order
+    private transient long[] shingles;
+    private transient long[] distinct;
+
+    /**Constructor*/
+    public KGramShingles() {
+        this(DEFAULT_SIZE);
+    }
+
+    /**Constructor
+     *
+     * @param k the number of elements in a shingle, at least 1
+     */
+    public KGramShingles(int k) {
+        if (k < 1)
+            throw new IllegalArgumentException("a shingle must have at least one element");
+        this.size = k;
+        this.testcase = null;
+        this.nextShingle = 0;
+    }
+
+    /**Constructor
+     *
+     * @param s the test case string to iterate over
+     * @throws InvalidFormatException thrown when the supplied string does not match the specified format
+     */
+    public KGramShingles(String s) throws InvalidFormatException {
+        this(s, DEFAULT_SIZE);
+    }
+
+    /**Constructor
+     *
+     * @param s the test case string to iterate over
+     * @param k the number of elements in a shingle, at least 1
+     * @throws InvalidFormatException thrown when the supplied string does not match the specified format
+     */
+    public KGramShingles(String s, int k) throws InvalidFormatException {
+        this(k);
+        this.parse(s);
+    }
+
+    /**
+     * @return the number of elements in each shingle of this test case
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * test cases read from this one have the same number of elements in each shingle
+     */
+    @Override
+    public Supplier<? extends DataRepresentation> factory() {
+        int k = this.size;
+        return () -> new KGramShingles(k);
+    }
+
+    /**
+     * test suites are read with the configured shingle size, or with the size of this one if none is configured
+     */
+    @Override
+    public DataRepresentation configure(Config config) {
+        return (config.getShingleSize() > 0) ? new KGramShingles(config.getShingleSize()) : this;
+    }
+
+    /**
+     * a test case read with another shingle size has other shingles, so the size is part of the format
+     */
+    @Override
+    public String formatKey() {
+        return getClass().getName() + ":" + this.size;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return this.shingles != null && this.shingles.length > this.nextShingle;
+    }
+
+    @Override
+    public Object next() {
+        return this.hasNext() ? this.shingles[this.nextShingle++] : null;
+    }
+
+    @Override
+    public void parse(String s) throws InvalidFormatException {
+        long[] elements;
+        TraceScanner scanner = new TraceScanner();
+        try {
+            scanner.reset(s);
+            elements = new long[8];
+            int length = 0;
+            while (scanner.nextToken()) {
+                if (length == elements.length)
+                    elements = Arrays.copyOf(elements, length * 2);
+                elements[length++] = hash(s, scanner.tokenStart(), scanner.tokenEnd());
+            }
+            elements = Arrays.copyOf(elements, length);
+        } catch (InvalidFormatException e) {//not a trace, so the test case is read as comma separated values
+            if (s == null || !CSV.isValid(s))
+                throw new InvalidFormatException();
+            int[] offsets = CSV.fieldOffsets(s);
+            elements = new long[CSV.elementCount(offsets)];
+            for (int i = 0; i < elements.length; i++)
+                elements[i] = hash(CSV.field(s, offsets[2 * i], offsets[2 * i + 1]));
+        }
+        this.testcase = s;
+        this.nextShingle = 0;
+        this.shingles = shingle(elements, size);
+        this.distinct = distinct(this.shingles);
+    }
+
+    /**
+     * finds the shingles of a sequence of elements with a rolling hash: each shingle is the sum of the hashes of
+     * its elements, each multiplied by a power of the base for its position, so moving to the next shingle only
+     * takes away the first element and adds the next one
+     *
+     * @param elements the hash of each element
+     * @param k the number of elements in a shingle
+     * @return the hash of each shingle
+     */
+    static long[] shingle(long[] elements, int k) {
+        int width = Math.min(k, elements.length);
+        long[] shingles = new long[elements.length - width + 1];
+        long power = 1;//the power of the base the first element of a shingle is multiplied by
+        long rolling = 0;
+        for (int i = 0; i < width; i++) {
+            rolling = rolling * BASE + elements[i];
+            if (i > 0)
+                power *= BASE;
+        }
+        shingles[0] = mix(rolling);
+        for (int i = width; i < elements.length; i++) {
+            rolling = (rolling - elements[i - width] * power) * BASE + elements[i];
+            shingles[i - width + 1] = mix(rolling);
+        }
+        return shingles;
+    }
+
+    /**
+     * @return the distinct hashes of a test case, in increasing order
+     */
+    private static long[] distinct(long[] shingles) {
+        long[] sorted = shingles.clone();
+        Arrays.sort(sorted);
+        int count = 0;
+        for (int i = 0; i < sorted.length; i++) {
+            if (count == 0 || sorted[i] != sorted[count - 1])
+                sorted[count++] = sorted[i];
+        }
+        return Arrays.copyOf(sorted, count);
+    }
+
+    /**
+     * hashes the text of an element to 64 bits with FNV-1a
+     */
+    private static long hash(String element) {
+        return hash(element, 0, element.length());
+    }
+
+    /**
+     * hashes a range of a string to 64 bits with FNV-1a, the same as hashing the substring
+     *
+     * @param s the string
+     * @param start the position of the first character of the range
+     * @param end the position after the last character of the range
+     * @return the hash of the range
+     */
+    private static long hash(String s, int start, int end) {
+        long hash = 0xCBF29CE484222325L;
+        for (int i = start; i < end; i++) {
+            hash ^= s.charAt(i);
+            hash *= 0x100000001B3L;
+        }
+        return hash;
+    }
+
+    /**
+     * spreads the bits of a rolling hash, so that shingles that differ in one element do not have similar hashes
+     */
+    private static long mix(long hash) {
+        hash = (hash ^ (hash >>> 30)) * 0xBF58476D1CE4E5B9L;
+        hash = (hash ^ (hash >>> 27)) * 0x94D049BB133111EBL;
+        return hash ^ (hash >>> 31);
+    }
+
+    /**
+     * @return the number of shingles in the test case, counting repeated shingles each time they appear
+     */
+    public int length() {
+        return this.shingles.length;
+    }
+
+    /**
+     * the distinct elements of a test case are its distinct shingles, which are found when it is parsed
+     */
+    @Override
+    public long[] distinctElements() {
+        return this.distinct;
+    }
+
+    /**
+     * the content of a test case is the hash of each of its shingles, in order, which is all a metric reads
+     */
+    @Override
+    public Object contentKey() {
+        return (this.shingles == null) ? null : LongBuffer.wrap(this.shingles);
+    }
+
+    /**
+     * a cursor shares the shingles of this test case, which are not changed once parsed
+     */
+    @Override
+    public DataRepresentation cursor() {
+        KGramShingles cursor = new KGramShingles(this.size);
+        cursor.testcase = this.testcase;
+        cursor.shingles = this.shingles;
+        cursor.distinct = this.distinct;
+        return cursor;
+    }
+
+    /**
+     * the tokens are the size of a shingle and the text of the test case, so the shingles are found again with
+     * the size they were found with
+     */
+    @Override
+    public String[] toTokens() {
+        return new String[]{Integer.toString(this.size), this.testcase};
+    }
+
+    @Override
+    public void fromTokens(String[] tokens) throws InvalidFormatException {
+        if (tokens.length != 2)
+            throw new InvalidFormatException("a test case is restored from its shingle size and text");
+        try {
+            this.size = Integer.parseInt(tokens[0]);
+        } catch (NumberFormatException e) {
+            throw new InvalidFormatException("shingle size is not a number");
+        }
+        if (this.size < 1)
+            throw new InvalidFormatException("a shingle must have at least one element");
+        parse(tokens[1]);
+    }
+
+    /**
+     * a serialized test case holds its shingle size, text and position, and its shingles are found again with
+     * the same size when it is read back
+     */
+    @Override
+    public void writeExternal(ObjectOutput out) throws IOException {
+        SuiteCodec.writeVarint(out, this.size);
+        out.writeBoolean(this.testcase != null);
+        if (this.testcase != null)
+            SuiteCodec.writeString(out, this.testcase);
+        SuiteCodec.writeVarint(out, this.nextShingle);
+    }
+
+    @Override
+    public void readExternal(ObjectInput in) throws IOException {
+        this.size = SuiteCodec.readVarint(in);
+        if (this.size < 1)
+            throw new InvalidObjectException("serialized shingle size is not valid");
+        if (in.readBoolean()) {
+            try {
+                parse(SuiteCodec.readString(in, Integer.MAX_VALUE));
+            } catch (InvalidFormatException e) {
+                throw new InvalidObjectException("serialized test case is not valid");
+            }
+        }
+        this.nextShingle = SuiteCodec.readVarint(in);
+    }
+
+    @Override
+    public String toString() {
+        return this.testcase;
+    }
+
+    @Override
+    public String getDescription() {
+        return "reads in a trace or comma separated values as the hashes of every k consecutive elements, where k is the shingleSize configuration parameter";
+    }
+}
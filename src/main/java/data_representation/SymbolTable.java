@@ -0,0 +1,394 @@
+package data_representation;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A dictionary that gives each distinct element of a test case a small integer id, so that metrics can compare
+ * elements as ints instead of hashing and comparing Strings. Equal elements always have the same id in the same
+ * table, and ids are dense: the n-th distinct element seen is given the id n - 1.
+ *
+ * A table is safe to use from many threads at once, so test cases can be parsed in parallel. Looking up an
+ * element that already has an id does not lock or allocate, and only the first sighting of a new element takes
+ * a lock. Elements are found in an open-addressing table by their characters, so an element that is part of a
+ * longer text is looked up in place without being copied into a String.
+ *
+ * The test cases of a suite are parsed with one table, which is passed to the data representation through
+ * DataRepresentation.factory(SymbolTable), and a compare command reads both of its test suites with the same
+ * table, so that elements from both test suites of a comparison have comparable ids. Test cases with ids in
+ * different tables can still be compared, by finding the ids of the elements of one in the table of the other.
+ *
+ * A table can also give an id to a pair of elements, found from the ids of the two elements rather than from
+ * text. The text of a pair, "(first,second)", is only written out the first time it is asked for.
+ */
+public class SymbolTable {
+    private static final int INITIAL_CAPACITY = 64;
+
+    //the entry of each element, at the slot given by its hash or the next free slot after it. The table is at most
+    //half full, and is only changed while holding the lock on this table
+    private volatile Entry[] entries = new Entry[2 * INITIAL_CAPACITY];
+    private int entryCount;
+    //the id of each pair of elements, by the ids of the elements packed into a long, and the pair of each id
+    private final ConcurrentHashMap<Long, Integer> pairIds = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Integer, Long> pairs = new ConcurrentHashMap<>();
+    //the element of each id, only replaced while holding the lock on this table
+    private volatile String[] symbols = new String[INITIAL_CAPACITY];
+    private int size;
+
+    /**
+     * obtains the table to compare a list of test cases in: the table of the first test case, which every test case
+     * of a suite shares. Test cases with ids in another table are looked up in it.
+     *
+     * @param testCases the test cases
+     * @return the table of the first test case, or a new table if there are no test cases
+     */
+    public static SymbolTable of(List<? extends DataRepresentation> testCases) {
+        return testCases.isEmpty() ? new SymbolTable() : testCases.get(0).getSymbolTable();
+    }
+
+    /**
+     * obtains the id of an element, giving it a new id if it has not been seen before
+     *
+     * @param symbol the element
+     * @return the id of the element
+     */
+    public int idOf(String symbol) {
+        int hash = symbol.hashCode();
+        int id = find(symbol, 0, symbol.length(), hash);
+        return (id >= 0) ? id : add(symbol, 0, symbol.length(), hash, -1);
+    }
+
+    /**
+     * obtains the id of an element that is part of a longer text, giving it a new id if it has not been seen
+     * before. A String is only created for the element the first time it is seen.
+     *
+     * @param text the text the element is in
+     * @param start the position of the first character of the element
+     * @param end the position after the last character of the element
+     * @return the id of the element
+     */
+    public int idOf(String text, int start, int end) {
+        int hash = 0;//the same hash as String.hashCode()
+        for (int i = start; i < end; i++)
+            hash = 31 * hash + text.charAt(i);
+        int id = find(text, start, end, hash);
+        return (id >= 0) ? id : add(text, start, end, hash, -1);
+    }
+
+    /**
+     * obtains the id of a pair of elements, giving it a new id if it has not been seen before. The pair is
+     * found from the ids of its elements without building its text.
+     *
+     * @param first the id of the first element of the pair
+     * @param second the id of the second element of the pair
+     * @return the id of the pair
+     */
+    public int pairOf(int first, int second) {
+        Long key = ((long) first << 32) | (second & 0xFFFFFFFFL);
+        Integer id = pairIds.get(key);
+        if (id == null)
+            id = pairIds.computeIfAbsent(key, this::assignPair);
+        return id;
+    }
+
+    /**
+     * finds the id in another table of an element with an id in this table. A pair is found from the ids of its
+     * elements in the other table, so it has the same id there as a pair given by pairOf() in that table, whether
+     * or not the text of either pair was ever written out.
+     *
+     * @param id an id given by this table
+     * @param other the table to find the id in
+     * @return the id of the same element in the other table
+     */
+    public int idIn(int id, SymbolTable other) {
+        Long pair = pairs.get(id);
+        if (pair == null)
+            return other.idOf(symbolOf(id));
+        return other.pairOf(idIn((int) (pair >>> 32), other), idIn((int) pair.longValue(), other));
+    }
+
+    /**
+     * obtains the id of each element in a list, giving new elements new ids
+     *
+     * @param symbols the elements
+     * @return the id of each element, in the same order
+     */
+    public int[] idsOf(List<String> symbols) {
+        int[] result = new int[symbols.size()];
+        for (int i = 0; i < result.length; i++)
+            result[i] = idOf(symbols.get(i));
+        return result;
+    }
+
+    /**
+     * obtains the id of each element of a test case. Token sequences with ids in this table are copied, and any
+     * other test case is iterated over.
+     *
+     * @param testCase the test case
+     * @return the id of each element, in order
+     */
+    public int[] idsOf(DataRepresentation testCase) {
+        if (testCase instanceof TokenSequence && testCase.getSymbolTable() == this)
+            return ((TokenSequence) testCase).copyTo(new int[((TokenSequence) testCase).length()]);
+        int[] result = new int[16];
+        int count = 0;
+        while (testCase.hasNext()) {
+            if (count == result.length)
+                result = Arrays.copyOf(result, count * 2);
+            result[count++] = testCase.nextId(this);
+        }
+        return Arrays.copyOf(result, count);
+    }
+
+    /**
+     * obtains the ids of the distinct elements of a test case
+     *
+     * @param testCase the test case
+     * @return the ids of the distinct elements, in increasing order
+     */
+    public int[] distinctIdsOf(DataRepresentation testCase) {
+        int[] result = idsOf(testCase);
+        Arrays.sort(result);
+        int distinct = 0;
+        for (int i = 0; i < result.length; i++) {
+            if (distinct == 0 || result[i] != result[distinct - 1])
+                result[distinct++] = result[i];
+        }
+        return Arrays.copyOf(result, distinct);
+    }
+
+    /**
+     * counts the ids two sets of ids have in common
+     *
+     * @param ids1 distinct ids in increasing order
+     * @param ids2 distinct ids in increasing order
+     * @return the size of the intersection of the sets
+     */
+    public static int countCommon(int[] ids1, int[] ids2) {
+        int common = 0;
+        for (int i = 0, j = 0; i < ids1.length && j < ids2.length; ) {
+            if (ids1[i] < ids2[j]) {
+                i++;
+            } else if (ids1[i] > ids2[j]) {
+                j++;
+            } else {
+                common++;
+                i++;
+                j++;
+            }
+        }
+        return common;
+    }
+
+    /**
+     * counts the hashes two sets of hashes have in common
+     *
+     * @param hashes1 distinct hashes in increasing order
+     * @param hashes2 distinct hashes in increasing order
+     * @return the size of the intersection of the sets
+     */
+    public static int countCommon(long[] hashes1, long[] hashes2) {
+        int common = 0;
+        for (int i = 0, j = 0; i < hashes1.length && j < hashes2.length; ) {
+            if (hashes1[i] < hashes2[j]) {
+                i++;
+            } else if (hashes1[i] > hashes2[j]) {
+                j++;
+            } else {
+                common++;
+                i++;
+                j++;
+            }
+        }
+        return common;
+    }
+
+    /**
+     * counts how many times each element appears in a set of test cases, iterating over each test case once
+     *
+     * @param testCases the test cases
+     * @return the number of times each element appears, indexed by the id of the element in this table
+     */
+    public int[] countIds(Iterable<? extends DataRepresentation> testCases) {
+        int[] counts = new int[Math.max(size(), 1)];
+        for (DataRepresentation testCase : testCases) {
+            while (testCase.hasNext()) {
+                int id = testCase.nextId(this);
+                if (id >= counts.length)
+                    counts = Arrays.copyOf(counts, Math.max(id + 1, counts.length * 2));
+                counts[id]++;
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * obtains the element with an id
+     *
+     * @param id an id given by this table
+     * @return the element
+     */
+    public String symbolOf(int id) {
+        String symbol = symbols[id];
+        return (symbol == null) ? pairSymbol(id) : symbol;
+    }
+
+    /**
+     * writes out the text of a pair the first time it is asked for. The text is given the id of the pair, unless
+     * the same text was already given an id as an element.
+     *
+     * @param id the id of the pair
+     * @return the text of the pair
+     */
+    private String pairSymbol(int id) {
+        long key = pairs.get(id);
+        String symbol = "(" + symbolOf((int) (key >>> 32)) + "," + symbolOf((int) key) + ")";
+        add(symbol, 0, symbol.length(), symbol.hashCode(), id);
+        //another thread may write the same text, or the array may be replaced and the text written again later
+        symbols[id] = symbol;
+        return symbol;
+    }
+
+    /**
+     * @return the number of distinct elements in the table
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * gives a new element the next id, called at most once for each element
+     *
+     * @param symbol the new element
+     * @return the id of the element
+     */
+    private synchronized int assign(String symbol) {
+        String[] current = symbols;
+        if (size == current.length)
+            current = Arrays.copyOf(current, current.length * 2);
+        //the element is stored before the id is published, so every thread that sees the id can read the element
+        current[size] = symbol;
+        symbols = current;
+        return size++;
+    }
+
+    /**
+     * finds the id of the element with the characters of a range of a text, without locking. An element added by
+     * another thread at the same time may not be found yet, in which case add() finds it while holding the lock.
+     *
+     * @param text the text the element is in
+     * @param start the position of the first character of the element
+     * @param end the position after the last character of the element
+     * @param hash the hash of the element, the same as the hash of the equal String
+     * @return the id of the element, or -1 if it has no id
+     */
+    private int find(String text, int start, int end, int hash) {
+        Entry[] table = entries;
+        int mask = table.length - 1;
+        int length = end - start;
+        for (int slot = spread(hash) & mask; ; slot = (slot + 1) & mask) {
+            Entry entry = table[slot];
+            if (entry == null)
+                return -1;
+            if (entry.hash == hash && entry.symbol.length() == length
+                    && entry.symbol.regionMatches(0, text, start, length))
+                return entry.id;
+        }
+    }
+
+    /**
+     * gives an element an id if it does not have one yet. Only the first sighting of an element copies its
+     * characters into a String.
+     *
+     * @param text the text the element is in
+     * @param start the position of the first character of the element
+     * @param end the position after the last character of the element
+     * @param hash the hash of the element, the same as the hash of the equal String
+     * @param id the id to give the element, or -1 to give it the next id
+     * @return the id of the element
+     */
+    private synchronized int add(String text, int start, int end, int hash, int id) {
+        int found = find(text, start, end, hash);
+        if (found >= 0)
+            return found;
+        String symbol = (start == 0 && end == text.length()) ? text : text.substring(start, end);
+        if (id < 0)
+            id = assign(symbol);
+        Entry[] table = entries;
+        if (2 * (entryCount + 1) > table.length)
+            table = grow(table);
+        insert(table, new Entry(symbol, hash, id));
+        entryCount++;
+        //a new table is only published once it holds every entry
+        entries = table;
+        return id;
+    }
+
+    /**
+     * copies the entries into a table twice the size
+     *
+     * @param table the full table
+     * @return the new table
+     */
+    private static Entry[] grow(Entry[] table) {
+        Entry[] grown = new Entry[table.length * 2];
+        for (Entry entry : table) {
+            if (entry != null)
+                insert(grown, entry);
+        }
+        return grown;
+    }
+
+    /**
+     * puts an entry into the first free slot at or after the slot of its hash
+     *
+     * @param table a table with a free slot
+     * @param entry the entry
+     */
+    private static void insert(Entry[] table, Entry entry) {
+        int mask = table.length - 1;
+        int slot = spread(entry.hash) & mask;
+        while (table[slot] != null)
+            slot = (slot + 1) & mask;
+        table[slot] = entry;
+    }
+
+    /**
+     * mixes the high bits of a hash into the low bits, which choose the slot
+     *
+     * @param hash the hash of an element
+     * @return the mixed hash
+     */
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * an element and its id. Its fields are final, so a thread that finds an entry without locking always sees
+     * the whole entry.
+     */
+    private static final class Entry {
+        private final String symbol;
+        private final int hash;
+        private final int id;
+
+        private Entry(String symbol, int hash, int id) {
+            this.symbol = symbol;
+            this.hash = hash;
+            this.id = id;
+        }
+    }
+
+    /**
+     * gives a new pair the next id, called at most once for each pair. The text of the pair is left empty.
+     *
+     * @param key the ids of the elements of the pair, packed into a long
+     * @return the id of the pair
+     */
+    private Integer assignPair(Long key) {
+        Integer id = assign(null);
+        pairs.put(id, key);
+        return id;
+    }
+}
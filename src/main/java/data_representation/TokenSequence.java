@@ -0,0 +1,61 @@
+package data_representation;
+
+import java.nio.IntBuffer;
+import java.util.Arrays;
+
+/**
+ * A DataRepresentation whose elements can be read in any order, as ids in its symbol table, without iterating
+ * over the test case. Metrics can index these test cases directly, rather than copying every element into a list.
+ *
+ * Reading elements by index does not move the position of the iterator.
+ */
+public interface TokenSequence extends DataRepresentation {
+	/**
+	 * @return the number of elements in the test case
+	 */
+	int length();
+
+	/**
+	 * obtains an element of the test case
+	 *
+	 * @param index the position of the element, from 0 to length() - 1
+	 * @return the id of the element in the symbol table of this test case
+	 */
+	int tokenAt(int index);
+
+	/**
+	 * copies the id of every element of the test case into an array
+	 *
+	 * @param destination the array to copy into, used if it has room for every element
+	 * @return the array the ids were copied into, which is a new array if the destination was too small
+	 */
+	default int[] copyTo(int[] destination) {
+		int length = length();
+		int[] result = (destination.length < length) ? new int[length] : destination;
+		for (int i = 0; i < length; i++)
+			result[i] = tokenAt(i);
+		return result;
+	}
+
+	/**
+	 * the content of a token sequence is the id of each of its elements, which metrics read either directly or as
+	 * the text the id was given to
+	 */
+	@Override
+	default Object contentKey() {
+		return Arrays.asList(getClass(), getSymbolTable(), IntBuffer.wrap(copyTo(new int[length()])));
+	}
+
+	/**
+	 * determines if the elements of two test cases can be compared by index, which requires both to be
+	 * token sequences with ids from the same symbol table
+	 *
+	 * @param testCase1 the first test case
+	 * @param testCase2 the second test case
+	 * @return true if the ids of the elements of the test cases can be compared with each other
+	 */
+	static boolean comparable(DataRepresentation testCase1, DataRepresentation testCase2) {
+		return testCase1 instanceof TokenSequence && testCase2 instanceof TokenSequence
+				&& testCase1.getSymbolTable() == testCase2.getSymbolTable();
+	}
+}
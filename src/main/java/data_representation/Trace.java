@@ -0,0 +1,151 @@
+package data_representation;
+
+import core.InvalidFormatException;
+
+import java.util.Arrays;
+
+/**
+ * A test case in the trace format used in the case studies, parsed once:
+ *
+ *[<id>] Start-<event>-<state>-<event>...
+ *
+ * A trace holds its identifier and the id of each of its alternating events and states in a symbol table.
+ * EventSequence, StateSequence and EventStatePairs are views of a trace that read its elements in place, so the
+ * same test case can be compared as events, as states and as pairs while only being parsed once.
+ *
+ * A trace is not changed once parsed, so any number of views can share it, from many threads at once.
+ */
+public final class Trace {
+    private static final int INITIAL_CAPACITY = 8;
+
+    private final Long id;
+    private final SymbolTable symbols;
+    //the events are at the even positions, and the states at the odd positions
+    private final int[] elements;
+    //the id of each event and the state that follows it, only found once a view of the pairs needs them
+    private volatile int[] pairs;
+
+    private Trace(Long id, SymbolTable symbols, int[] elements) {
+        this.id = id;
+        this.symbols = symbols;
+        this.elements = elements;
+    }
+
+    /**
+     * parses a test case, giving its elements ids in a symbol table
+     *
+     * @param s the test case
+     * @param symbols the table to give the elements ids in
+     * @return the parsed trace
+     * @throws InvalidFormatException thrown when the test case does not have the trace format
+     */
+    public static Trace parse(String s, SymbolTable symbols) throws InvalidFormatException {
+        TraceScanner scanner = new TraceScanner();
+        scanner.reset(s);
+        int[] elements = new int[INITIAL_CAPACITY];
+        int length = 0;
+        while (scanner.nextToken()) {
+            if (length == elements.length)
+                elements = Arrays.copyOf(elements, length * 2);
+            elements[length++] = scanner.tokenId(symbols);
+        }
+        return new Trace(scanner.getId(), symbols, Arrays.copyOf(elements, length));
+    }
+
+    /**
+     * restores a trace from the tokens previously obtained with toTokens()
+     *
+     * @param tokens the identifier of the trace, or an empty string if it has none, followed by its elements
+     * @param symbols the table to give the elements ids in
+     * @return the restored trace
+     * @throws InvalidFormatException thrown when the tokens do not describe a trace
+     */
+    public static Trace fromTokens(String[] tokens, SymbolTable symbols) throws InvalidFormatException {
+        if (tokens.length < 2)
+            throw new InvalidFormatException("no elements in the list");
+        Long id;
+        try {
+            id = tokens[0].isEmpty() ? null : Long.valueOf(tokens[0]);
+        } catch (NumberFormatException e) {
+            throw new InvalidFormatException("identifier is not a number");
+        }
+        int[] elements = new int[tokens.length - 1];
+        for (int i = 0; i < elements.length; i++)
+            elements[i] = symbols.idOf(tokens[i + 1]);
+        return new Trace(id, symbols, elements);
+    }
+
+    /**
+     * @return the identifier of the trace, or an empty string if it has none, followed by every event and state
+     */
+    public String[] toTokens() {
+        String[] tokens = new String[elements.length + 1];
+        tokens[0] = (id == null) ? "" : id.toString();
+        for (int i = 0; i < elements.length; i++)
+            tokens[i + 1] = symbols.symbolOf(elements[i]);
+        return tokens;
+    }
+
+    /**
+     * @return the identifier of the trace, or null if it does not have one
+     */
+    public Long getId() {
+        return id;
+    }
+
+    /**
+     * @return the table the elements of the trace were given ids in
+     */
+    public SymbolTable getSymbolTable() {
+        return symbols;
+    }
+
+    /**
+     * @return the number of events and states in the trace
+     */
+    public int length() {
+        return elements.length;
+    }
+
+    /**
+     * obtains an event or state of the trace
+     *
+     * @param index the position of the element, which is an event when even and a state when odd
+     * @return the id of the element
+     */
+    public int elementAt(int index) {
+        return elements[index];
+    }
+
+    /**
+     * @return the number of events in the trace
+     */
+    public int eventCount() {
+        return (elements.length + 1) / 2;
+    }
+
+    /**
+     * @return the number of states in the trace, which is also the number of events followed by a state
+     */
+    public int stateCount() {
+        return elements.length / 2;
+    }
+
+    /**
+     * obtains an event and the state that follows it as a single element, written "(event,state)". A pair is
+     * given an id from the ids of its event and state, so no text is built for it.
+     *
+     * @param index the position of the pair, from 0 to stateCount() - 1
+     * @return the id of the pair
+     */
+    public int pairAt(int index) {
+        int[] pairs = this.pairs;
+        if (pairs == null) {//two threads may both find the pairs, but they find the same ids
+            pairs = new int[stateCount()];
+            for (int i = 0; i < pairs.length; i++)
+                pairs[i] = symbols.pairOf(elements[2 * i], elements[2 * i + 1]);
+            this.pairs = pairs;
+        }
+        return pairs[index];
+    }
+}
@@ -0,0 +1,158 @@
+package data_representation;
+
+import core.InvalidFormatException;
+
+/**
+ * A scanner for test cases in the trace format read into a Trace:
+ * an optional numeric identifier in square brackets, followed by "Start-" and a dash-separated list of
+ * alternating events and states, such as "[12] Start-event1-state1-event2-state2".
+ *
+ * The scanner walks over the characters of the test case once and reports each element as a range of the
+ * input rather than as a new String, so a String is only created for an element when it is needed.
+ * The elements found are the same as splitting the list on "-" with String.split().
+ */
+public class TraceScanner {
+    private static final String START = "Start-";
+    //identifiers with fewer digits than this cannot overflow a long, so they are read without creating a String
+    private static final int SAFE_DIGITS = 18;
+
+    private String input;
+    private Long id;
+    //the position of the next element, and the end of the list of elements
+    private int position;
+    private int end;
+    //the range of the current element
+    private int tokenStart;
+    private int tokenEnd;
+    //true while there are elements that have not been scanned
+    private boolean more;
+
+    /**
+     * begins scanning a new test case, reading its identifier and checking it begins with the Start state
+     *
+     * @param s the test case
+     * @throws InvalidFormatException thrown when the test case does not have the trace format
+     */
+    public void reset(String s) throws InvalidFormatException {
+        if(s == null || s.length() == 0)
+            throw new InvalidFormatException("empty string");
+        input = s;
+        id = null;
+        position = 0;
+        end = s.length();
+
+        if (s.charAt(0) == '[') {//there is an id at the start of the test case
+            if (s.length() < 2 || s.charAt(1) == ']')
+                throw new InvalidFormatException("no number inside identifier brackets");
+            int i = s.indexOf(']', 2);//find the end of the id
+            if (i < 0)
+                throw new InvalidFormatException("identifier brackets are not closed");
+            id = parseId(s, 1, i);
+            //the rest of the test case is trimmed, as String.trim() would
+            position = i + 1;
+            while (position < end && s.charAt(position) <= ' ')
+                position++;
+            while (end > position && s.charAt(end - 1) <= ' ')
+                end--;
+        }
+
+        if (!s.startsWith(START, position))
+            throw new InvalidFormatException("sequence does not begin with Start state");
+        position += START.length();
+        if (position == end)
+            throw new InvalidFormatException("no elements in the list");
+        //like String.split(), empty elements at the end of the list are dropped
+        while (end > position && s.charAt(end - 1) == '-')
+            end--;
+        more = position < end;
+    }
+
+    /**
+     * @return the identifier of the test case, or null if it does not have one
+     */
+    public Long getId() {
+        return id;
+    }
+
+    /**
+     * moves to the next element of the test case
+     *
+     * @return true if there was another element, false if every element has been scanned
+     */
+    public boolean nextToken() {
+        if (!more)
+            return false;
+        tokenStart = position;
+        int dash = input.indexOf('-', position);
+        if (dash < 0 || dash >= end) {//the last element, which never ends in a dash
+            tokenEnd = end;
+            more = false;
+        } else {
+            tokenEnd = dash;
+            position = dash + 1;
+        }
+        return true;
+    }
+
+    /**
+     * @return the current element, as a new String
+     */
+    public String token() {
+        return input.substring(tokenStart, tokenEnd);
+    }
+
+    /**
+     * @return the position in the test case of the first character of the current element
+     */
+    public int tokenStart() {
+        return tokenStart;
+    }
+
+    /**
+     * @return the position in the test case after the last character of the current element
+     */
+    public int tokenEnd() {
+        return tokenEnd;
+    }
+
+    /**
+     * obtains the id of the current element in a symbol table without creating a String for it, unless the
+     * element has not been seen before
+     *
+     * @param symbols the table to find the element in
+     * @return the id of the element
+     */
+    public int tokenId(SymbolTable symbols) {
+        return symbols.idOf(input, tokenStart, tokenEnd);
+    }
+
+    /**
+     * reads the identifier of a test case, in the same way as Long.valueOf()
+     *
+     * @param s the test case
+     * @param from the position of the first character of the identifier
+     * @param to the position after the last character of the identifier
+     * @return the identifier
+     * @throws InvalidFormatException thrown when the identifier is not a number
+     */
+    private static Long parseId(String s, int from, int to) throws InvalidFormatException {
+        boolean negative = s.charAt(from) == '-';
+        int i = (negative || s.charAt(from) == '+') ? from + 1 : from;
+        if (i < to && to - i < SAFE_DIGITS) {
+            long value = 0;
+            for (; i < to; i++) {
+                char c = s.charAt(i);
+                if (c < '0' || c > '9')
+                    break;
+                value = value * 10 + (c - '0');
+            }
+            if (i == to)
+                return negative ? -value : value;
+        }
+        try {//anything else, such as very long or non-ASCII digits, is left to Long.valueOf()
+            return Long.valueOf(s.substring(from, to));
+        } catch (NumberFormatException e) {
+            throw new InvalidFormatException("contents between square brackets is not a number");
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package data_representation;
+
+import core.InvalidFormatException;
+import core.SuiteCodec;
+
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.util.function.Supplier;
+
+/**
+ * The common part of the data representations for the trace format used in the case studies:
+ *
+ *[<id>] Start-<event>-<state>-<event>...
+ *
+ * Each representation is a view that keeps a different sequence of elements from a parsed Trace. A view reads
+ * the ids of its elements from the trace in place, so views of the same trace share its elements rather than
+ * each holding a copy.
+ */
+public abstract class TraceSequence implements TokenSequence, Externalizable, Cloneable {
+    private static final long serialVersionUID = -2448742953052707508L;
+    //the trace viewed, which is null until a test case is parsed
+    transient Trace trace;
+    //the table test cases parsed into this view give their elements ids in, or null for a new table each time
+    transient SymbolTable symbols;
+    int iteratorIndex;
+
+    /**Constructor*/
+    protected TraceSequence() {
+        trace = null;
+        iteratorIndex = 0;
+    }
+
+    /**
+     * @return the parsed trace this representation is a view of, or null if no test case has been parsed
+     */
+    public Trace getTrace() {
+        return trace;
+    }
+
+    /**
+     * makes this representation a view of a parsed trace, starting from its first element
+     *
+     * @param trace the parsed trace
+     * @throws InvalidFormatException thrown when the trace does not have the elements this representation keeps
+     */
+    protected void view(Trace trace) throws InvalidFormatException {
+        this.trace = trace;
+        iteratorIndex = 0;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return length() > iteratorIndex;
+    }
+
+    @Override
+    public Object next() {
+        return (hasNext()) ? trace.getSymbolTable().symbolOf(tokenAt(iteratorIndex++)) : null;
+    }
+
+    @Override
+    public int nextId(SymbolTable symbols) {
+        if (symbols != getSymbolTable())//pairs are found in the other table from their elements, not their text
+            return getSymbolTable().idIn(tokenAt(iteratorIndex++), symbols);
+        return tokenAt(iteratorIndex++);
+    }
+
+    @Override
+    public SymbolTable getSymbolTable() {
+        return (trace == null) ? tableToParseInto() : trace.getSymbolTable();
+    }
+
+    /**
+     * the views made by the factory parse their traces into the table, rather than each into a new table
+     */
+    @Override
+    public Supplier<? extends DataRepresentation> factory(SymbolTable symbols) throws NoSuchMethodException, InstantiationException {
+        Supplier<? extends DataRepresentation> factory = factory();
+        return () -> {
+            TraceSequence view = (TraceSequence) factory.get();
+            view.symbols = symbols;
+            return view;
+        };
+    }
+
+    /**
+     * @return the table to give the elements of a newly parsed trace ids in
+     */
+    private SymbolTable tableToParseInto() {
+        return (symbols == null) ? new SymbolTable() : symbols;
+    }
+
+    /**
+     * a cursor is another view of the same trace
+     */
+    @Override
+    public DataRepresentation cursor() {
+        try {
+            TraceSequence cursor = (TraceSequence) super.clone();
+            cursor.iteratorIndex = 0;
+            return cursor;
+        } catch (CloneNotSupportedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * obtains a view of the same kind as this one over another trace, so that test cases parsed once as traces
+     * can be compared as any representation
+     *
+     * @param trace the parsed trace
+     * @return a new view of the trace, starting from its first element
+     * @throws InvalidFormatException thrown when the trace does not have the elements this representation keeps
+     */
+    public TraceSequence withTrace(Trace trace) throws InvalidFormatException {
+        TraceSequence view = (TraceSequence) cursor();
+        view.view(trace);
+        return view;
+    }
+
+    @Override
+    public void parse(String s) throws InvalidFormatException {
+        view(Trace.parse(s, tableToParseInto()));
+    }
+
+    /**
+     * the first token is the identifier of the test case, or an empty string if it has none. The remaining
+     * tokens are every event and state of the trace, so any view of it can be restored from them.
+     */
+    @Override
+    public String[] toTokens() {
+        return trace.toTokens();
+    }
+
+    @Override
+    public void fromTokens(String[] tokens) throws InvalidFormatException {
+        view(Trace.fromTokens(tokens, tableToParseInto()));
+    }
+
+    @Override
+    public String toString(){
+        StringBuilder s = new StringBuilder();
+        if(trace.getId() != null)
+            s.append('[').append(trace.getId()).append("] ");
+        SymbolTable symbols = trace.getSymbolTable();
+        for(int i = 0; i < length(); i++) {
+            if (i > 0)
+                s.append('-');
+            s.append(symbols.symbolOf(tokenAt(i)));
+        }
+
+        return s.toString();
+    }
+
+    /**
+     * a serialized test case holds the text of its trace and its position, since ids are only meaningful in
+     * their own table
+     */
+    @Override
+    public void writeExternal(ObjectOutput out) throws IOException {
+        SuiteCodec.writeTokens(out, (trace == null) ? new String[0] : toTokens());
+        SuiteCodec.writeVarint(out, iteratorIndex);
+    }
+
+    @Override
+    public void readExternal(ObjectInput in) throws IOException {
+        String[] tokens = SuiteCodec.readTokens(in, Integer.MAX_VALUE);
+        try {
+            if (tokens.length > 0)
+                view(Trace.fromTokens(tokens, tableToParseInto()));
+        } catch (InvalidFormatException e) {
+            throw new InvalidObjectException(e.getMessage());
+        }
+        iteratorIndex = SuiteCodec.readVarint(in);
+    }
+}
@@ -1,10 +1,10 @@
 package metrics.comparison.listwise;
 
 import data_representation.DataRepresentation;
+import data_representation.SymbolTable;
 
-import java.util.HashMap;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Map;
 
 /**
  * This is an implementation of a listwise metric called nei's measure.
@@ -18,42 +18,48 @@ public class Nei implements ListwiseComparisonStrategy{
     @Override
     public double compare(List<DataRepresentation> testsuite) {
         double totalResult = 0;
-        int longestTestCaseLength = 0;
         double locusResult;
-        HashMap<String, Double> frequencies;
-        boolean allCasesFullyTraversed;
-        int numElements;
 
         if (testsuite == null || testsuite.isEmpty())
             return 0;
 
-        do {
-            frequencies = new HashMap<>();
-            numElements = 0;
-            locusResult = 0;
-            allCasesFullyTraversed = true;
-            for (DataRepresentation testcase : testsuite) {
-                if (testcase.hasNext()) {
-                    allCasesFullyTraversed = false;
-                    String s = testcase.next().toString();
-                    numElements++;
-                    if (frequencies.containsKey(s))
-                        frequencies.put(s, frequencies.get(s) + 1);
-                    else
-                        frequencies.put(s, 1.0);
-                }
+        //each element is recorded as its position and id packed into a long, so that sorting the elements
+        //brings together the elements at each position, and the equal elements at each position
+        SymbolTable symbols = SymbolTable.of(testsuite);
+        long[] elements = new long[64];
+        int count = 0;
+        int positions = 0;
+        //each test case is traversed once, so test suites that are read in lazily are only read once
+        for (DataRepresentation testcase : testsuite) {
+            for (int position = 0; testcase.hasNext(); position++) {
+                if (count == elements.length)
+                    elements = Arrays.copyOf(elements, count * 2);
+                elements[count++] = ((long) position << 32) | testcase.nextId(symbols);
+                positions = Math.max(positions, position + 1);
             }
-            for (Map.Entry<String, Double> stringDoubleEntry : frequencies.entrySet()) {
-                double p = stringDoubleEntry.getValue() / numElements;
+        }
+        Arrays.sort(elements, 0, count);
+
+        for (int start = 0; start < count; ) {
+            //the number of test cases long enough to reach this position
+            int end = start;
+            while (end < count && elements[end] >>> 32 == elements[start] >>> 32)
+                end++;
+            double numElements = end - start;
+            locusResult = 0;
+            for (int i = start; i < end; ) {
+                int j = i;
+                while (j < end && elements[j] == elements[i])
+                    j++;
+                double p = (j - i) / numElements;
                 locusResult += p * p;
+                i = j;
             }
-            if(!allCasesFullyTraversed) {
-                longestTestCaseLength++;
-                totalResult += 1 - locusResult;
-            }
-        }while(!allCasesFullyTraversed);
+            totalResult += 1 - locusResult;
+            start = end;
+        }
 
-        return (1.0/longestTestCaseLength) * totalResult;
+        return (1.0/positions) * totalResult;
     }
 
     @Override
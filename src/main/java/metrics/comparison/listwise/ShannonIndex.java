@@ -1,10 +1,9 @@
 package metrics.comparison.listwise;
 
 import data_representation.DataRepresentation;
+import data_representation.SymbolTable;
 
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
 /**implements a listwise diversity metric called the Shannon
  * Index. This is a measure of the relative frequencies of elements
@@ -19,24 +18,16 @@ public class ShannonIndex implements ListwiseComparisonStrategy{
         //the result comes from the equation: -sum(p*ln(p)), where p is a type of element in the test suite
         double result = 0;
         //to calculate this, you need to find all the possible elements in the test suite, and compare the relative frequencies
-        HashMap<String, Double> frequencies = new HashMap<>();
+        int[] frequencies = SymbolTable.of(testsuite).countIds(testsuite);
         int numElements = 0;
-
-        //get the frequencies
-        for(DataRepresentation testcase: testsuite){
-            while(testcase.hasNext()) {
-                String s = testcase.next().toString();
-                numElements++;
-                if(frequencies.containsKey(s))
-                    frequencies.put(s, frequencies.get(s) + 1);
-                 else
-                    frequencies.put(s, 1.0);
-            }
-        }
+        for (int frequency : frequencies)
+            numElements += frequency;
 
         //compute the entropy
-        for (Map.Entry<String, Double> stringDoubleEntry : frequencies.entrySet()) {
-            double p =  stringDoubleEntry.getValue() / numElements;
+        for (int frequency : frequencies) {
+            if (frequency == 0)
+                continue;
+            double p = (double) frequency / numElements;
             result += p * Math.log(p);
         }
 
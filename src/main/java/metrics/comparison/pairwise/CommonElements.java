@@ -1,6 +1,8 @@
 package metrics.comparison.pairwise;
 
 import data_representation.DataRepresentation;
+import data_representation.SymbolTable;
+import data_representation.TokenSequence;
 
 /**
  * A pairwise comparison metrics which counts the number of elements in a pair of test cases that have the same values and are in the same positions
@@ -13,9 +15,19 @@ public class CommonElements implements PairwiseComparisonStrategy {
 	@Override
 	public double compare(DataRepresentation testCase1, DataRepresentation testCase2) {
 		int commonElements = 0;
+		if (TokenSequence.comparable(testCase1, testCase2)) {//compare the elements in place
+			TokenSequence t1 = (TokenSequence) testCase1, t2 = (TokenSequence) testCase2;
+			int length = Math.min(t1.length(), t2.length());
+			for (int i = 0; i < length; i++) {
+				if (t1.tokenAt(i) == t2.tokenAt(i))
+					commonElements++;
+			}
+			return commonElements;
+		}
+		SymbolTable symbols = testCase1.getSymbolTable();
 
 		while(testCase1.hasNext() && testCase2.hasNext()) {
-			if(testCase1.next().equals(testCase2.next()))
+			if(testCase1.nextId(symbols) == testCase2.nextId(symbols))
 				commonElements++;
 		}
 
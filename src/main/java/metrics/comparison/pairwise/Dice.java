@@ -1,8 +1,7 @@
 package metrics.comparison.pairwise;
 
 import data_representation.DataRepresentation;
-
-import java.util.HashSet;
+import data_representation.SymbolTable;
 
 /**
  * a pairwise metric implementing the Dice coefficient. This
@@ -17,23 +16,18 @@ public class Dice implements PairwiseComparisonStrategy {
 
     @Override
     public double compare(DataRepresentation testCase1, DataRepresentation testCase2) {
-        HashSet<String> set1 = new HashSet<>();
-        HashSet<String> set2 = new HashSet<>();
-        HashSet<String> intersection = new HashSet<>();
-
-        while(testCase1.hasNext()) {
-            String s = testCase1.next().toString();
-            set1.add(s);
-        }
-
-        while(testCase2.hasNext()) {
-            String s = testCase2.next().toString();
-            set2.add(s);
-            if (set1.contains(s))
-                intersection.add(s);
+        long[] elements1 = testCase1.distinctElements();
+        long[] elements2 = testCase2.distinctElements();
+        if (elements1 != null && elements2 != null) {//the test cases are already sets
+            return (2.0 * SymbolTable.countCommon(elements1, elements2)) / (elements1.length + elements2.length);
         }
+        //the distinct elements of each test case, as sorted ids
+        SymbolTable symbols = testCase1.getSymbolTable();
+        int[] set1 = symbols.distinctIdsOf(testCase1);
+        int[] set2 = symbols.distinctIdsOf(testCase2);
+        int intersection = SymbolTable.countCommon(set1, set2);
 
-        return (2.0 * intersection.size()) / (set1.size() + set2.size());
+        return (2.0 * intersection) / (set1.length + set2.length);
     }
 
     @Override
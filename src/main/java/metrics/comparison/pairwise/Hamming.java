@@ -1,6 +1,8 @@
 package metrics.comparison.pairwise;
 
 import data_representation.DataRepresentation;
+import data_representation.SymbolTable;
+import data_representation.TokenSequence;
 
 /**
  * a pairwise metric that implements a hamming distance. That is, a
@@ -16,9 +18,19 @@ public class Hamming implements PairwiseComparisonStrategy {
     @Override
     public double compare(DataRepresentation testCase1, DataRepresentation testCase2) {
         int diff = 0;
+        if (TokenSequence.comparable(testCase1, testCase2)) {//compare the elements in place
+            TokenSequence t1 = (TokenSequence) testCase1, t2 = (TokenSequence) testCase2;
+            int length = Math.min(t1.length(), t2.length());
+            for (int i = 0; i < length; i++) {
+                if (t1.tokenAt(i) != t2.tokenAt(i))
+                    diff++;
+            }
+            return diff;
+        }
+        SymbolTable symbols = testCase1.getSymbolTable();
 
         while(testCase1.hasNext() && testCase2.hasNext()) {
-            if(!testCase1.next().equals(testCase2.next()))
+            if(testCase1.nextId(symbols) != testCase2.nextId(symbols))
                 diff++;
         }
 
@@ -1,8 +1,7 @@
 package metrics.comparison.pairwise;
 
 import data_representation.DataRepresentation;
-
-import java.util.HashSet;
+import data_representation.SymbolTable;
 
 /**
  * A pairwise comparison metric which provides a ratio of the size of the intersection of sets of 
@@ -20,24 +19,20 @@ public class JaccardIndex implements PairwiseComparisonStrategy {
 
 	@Override
 	public double compare(DataRepresentation testCase1, DataRepresentation testCase2) {
-		HashSet<String> set1 = new HashSet<>();
-		HashSet<String> union = new HashSet<>();
-		HashSet<String> intersection = new HashSet<>();
-		
-		while(testCase1.hasNext()) {
-			String s = testCase1.next().toString();
-			set1.add(s);
-			union.add(s);
-		}
-			
-		while(testCase2.hasNext()) {
-			String s = testCase2.next().toString();
-			union.add(s);
-			if(set1.contains(s))
-				intersection.add(s);
+		long[] elements1 = testCase1.distinctElements();
+		long[] elements2 = testCase2.distinctElements();
+		if (elements1 != null && elements2 != null) {//the test cases are already sets
+			int intersection = SymbolTable.countCommon(elements1, elements2);
+			return (double)intersection/(elements1.length + elements2.length - intersection);
 		}
+		//the distinct elements of each test case, as sorted ids
+		SymbolTable symbols = testCase1.getSymbolTable();
+		int[] set1 = symbols.distinctIdsOf(testCase1);
+		int[] set2 = symbols.distinctIdsOf(testCase2);
+		int intersection = SymbolTable.countCommon(set1, set2);
+		int union = set1.length + set2.length - intersection;
 		
-		return (double)intersection.size()/union.size();
+		return (double)intersection/union;
 	}
 
 }
@@ -1,8 +1,7 @@
 package metrics.comparison.pairwise;
 
-import java.util.ArrayList;
-
 import data_representation.DataRepresentation;
+import data_representation.SymbolTable;
 
 /**
  * A pairwise comparison metric that calculates the Levenshtein
@@ -25,42 +24,38 @@ public class Levenshtein implements PairwiseComparisonStrategy {
 
 	@Override
 	public double compare(DataRepresentation testCase1, DataRepresentation testCase2) {
-		//unpack DataRepresentation information
-		ArrayList<String> t1 = new ArrayList<>();
-		ArrayList<String> t2 = new ArrayList<>();
-		while (testCase1.hasNext())
-			t1.add(testCase1.next().toString());
-		while (testCase2.hasNext())
-			t2.add(testCase2.next().toString());
-		
-		//create matrix for distances, initialized to all zeros
-		int[][] m = new int[t1.size()][t2.size()];
-		for (int i = 0; i < t1.size(); i++) {
-			for (int j = 0; j < t2.size(); j++) {
-				m[i][j] = 0;
-			}
-		}
+		//unpack DataRepresentation information, as the ids of each element
+		SymbolTable symbols = testCase1.getSymbolTable();
+		int[] t1 = symbols.idsOf(testCase1);
+		int[] t2 = symbols.idsOf(testCase2);
+		if (t1.length == 0 || t2.length == 0)
+			return Math.max(t1.length, t2.length);
+
+		//only the previous row of the matrix of distances is needed to fill in the next row
+		int[] previous = new int[t2.length];
+		int[] current = new int[t2.length];
+		for(int j = 1; j < t2.length; j++) 
+			previous[j] = j;
 		
 		int cost;
-		for(int i = 1; i < t1.size(); i++) 
-			m[i][0] = i;
-		for(int j = 1; j < t2.size(); j++) 
-			m[0][j] = j;
-		
-		for (int i = 1; i < t1.size(); i++) {
-			for (int j = 1; j < t2.size(); j++) {
-				if(t1.get(i).equals(t2.get(j)))
+		for (int i = 1; i < t1.length; i++) {
+			current[0] = i;
+			for (int j = 1; j < t2.length; j++) {
+				if(t1[i] == t2[j])
 					cost = 0;
 				else
 					cost = 1;
 				
-				m[i][j] = min(m[i-1][j] + 1, 
-						      m[i][j-1] + 1,
-						      m[i-1][j-1] + cost);
+				current[j] = min(previous[j] + 1, 
+						      current[j-1] + 1,
+						      previous[j-1] + cost);
 				
 			}
+			int[] swap = previous;
+			previous = current;
+			current = swap;
 		}	
-		return m[t1.size()-1][t2.size()-1];
+		return previous[t2.length-1];
 	}
 	
 	/**
@@ -1,6 +1,8 @@
 package metrics.comparison.pairwise;
 
 import data_representation.DataRepresentation;
+import data_representation.SymbolTable;
+import data_representation.TokenSequence;
 
 /**
  * a pairwise distance metric that implements a longest common substring
@@ -15,9 +17,24 @@ public class LongestCommonSubstring implements PairwiseComparisonStrategy {
     public double compare(DataRepresentation testCase1, DataRepresentation testCase2) {
         int length = 0;
         int LCS = 0;
+        if (TokenSequence.comparable(testCase1, testCase2)) {//compare the elements in place
+            TokenSequence t1 = (TokenSequence) testCase1, t2 = (TokenSequence) testCase2;
+            int end = Math.min(t1.length(), t2.length());
+            for (int i = 0; i < end; i++) {
+                if (t1.tokenAt(i) == t2.tokenAt(i))
+                    length++;
+                else {
+                    if (length > LCS)
+                        LCS = length;
+                    length = 0;
+                }
+            }
+            return Math.max(length, LCS);
+        }
+        SymbolTable symbols = testCase1.getSymbolTable();
 
         while(testCase1.hasNext() && testCase2.hasNext()) {
-            if(testCase1.next().equals(testCase2.next()))
+            if(testCase1.nextId(symbols) == testCase2.nextId(symbols))
                 length++;
             else{
                 if(length > LCS)
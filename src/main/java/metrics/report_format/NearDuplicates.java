@@ -0,0 +1,55 @@
+package metrics.report_format;
+
+import model.CompareDTO;
+import model.NearDuplicatePair;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Lists the pairs of test cases found to be near-duplicates, one pair to a line, as the position of each test
+ * case in its suite followed by their similarity
+ */
+public class NearDuplicates implements ReportFormat {
+
+    /**
+     * Formats the near-duplicate pairs and data from the DTO into a convenient format.
+     *
+     * @param dto          The data transfer object given to the controller to start comparison
+     * @param similarities The similarity values found by the comparison service
+     * @param aggregations The aggregated similarity values calculated by one or more aggregation strategies
+     * @return A nicely formatted string
+     */
+    @Override
+    public String format(CompareDTO dto, List<Double> similarities, List<List<Double>> aggregations) {
+        StringBuilder formattedData = new StringBuilder();
+        formattedData.append(getReportHeader()).append(System.lineSeparator());
+        Map<String, String> runParamPairs = getRunParameters(dto);
+
+        formattedData.append("Run parameters:").append(System.lineSeparator());
+        for (String paramKey : runParamPairs.keySet()) {
+            formattedData.append(paramKey).append(": ").append(runParamPairs.get(paramKey)).append(System.lineSeparator());
+        }
+
+        formattedData.append(System.lineSeparator());
+        List<NearDuplicatePair> nearDuplicates = dto.getNearDuplicates();
+        if (nearDuplicates == null) {
+            formattedData.append("No near-duplicate search was made.").append(System.lineSeparator());
+            return formattedData.toString();
+        }
+        formattedData.append("Near-duplicate pairs: ").append(nearDuplicates.size()).append(System.lineSeparator());
+        for (NearDuplicatePair pair : nearDuplicates)
+            formattedData.append(pair).append(System.lineSeparator());
+        return formattedData.toString();
+    }
+
+    /**
+     * Provides a description of the format
+     *
+     * @return a brief description of the format
+     */
+    @Override
+    public String getDescription() {
+        return "Lists the pairs of test cases found to be near-duplicates, as the position of each test case in its suite and their similarity.";
+    }
+}
@@ -60,6 +60,8 @@ public interface ReportFormat extends HelpTarget {
                     .getPropertyDescriptors())
                     // Filter out properties that only have setters or are null
                     .filter(pd -> Objects.nonNull(pd.getReadMethod()))
+                    // Filter out lists of results, such as near-duplicate pairs, which are not run parameters
+                    .filter(pd -> !Collection.class.isAssignableFrom(pd.getPropertyType()))
                     .forEach(pd -> { // Invoke the method to get the value
                         try {
                             Object value = pd.getReadMethod().invoke(dto);
@@ -1,5 +1,7 @@
 package model;
 
+import java.util.List;
+
 /**
  * a data transfer object for issuing compare commands to the Controller.
  * Compare commands are the main functionality of the system and compare 2 
@@ -32,6 +34,24 @@ public class CompareDTO extends DataTransferObject {
 	private String outputFilename;
 	//true to save the file
 	private boolean save = false;
+	//the number of test cases to randomly sample from each test suite, or null to compare every test case
+	private Integer sampleSize;
+	//true to sample each file of a test suite in proportion to its size, null if not set
+	private Boolean stratifiedSample;
+	//the number of test cases the sample was drawn from, set once the test suites are read
+	private Long populationSize;
+	//the estimated standard error of the mean similarity of the sample, set once the comparison is complete
+	private Double sampleError;
+	//the similarity a pair should reach to be reported as near-duplicates, or null to compare every pair
+	private Double nearDuplicateThreshold;
+	//true to find every pair that reaches the near-duplicate threshold, rather than the likely ones, null if not set
+	private Boolean exactNearDuplicates;
+	//the most edits between the test cases of a near-duplicate pair, or null to compare every pair
+	private Integer maxEditDistance;
+	//the number of nearest test cases of the first suite to find for each test case of the second, or null to compare every pair
+	private Integer nearestTestCases;
+	//the pairs found to be near-duplicates, set once the search is complete
+	private List<NearDuplicatePair> nearDuplicates;
 	
 	/**Constructor*/
 	public CompareDTO() {
@@ -122,4 +142,76 @@ public class CompareDTO extends DataTransferObject {
 	public boolean getSave() { return save; }
 
 	public void setSave(boolean save) { this.save = save; }
+
+	public Integer getSampleSize() {
+		return sampleSize;
+	}
+
+	public void setSampleSize(Integer sampleSize) {
+		this.sampleSize = sampleSize;
+	}
+
+	public Boolean getStratifiedSample() {
+		return stratifiedSample;
+	}
+
+	public void setStratifiedSample(Boolean stratifiedSample) {
+		this.stratifiedSample = stratifiedSample;
+	}
+
+	public Long getPopulationSize() {
+		return populationSize;
+	}
+
+	public void setPopulationSize(Long populationSize) {
+		this.populationSize = populationSize;
+	}
+
+	public Double getSampleError() {
+		return sampleError;
+	}
+
+	public void setSampleError(Double sampleError) {
+		this.sampleError = sampleError;
+	}
+
+	public Double getNearDuplicateThreshold() {
+		return nearDuplicateThreshold;
+	}
+
+	public void setNearDuplicateThreshold(Double nearDuplicateThreshold) {
+		this.nearDuplicateThreshold = nearDuplicateThreshold;
+	}
+
+	public Boolean getExactNearDuplicates() {
+		return exactNearDuplicates;
+	}
+
+	public void setExactNearDuplicates(Boolean exactNearDuplicates) {
+		this.exactNearDuplicates = exactNearDuplicates;
+	}
+
+	public Integer getMaxEditDistance() {
+		return maxEditDistance;
+	}
+
+	public void setMaxEditDistance(Integer maxEditDistance) {
+		this.maxEditDistance = maxEditDistance;
+	}
+
+	public Integer getNearestTestCases() {
+		return nearestTestCases;
+	}
+
+	public void setNearestTestCases(Integer nearestTestCases) {
+		this.nearestTestCases = nearestTestCases;
+	}
+
+	public List<NearDuplicatePair> getNearDuplicates() {
+		return nearDuplicates;
+	}
+
+	public void setNearDuplicates(List<NearDuplicatePair> nearDuplicates) {
+		this.nearDuplicates = nearDuplicates;
+	}
 }
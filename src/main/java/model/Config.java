@@ -22,6 +22,9 @@ public class Config {
     private String resultRoundingMode; // Rounding mode used when calling setScale() on BigDecimals
     private String outputFileName;
     private String outputFileLocation;
+    private int mappedFileThreshold; // test suite files of at least this many megabytes are memory mapped, 0 to never map
+    private String suiteCacheLocation; // folder to cache parsed test suites in, empty to not cache test suites
+    private int shingleSize; // the number of elements in each shingle of the KGramShingles data representation
 
     public Config() {
     }
@@ -154,6 +157,30 @@ public class Config {
         this.reportFormatLocation = reportFormatLocation;
     }
 
+    public int getMappedFileThreshold() {
+        return mappedFileThreshold;
+    }
+
+    public void setMappedFileThreshold(int mappedFileThreshold) {
+        this.mappedFileThreshold = mappedFileThreshold;
+    }
+
+    public String getSuiteCacheLocation() {
+        return suiteCacheLocation;
+    }
+
+    public void setSuiteCacheLocation(String suiteCacheLocation) {
+        this.suiteCacheLocation = suiteCacheLocation;
+    }
+
+    public int getShingleSize() {
+        return shingleSize;
+    }
+
+    public void setShingleSize(int shingleSize) {
+        this.shingleSize = shingleSize;
+    }
+
     @Override
     public String toString() {
         return "Config{" +
@@ -173,6 +200,9 @@ public class Config {
                 ", resultRoundingMode='" + resultRoundingMode + '\'' +
                 ", outputFileName='" + outputFileName + '\'' +
                 ", outputFileLocation='" + outputFileLocation + '\'' +
+                ", mappedFileThreshold=" + mappedFileThreshold +
+                ", suiteCacheLocation='" + suiteCacheLocation + '\'' +
+                ", shingleSize=" + shingleSize +
                 '}';
     }
 }
@@ -43,8 +43,9 @@ public class ListwiseCommand implements Callable<Object> {
      * @return a double representing the result of the diversity calculation
      */
     public Object call() throws Exception {
+        Class<?> format = testsuite.isEmpty() ? null : testsuite.get(0).getClass();
         for(DataRepresentation testcase: testsuite) {
-            if (!testcase.getClass().equals(testsuite.get(0).getClass()))
+            if (!testcase.getClass().equals(format))
                 throw new TestCaseFormatMismatchException();
         }
         double result = comparison.compare(testsuite);
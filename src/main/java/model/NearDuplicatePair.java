@@ -0,0 +1,37 @@
+package model;
+
+/**
+ * A pair of test cases found to be near-duplicates, with their similarity under the metric of the comparison.
+ * Test cases are identified by their position in their test suite, counting from 0.
+ */
+public class NearDuplicatePair {
+	//the position of the first test case in the first suite
+	private int first;
+	//the position of the second test case, in the same suite as the first or in the second suite
+	private int second;
+	private double similarity;
+
+	/**Constructor*/
+	public NearDuplicatePair(int first, int second, double similarity) {
+		this.first = first;
+		this.second = second;
+		this.similarity = similarity;
+	}
+
+	public int getFirst() {
+		return first;
+	}
+
+	public int getSecond() {
+		return second;
+	}
+
+	public double getSimilarity() {
+		return similarity;
+	}
+
+	@Override
+	public String toString() {
+		return first + " " + second + " " + similarity;
+	}
+}
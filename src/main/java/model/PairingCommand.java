@@ -39,15 +39,28 @@ public class PairingCommand implements Callable<Object> {
     public List<Tuple<DataRepresentation, DataRepresentation>> call() throws NoSuchMethodException, IllegalAccessException, InvocationTargetException, InstantiationException, InvalidFormatException {
         int completedTasks = 0;
         List<Tuple<DataRepresentation, DataRepresentation>> pairs = new ArrayList<>();
+        //each test case is parsed once, unless the data representation can only be iterated over once
+        DataRepresentation parsed = parse(testCase);
+        boolean rewindable = parsed.cursor() != null;
         for (String t : testSuite) {
-            DataRepresentation d1 = format.getClass().getConstructor().newInstance();
-            d1.parse(testCase);
-            DataRepresentation d2 = format.getClass().getConstructor().newInstance();
-            d2.parse(t);
+            DataRepresentation d1 = rewindable ? parsed.cursor() : parse(testCase);
+            DataRepresentation d2 = parse(t);
             pairs.add(new Tuple<>(d1, d2));
             completedTasks++;
         }
         support.firePropertyChange(new PropertyChangeEvent(this, "completed", 0, completedTasks));
         return pairs;
     }
+
+    /**
+     * parses a test case into a new instance of the data representation
+     *
+     * @param s the test case
+     * @return the parsed test case
+     */
+    private DataRepresentation parse(String s) throws NoSuchMethodException, IllegalAccessException, InvocationTargetException, InstantiationException, InvalidFormatException {
+        DataRepresentation d = format.factory().get();
+        d.parse(s);
+        return d;
+    }
 }
@@ -0,0 +1,74 @@
+package model;
+
+import core.PairList;
+import data_representation.DataRepresentation;
+import metrics.comparison.pairwise.PairwiseComparisonStrategy;
+
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyChangeListener;
+import java.beans.PropertyChangeSupport;
+import java.util.concurrent.Callable;
+
+/**
+ * PairwiseTileCommands compare the pairs of one tile of a PairList: each of a run of consecutive test cases
+ * with each of another run. A tile only reads the test cases of its two runs, so when the runs are small enough,
+ * the test cases stay in cache while each is compared with every test case of the other run.
+ *
+ * The similarity of each pair is written at the position of the pair in the list, so tiles can be compared in any
+ * order, and by any number of threads at once, while the similarities stay in the order of the list.
+ */
+public class PairwiseTileCommand implements Callable<Object> {
+	private PairwiseComparisonStrategy comparison;
+	private PairList pairs;
+	private int[] tile;
+	private double[] similarities;
+	private PropertyChangeSupport support;
+
+	/**
+	 * constructor
+	 *
+	 * @param comparison the metric to compare each pair with
+	 * @param pairs the pairs the tile is part of
+	 * @param tile the first and last (exclusive) test case of the two runs, as given by PairList.tiles()
+	 * @param similarities the similarity of every pair of the list, which the tile fills its part of
+	 * @param pcl a listener for the progress of the command, which may be null
+	 */
+	public PairwiseTileCommand(PairwiseComparisonStrategy comparison, PairList pairs, int[] tile, double[] similarities,
+							   PropertyChangeListener pcl) {
+		this.comparison = comparison;
+		this.pairs = pairs;
+		this.tile = tile;
+		this.similarities = similarities;
+		support = new PropertyChangeSupport(this);
+		if (pcl != null)
+			support.addPropertyChangeListener(pcl);
+	}
+
+	/**
+	 * compare the pairs of the tile
+	 *
+	 * @return the number of pairs compared
+	 */
+	public Object call() throws Exception {
+		int completed = 0;
+		for (int i = tile[0]; i < tile[1]; i++) {
+			DataRepresentation testCase = pairs.getTestCase(i);
+			int first = tile[2];
+			while (first < tile[3] && !pairs.isPair(i, first))
+				first++;
+			if (first == tile[3])
+				continue;
+			//the partners of a test case are listed one after another, so the pairs of a row are consecutive
+			int position = pairs.positionOf(i, first);
+			for (int j = first; j < tile[3]; j++) {
+				DataRepresentation partner = pairs.getTestCase(j);
+				if (!testCase.getClass().equals(partner.getClass()))
+					throw new TestCaseFormatMismatchException();
+				similarities[position++] = comparison.compare(testCase.cursor(), partner.cursor());
+				completed++;
+			}
+		}
+		support.firePropertyChange(new PropertyChangeEvent(this, "complete", null, completed));
+		return completed;
+	}
+}
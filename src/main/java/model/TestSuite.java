@@ -0,0 +1,87 @@
+package model;
+
+import data_representation.DataRepresentation;
+import data_representation.SymbolTable;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * A test suite that has been read into the system. Each test suite is read from disk and parsed a single
+ * time, and the result is shared by every stage of a compare command: the parsed test cases are used to
+ * validate the suite and for listwise comparison, and the text of each test case is used for pairing.
+ */
+public class TestSuite implements Closeable {
+    //the text of each test case, or null if the test cases are only available parsed
+    private String[] testCases;
+    //each test case parsed into a data representation
+    private List<DataRepresentation> dataRepresentations;
+    //the number of test cases in the suite on disk, which is larger than the suite when it is a sample
+    private long populationSize;
+    //the table the elements of the test cases were given ids in
+    private SymbolTable symbols;
+
+    /**
+     * Constructor
+     *
+     * @param testCases the text of each test case, or null if the test cases are only available parsed
+     * @param dataRepresentations each test case parsed into a data representation
+     * @param symbols the table the elements of the test cases were given ids in
+     */
+    public TestSuite(String[] testCases, List<DataRepresentation> dataRepresentations, SymbolTable symbols) {
+        this(testCases, dataRepresentations, dataRepresentations.size(), symbols);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param testCases the text of each test case, or null if the test cases are only available parsed
+     * @param dataRepresentations each test case parsed into a data representation
+     * @param populationSize the number of test cases in the suite the test cases were sampled from
+     * @param symbols the table the elements of the test cases were given ids in
+     */
+    public TestSuite(String[] testCases, List<DataRepresentation> dataRepresentations, long populationSize, SymbolTable symbols) {
+        this.testCases = testCases;
+        this.dataRepresentations = dataRepresentations;
+        this.populationSize = populationSize;
+        this.symbols = symbols;
+    }
+
+    public String[] getTestCases() {
+        return testCases;
+    }
+
+    public List<DataRepresentation> getDataRepresentations() {
+        return dataRepresentations;
+    }
+
+    public long getPopulationSize() {
+        return populationSize;
+    }
+
+    /**
+     * @return the table the elements of the test cases were given ids in when the suite was read, which every
+     * test case of the suite shares
+     */
+    public SymbolTable getSymbolTable() {
+        return symbols;
+    }
+
+    public int size() {
+        return dataRepresentations.size();
+    }
+
+    public boolean isEmpty() {
+        return dataRepresentations.isEmpty();
+    }
+
+    /**
+     * releases the file held by a test suite that was memory mapped rather than read into memory
+     */
+    @Override
+    public void close() throws IOException {
+        if (dataRepresentations instanceof Closeable)
+            ((Closeable) dataRepresentations).close();
+    }
+}
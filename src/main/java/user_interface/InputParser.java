@@ -28,6 +28,14 @@ public class InputParser {
 	private static final String SAVE_FLAG = "-s";
 	private static final String DATA_REPRESENTATION_FLAG = "-f";
 	private static final String REPORT_FORMAT_FLAG = "-r";
+	private static final String SAMPLE_FLAG = "-k";
+	private static final String NEAR_DUPLICATE_FLAG = "-n";
+	private static final String EDIT_DISTANCE_FLAG = "-e";
+	private static final String NEAREST_FLAG = "-q";
+	/*keyword following the sample size to sample each file of a test suite separately*/
+	private static final String STRATIFIED_KEYWORD = "stratified";
+	/*keyword following the similarity threshold to find every near-duplicate pair, rather than the likely ones*/
+	private static final String EXACT_KEYWORD = "exact";
 
 	/**
 	 * The main function provided by the InputParser object. parse() takes a
@@ -102,7 +110,9 @@ public class InputParser {
 	 */
 	private DataTransferObject parseCompareCommand(List<String> tokens) throws InvalidCommandException{
 		//expect command to match: compare <test-file-1> [<test-file-2>] <data-representation> [-m <pairwise-metric> | -a <aggregation-method> |
-		//													-d <delimiter> | -t <number-of-threads> | -s <output-file-location> | -r <report-format>]
+		//													-d <delimiter> | -t <number-of-threads> | -s <output-file-location> | -r <report-format> |
+		//													-k <sample-size> [stratified] | -n <similarity-threshold> [exact] | -e <edit-distance> |
+		//													-q <number-of-nearest>]
 		CompareDTO compare = new CompareDTO();
 
 		//first check the boundaries for allowable command sizes
@@ -210,6 +220,82 @@ public class InputParser {
 						compare.setReportFormats(reportFormats.toArray(new String[0]));
 					}
 					break;
+				case SAMPLE_FLAG: //found a flag to compare a random sample of test cases
+					if (isAtLastElement) {//reached the end of the tokens, so there is no value after the flag
+						throw new InvalidCommandException("No sample size specified after sample flag.");
+					}
+					i++;
+					if (isTokenCompareFlag(tokens.get(i))) {// the next token is a flag, so there is no value after the flag
+						throw new InvalidCommandException("No sample size specified after sample flag.");
+					}
+					try {
+						int sampleSize = Integer.parseInt(tokens.get(i));
+						if (sampleSize < 1)
+							throw new InvalidCommandException("Sample size must be a positive number.");
+						compare.setSampleSize(sampleSize);
+					} catch (NumberFormatException e) {
+						throw new InvalidCommandException("Value specified after sample flag is not a number.");
+					}
+					if (i + 1 < tokens.size() && tokens.get(i + 1).equals(STRATIFIED_KEYWORD)) {
+						i++;
+						compare.setStratifiedSample(true);
+					}
+					break;
+				case NEAR_DUPLICATE_FLAG: //found a flag to only report the pairs of test cases that are near-duplicates
+					if (isAtLastElement) {//reached the end of the tokens, so there is no value after the flag
+						throw new InvalidCommandException("No similarity threshold specified after near-duplicate flag.");
+					}
+					i++;
+					if (isTokenCompareFlag(tokens.get(i))) {// the next token is a flag, so there is no value after the flag
+						throw new InvalidCommandException("No similarity threshold specified after near-duplicate flag.");
+					}
+					try {
+						double threshold = Double.parseDouble(tokens.get(i));
+						if (!(threshold >= 0 && threshold <= 1))
+							throw new InvalidCommandException("Similarity threshold must be from 0 to 1.");
+						compare.setNearDuplicateThreshold(threshold);
+					} catch (NumberFormatException e) {
+						throw new InvalidCommandException("Value specified after near-duplicate flag is not a number.");
+					}
+					if (i + 1 < tokens.size() && tokens.get(i + 1).equals(EXACT_KEYWORD)) {
+						i++;
+						compare.setExactNearDuplicates(true);
+					}
+					break;
+				case EDIT_DISTANCE_FLAG: //found a flag to only report the pairs of test cases within a number of edits
+					if (isAtLastElement) {//reached the end of the tokens, so there is no value after the flag
+						throw new InvalidCommandException("No distance specified after edit distance flag.");
+					}
+					i++;
+					if (isTokenCompareFlag(tokens.get(i))) {// the next token is a flag, so there is no value after the flag
+						throw new InvalidCommandException("No distance specified after edit distance flag.");
+					}
+					try {
+						int maxEditDistance = Integer.parseInt(tokens.get(i));
+						if (maxEditDistance < 0)
+							throw new InvalidCommandException("Edit distance cannot be negative.");
+						compare.setMaxEditDistance(maxEditDistance);
+					} catch (NumberFormatException e) {
+						throw new InvalidCommandException("Value specified after edit distance flag is not a number.");
+					}
+					break;
+				case NEAREST_FLAG: //found a flag to find the nearest test cases of the first suite to each of the second
+					if (isAtLastElement) {//reached the end of the tokens, so there is no value after the flag
+						throw new InvalidCommandException("No number of test cases specified after nearest flag.");
+					}
+					i++;
+					if (isTokenCompareFlag(tokens.get(i))) {// the next token is a flag, so there is no value after the flag
+						throw new InvalidCommandException("No number of test cases specified after nearest flag.");
+					}
+					try {
+						int nearest = Integer.parseInt(tokens.get(i));
+						if (nearest < 1)
+							throw new InvalidCommandException("Number of nearest test cases must be a positive number.");
+						compare.setNearestTestCases(nearest);
+					} catch (NumberFormatException e) {
+						throw new InvalidCommandException("Value specified after nearest flag is not a number.");
+					}
+					break;
 				default: //the token is not a flag, and should not be in the command
 					throw new InvalidCommandException("Unrecognized token '" + tokens.get(i) + "'.");
 			}
@@ -240,7 +326,9 @@ public class InputParser {
 	 */
 	private boolean isTokenCompareFlag(String token) {
 		return token.equals(DIVERISTY_METRIC_FLAG) | token.equals(AGGREGATION_METHOD_FLAG) | token.equals(DELIMITER_FLAG) |
-				token.equals(NUMBER_THREADS_FLAG) | token.equals(SAVE_FLAG) | token.equals(REPORT_FORMAT_FLAG);
+				token.equals(NUMBER_THREADS_FLAG) | token.equals(SAVE_FLAG) | token.equals(REPORT_FORMAT_FLAG) | token.equals(SAMPLE_FLAG) |
+				token.equals(NEAR_DUPLICATE_FLAG) | token.equals(EDIT_DISTANCE_FLAG) |
+				token.equals(NEAREST_FLAG);
 	}
 
 	/**
@@ -0,0 +1,54 @@
+package utilities;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.RandomAccess;
+
+/**
+ * A fixed-size list of doubles kept in an array, rather than as a Double object for each value. A comparison has
+ * one similarity for every pair of test cases, so keeping them in an array takes 8 bytes for each pair instead of
+ * a reference and an object.
+ *
+ * Values can be read and replaced, and the list can be sorted, but values cannot be added or removed.
+ */
+public class DoubleList extends AbstractList<Double> implements RandomAccess {
+    private final double[] values;
+
+    /**
+     * Constructor
+     *
+     * @param values the values of the list, which are not copied, so later changes to the array are seen by the list
+     */
+    public DoubleList(double[] values) {
+        this.values = values;
+    }
+
+    @Override
+    public Double get(int index) {
+        return values[index];
+    }
+
+    @Override
+    public Double set(int index, Double value) {
+        double previous = values[index];
+        values[index] = value;
+        return previous;
+    }
+
+    @Override
+    public int size() {
+        return values.length;
+    }
+
+    /**
+     * sorting in natural order sorts the array itself, in the same order as Double.compareTo()
+     */
+    @Override
+    public void sort(Comparator<? super Double> c) {
+        if (c == null || c == Comparator.naturalOrder())
+            Arrays.sort(values);
+        else
+            super.sort(c);
+    }
+}
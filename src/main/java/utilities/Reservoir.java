@@ -0,0 +1,78 @@
+package utilities;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * A uniform random sample of a fixed size drawn from a stream of items of unknown length, using reservoir
+ * sampling. Each item is offered along with its position in the stream, so that the sample can be put back
+ * into the order the items appeared in.
+ *
+ * @param <T> the type of item sampled
+ */
+public class Reservoir<T> {
+    private int capacity;
+    //the number of items offered so far
+    private long seen;
+    private List<Tuple<Long, T>> items;
+
+    /**
+     * Constructor
+     *
+     * @param capacity the number of items to keep
+     */
+    public Reservoir(int capacity) {
+        if (capacity < 1)
+            throw new IllegalArgumentException("a reservoir must hold at least one item");
+        this.capacity = capacity;
+        this.items = new ArrayList<>();
+    }
+
+    /**
+     * offers the next item in the stream to the sample. Once the reservoir is full, the n-th item offered
+     * replaces a random item in the sample with probability capacity/n.
+     *
+     * @param position the position of the item in the stream
+     * @param item the item
+     * @param random the source of randomness
+     */
+    public void offer(long position, T item, Random random) {
+        seen++;
+        if (items.size() < capacity) {
+            items.add(new Tuple<>(position, item));
+        } else {
+            long j = (long) (random.nextDouble() * seen);
+            if (j < capacity)
+                items.set((int) j, new Tuple<>(position, item));
+        }
+    }
+
+    /**
+     * @return the number of items offered to the reservoir
+     */
+    public long getSeen() {
+        return seen;
+    }
+
+    /**
+     * @return the sampled items and their positions, in no particular order
+     */
+    public List<Tuple<Long, T>> getItems() {
+        return items;
+    }
+
+    /**
+     * reduces the sample to a smaller uniform random sample of itself
+     *
+     * @param size the number of items to keep
+     * @param random the source of randomness
+     */
+    public void shrink(int size, Random random) {
+        for (int i = 0; i < size && i < items.size(); i++)//a partial shuffle moves a random sample to the front
+            Collections.swap(items, i, i + random.nextInt(items.size() - i));
+        if (size < items.size())
+            items = new ArrayList<>(items.subList(0, size));
+    }
+}
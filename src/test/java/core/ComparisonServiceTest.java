@@ -4,17 +4,22 @@ import data_representation.CSV;
 import data_representation.DataRepresentation;
 import metrics.comparison.listwise.ShannonIndex;
 import metrics.comparison.pairwise.CommonElements;
+import metrics.comparison.pairwise.JaccardIndex;
 import metrics.comparison.pairwise.PairwiseComparisonStrategy;
 import org.junit.Before;
 import org.junit.Test;
 import utilities.Tuple;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.Random;
 import java.util.concurrent.Executors;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 /**
  * Test suite that tests the comparison service
@@ -80,6 +85,26 @@ public class ComparisonServiceTest {
     }
 
 
+    /**
+     * Test that the similarities of a comparison, which are kept in an array, can be read, replaced and sorted in
+     * place as the aggregation methods do, but not added to.
+     */
+    @Test
+    public void testResultsInArray() throws Exception {
+        List<Double> results = comparisonService.pairwiseCompare(halfSimilarPairs, strategy, null, false);
+        List<Double> expected = new ArrayList<>(results);
+        Collections.sort(expected);
+        Collections.sort(results);
+        assertEquals(expected, results);
+        results.set(0, 0.5);
+        assertEquals(0.5, results.get(0), TOLERANCE);
+        try {
+            results.add(1.0);
+            fail("a similarity was added to the results of a comparison");
+        } catch (UnsupportedOperationException e) {
+            assertEquals(10, results.size());
+        }
+    }
     /** TODO: This appears to be broken; shouldn't the result be 3 similarities?
      * Test for the comparison service with a listwise comparison.
      * @throws Exception when unable to make comparisons
@@ -149,4 +174,49 @@ public class ComparisonServiceTest {
                 comparisonService.listwiseCompare(testsuites2, new ShannonIndex(), null, false).get(0),
                 TOLERANCE);
     }
-}
\ No newline at end of file
+
+    /**
+     * Test that comparing a PairList tile by tile, sequentially or in a work-stealing pool, gives the similarity of
+     * each pair at its position in the list
+     */
+    @Test
+    public void testTiledComparison() throws Exception {
+        Random random = new Random(20);
+        List<DataRepresentation> testCases = new ArrayList<>();
+        for (int i = 0; i < 60; i++) {
+            StringBuilder testCase = new StringBuilder();
+            for (int j = random.nextInt(6); j >= 0; j--)
+                testCase.append(random.nextInt(8)).append(',');
+            testCases.add(new CSV(testCase.toString()));
+        }
+        List<PairList> lists = Arrays.asList(PairList.within(testCases),
+                PairList.between(Arrays.asList(testCases.subList(0, 25), testCases.subList(25, 60))));
+        ComparisonService workStealing = new ComparisonService(Executors.newWorkStealingPool(3));
+        for (PairList pairs : lists) {
+            List<Double> expected = comparisonService.pairwiseCompare(new ArrayList<>(pairs), new JaccardIndex(), null, false);
+            assertEquals(expected, comparisonService.pairwiseCompare(pairs, new JaccardIndex(), null, false));
+            assertEquals(expected, workStealing.pairwiseCompare(pairs, new JaccardIndex(), null, true));
+        }
+    }
+
+    /**
+     * Test that a tile holds fewer test cases when they are larger, and that there are always enough tiles to share
+     */
+    @Test
+    public void testTileSide() throws Exception {
+        List<DataRepresentation> small = new ArrayList<>();
+        List<DataRepresentation> large = new ArrayList<>();
+        StringBuilder text = new StringBuilder("0");
+        for (int i = 1; i < 2000; i++)
+            text.append(',').append(i);
+        for (int i = 0; i < 3000; i++) {
+            small.add(new CSV(String.valueOf(i)));
+            large.add(new CSV(text.toString()));
+        }
+        int smallSide = ComparisonService.tileSide(PairList.within(small));
+        int largeSide = ComparisonService.tileSide(PairList.within(large));
+        assertTrue(largeSide < smallSide);
+        assertTrue(smallSide <= 3000 / 12);
+        assertTrue(ComparisonService.tileSide(PairList.within(small.subList(0, 2))) >= 1);
+    }
+}
@@ -28,6 +28,10 @@ public class ControllerHelpTest {
             "\t\t\t-d <delimiter>: set the delimiter that separates test cases within the passed test suite file(s). This can be a character, string, or regular expression" + System.lineSeparator() +
             "\t\t\t-s <filename>: denote that the results of the operation should be saved to a file named <filename>" + System.lineSeparator() +
             "\t\t\t-t [<integer>]: denote that the operation should use a thread pool for concurrency, and optionally specify the number of threads" + System.lineSeparator() +
+            "\t\t\t-k <integer> [stratified]: compare a random sample of <integer> test cases from each test suite, optionally sampling each file of a folder in proportion to its size" + System.lineSeparator() +
+            "\t\t\t-n <threshold> [exact]: only find the pairs of test cases with at least <threshold> similarity, from MinHash signatures rather than comparing every pair, or every such pair with a prefix-filtered join when exact. Requires JaccardIndex or Dice" + System.lineSeparator() +
+            "\t\t\t-e <integer>: only find the pairs of test cases within <integer> edits of each other, from shared q-grams rather than comparing every pair. Requires Levenshtein" + System.lineSeparator() +
+            "\t\t\t-q <integer>: find the <integer> nearest test cases of the first test suite to each test case of the second, from an index of the first suite that is cached with it. Requires Levenshtein" + System.lineSeparator() +
             "\tconfig <parameter> <value>" + System.lineSeparator() +
             "\t\tsets the value of a parameter read from the configuration file" + System.lineSeparator() +
             "\thelp" + System.lineSeparator() +
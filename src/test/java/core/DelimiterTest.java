@@ -0,0 +1,51 @@
+package core;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test suite for the classification and searching of test case delimiters
+ */
+public class DelimiterTest {
+
+    @Test
+    /*test that delimiters without regular expression metacharacters are classified as literal text*/
+    public void testClassification() {
+        assertTrue(Delimiter.of("\r\n").isLiteral());
+        assertTrue(Delimiter.of("   ").isLiteral());
+        assertTrue(Delimiter.of("--end--").isLiteral());
+        assertFalse(Delimiter.of(";+").isLiteral());
+        assertFalse(Delimiter.of("\\n").isLiteral());
+        assertFalse(Delimiter.of("").isLiteral());
+        assertNotNull(Delimiter.of(";+").getPattern());
+        assertNull(Delimiter.of(null));
+    }
+
+    @Test
+    /*test that the same delimiter is only classified once*/
+    public void testDelimitersCached() {
+        assertSame(Delimiter.of("a|b"), Delimiter.of("a|b"));
+        assertSame(Delimiter.of("ab"), Delimiter.of("ab"));
+    }
+
+    @Test
+    /*test that a literal delimiter is found in the same places as String.indexOf finds it*/
+    public void testIndexInMatchesIndexOf() {
+        Random random = new Random(0);
+        String[] delimiters = {"a", "ab", "aab", "\n\n", "bé一"};
+        for (int trial = 0; trial < 500; trial++) {
+            StringBuilder text = new StringBuilder();
+            int length = random.nextInt(40);
+            for (int i = 0; i < length; i++)
+                text.append("ab\né一".charAt(random.nextInt(5)));
+            for (String s : delimiters) {
+                Delimiter delimiter = Delimiter.of(s);
+                for (int from = 0; from <= text.length(); from++)
+                    assertEquals(text.indexOf(s, from), delimiter.indexIn(text, from));
+            }
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package core;
+
+import data_representation.CSV;
+import data_representation.DataRepresentation;
+import data_representation.EventSequence;
+import data_representation.SymbolTable;
+import metrics.comparison.pairwise.PairwiseComparisonStrategy;
+import org.junit.Test;
+import utilities.Tuple;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test suite for the pairs of test cases with repeated test cases folded together
+ */
+public class DistinctPairsTest {
+    //counts every comparison made
+    private final AtomicInteger comparisons = new AtomicInteger();
+    //a metric that is not symmetric, so a pair compared in the wrong order gives another result
+    private final PairwiseComparisonStrategy asymmetric = (testCase1, testCase2) -> {
+        comparisons.incrementAndGet();
+        double result = 0;
+        for (int i = 1; testCase1.hasNext(); i++)
+            result += i * valueOf(testCase1.next());
+        while (testCase2.hasNext())
+            result -= 0.5 * valueOf(testCase2.next());
+        return result;
+    };
+
+    /*reads an element as a number, with an empty element as 0*/
+    private static double valueOf(Object element) {
+        String text = element.toString();
+        return text.isEmpty() ? 0 : Double.parseDouble(text);
+    }
+
+    /*makes a suite of test cases drawn from a few distinct test cases*/
+    private static List<DataRepresentation> suite(Random random, int size, int distinct) throws Exception {
+        return Fixtures.variations(random, size, distinct, 3, 5, 0);
+    }
+
+    /*compares every pair of a list, without folding any test cases together*/
+    private List<Double> compareEvery(List<Tuple<DataRepresentation, DataRepresentation>> pairs) throws Exception {
+        return new ComparisonService().pairwiseCompare(new ArrayList<>(pairs), asymmetric, null, false);
+    }
+
+    @Test
+    /*test that folding repeated test cases within a suite gives the similarity of every pair, in order*/
+    public void testWithin() throws Exception {
+        Random random = Fixtures.random();
+        for (int trial = 0; trial < 50; trial++) {
+            DistinctPairs pairs = DistinctPairs.within(suite(random, random.nextInt(40), 1 + random.nextInt(8)));
+            List<Double> expected = compareEvery(pairs);
+            comparisons.set(0);
+            assertEquals(expected, new ComparisonService().pairwiseCompare(pairs, asymmetric, null, false));
+            assertEquals(pairs.getDistinctPairs().size() + pairs.getExtraPairs().size(), comparisons.get());
+        }
+    }
+
+    @Test
+    /*test that folding repeated test cases of each suite gives the similarity of every pair between the suites*/
+    public void testBetween() throws Exception {
+        Random random = Fixtures.random();
+        ComparisonService workStealing = new ComparisonService(Executors.newWorkStealingPool(2));
+        for (int trial = 0; trial < 30; trial++) {
+            List<List<DataRepresentation>> testSuites = new ArrayList<>();
+            for (int s = random.nextInt(4); s >= 0; s--)
+                testSuites.add(suite(random, random.nextInt(25), 1 + random.nextInt(6)));
+            DistinctPairs pairs = DistinctPairs.between(testSuites);
+            assertTrue(pairs.getExtraPairs().isEmpty());
+            List<Double> expected = compareEvery(pairs);
+            assertEquals(expected, new ComparisonService().pairwiseCompare(pairs, asymmetric, null, false));
+            assertEquals(expected, workStealing.pairwiseCompare(pairs, asymmetric, null, true));
+        }
+    }
+
+    @Test
+    /*test that only the distinct pairs are compared, with a repeated test case compared with itself once*/
+    public void testDistinctPairs() throws Exception {
+        List<DataRepresentation> testSuite = Fixtures.csv("1,2", "3", "1,2");
+        DistinctPairs pairs = DistinctPairs.within(testSuite);
+        assertEquals(3, pairs.size());
+        assertEquals(1, pairs.getDistinctPairs().size());
+        //"1,2" with itself, and "3" before a later "1,2"
+        assertEquals(2, pairs.getExtraPairs().size());
+        assertEquals("1,2", pairs.getExtraPairs().get(0).getLeft().toString());
+        assertEquals("3", pairs.getExtraPairs().get(1).getLeft().toString());
+        assertEquals("1,2", pairs.getExtraPairs().get(1).getRight().toString());
+        assertEquals("3", pairs.get(2).getLeft().toString());
+    }
+
+    @Test
+    /*test that traces differing only in their identifiers are folded together*/
+    public void testIdentifiersIgnored() throws Exception {
+        SymbolTable symbols = new SymbolTable();
+        List<DataRepresentation> testSuite = Arrays.asList(Fixtures.parse(new EventSequence(), symbols, "[1] Start-a-s1-b-s2"),
+                Fixtures.parse(new EventSequence(), symbols, "[2] Start-a-s1-b-s2"),
+                Fixtures.parse(new EventSequence(), symbols, "[3] Start-a-s1-c-s2"));
+        assertEquals(2, DistinctPairs.within(testSuite).getDistinctPairs().getTestCaseCount());
+    }
+
+    @Test
+    /*test that folding the edge cases, within and between suites, gives the similarity of every pair, with each set
+    of repeated test cases compared once*/
+    public void testEdgeCases() throws Exception {
+        List<List<DataRepresentation>> testSuites = Fixtures.edgeCases();
+        for (List<DataRepresentation> testSuite : testSuites) {
+            DistinctPairs pairs = DistinctPairs.within(testSuite);
+            assertEquals(compareEvery(pairs), new ComparisonService().pairwiseCompare(pairs, asymmetric, null, false));
+            for (List<DataRepresentation> other : testSuites) {
+                pairs = DistinctPairs.between(Arrays.asList(testSuite, other));
+                assertEquals(compareEvery(pairs), new ComparisonService().pairwiseCompare(pairs, asymmetric, null, false));
+            }
+        }
+        //"1,2" three times, "2,1" and "1,2,3": the pairs of the three distinct test cases, and "1,2" with itself
+        DistinctPairs ties = DistinctPairs.within(testSuites.get(4));
+        assertEquals(10, ties.size());
+        assertEquals(3, ties.getDistinctPairs().getTestCaseCount());
+    }
+
+    @Test
+    /*test that test cases without a content key are never folded together*/
+    public void testNoContentKey() throws Exception {
+        List<DataRepresentation> testSuite = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            testSuite.add(new CSV("1") {
+                @Override
+                public Object contentKey() {
+                    return null;
+                }
+            });
+        }
+        DistinctPairs pairs = DistinctPairs.within(testSuite);
+        assertEquals(6, pairs.getDistinctPairs().size());
+        assertTrue(pairs.getExtraPairs().isEmpty());
+    }
+}
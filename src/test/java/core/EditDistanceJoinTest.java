@@ -0,0 +1,106 @@
+package core;
+
+import data_representation.DataRepresentation;
+import metrics.comparison.pairwise.Hamming;
+import metrics.comparison.pairwise.Levenshtein;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test suite for finding every pair of test cases within an edit distance with a q-gram join
+ */
+public class EditDistanceJoinTest {
+    private final Levenshtein metric = new Levenshtein();
+
+    /*makes test cases of varying lengths, many of which are edits of a few random test cases*/
+    private static List<DataRepresentation> suite(Random random, int size) throws Exception {
+        return Fixtures.variations(random, size, 4, 20, 8, 3);
+    }
+
+    /*finds the pairs within the distance by comparing every pair with the metric*/
+    private List<String> compareEvery(List<DataRepresentation> testSuite1, List<DataRepresentation> testSuite2,
+                                      int maxDistance) throws Exception {
+        return Fixtures.compareEvery(testSuite1, testSuite2, metric, distance -> distance <= maxDistance);
+    }
+
+    @Test
+    /*test that the join finds exactly the pairs within a suite that are within the distance, in order*/
+    public void testJoinWithin() throws Exception {
+        Random random = Fixtures.random();
+        for (int trial = 0; trial < 20; trial++) {
+            List<DataRepresentation> testSuite = suite(random, random.nextInt(80));
+            for (int maxDistance = 0; maxDistance <= 6; maxDistance++) {
+                for (int gramLength = 1; gramLength <= 3; gramLength++) {
+                    EditDistanceJoin join = new EditDistanceJoin(maxDistance, gramLength);
+                    assertEquals(compareEvery(testSuite, null, maxDistance), Fixtures.toStrings(join.joinWithin(testSuite)));
+                }
+            }
+        }
+    }
+
+    @Test
+    /*test that the join finds exactly the pairs between suites that are within the distance, in order*/
+    public void testJoinBetween() throws Exception {
+        Random random = Fixtures.random();
+        for (int trial = 0; trial < 20; trial++) {
+            List<DataRepresentation> testSuite1 = suite(random, random.nextInt(40));
+            List<DataRepresentation> testSuite2 = suite(random, random.nextInt(40));
+            for (int maxDistance : new int[]{0, 2, 5}) {
+                EditDistanceJoin join = new EditDistanceJoin(maxDistance);
+                assertEquals(compareEvery(testSuite1, testSuite2, maxDistance), Fixtures.toStrings(join.joinBetween(testSuite1, testSuite2)));
+            }
+        }
+    }
+
+    @Test
+    /*test that test cases of one element, which the metric finds no distance between, are paired*/
+    public void testSingleElements() throws Exception {
+        List<DataRepresentation> testSuite = Fixtures.csv("1", "2", "1,2,3");
+        assertEquals(compareEvery(testSuite, null, 0), Fixtures.toStrings(new EditDistanceJoin(0).joinWithin(testSuite)));
+        assertEquals(compareEvery(testSuite, null, 2), Fixtures.toStrings(new EditDistanceJoin(2).joinWithin(testSuite)));
+    }
+
+    @Test
+    /*test that the join finds the pairs of the edge cases, within and between suites, at no distance and past it*/
+    public void testEdgeCases() throws Exception {
+        List<List<DataRepresentation>> testSuites = Fixtures.edgeCases();
+        for (List<DataRepresentation> testSuite : testSuites) {
+            for (int maxDistance = 0; maxDistance <= 4; maxDistance++) {
+                EditDistanceJoin join = new EditDistanceJoin(maxDistance);
+                assertEquals(compareEvery(testSuite, null, maxDistance), Fixtures.toStrings(join.joinWithin(testSuite)));
+                for (List<DataRepresentation> other : testSuites)
+                    assertEquals(compareEvery(testSuite, other, maxDistance),
+                            Fixtures.toStrings(join.joinBetween(testSuite, other)));
+            }
+        }
+    }
+
+    @Test
+    /*test that the banded distance is the edit distance when it is within the bound, and past the bound otherwise*/
+    public void testDistance() {
+        int[] s = {1, 2, 3, 4, 5};
+        assertEquals(0, EditDistanceJoin.distance(s, s, 0));
+        assertEquals(1, EditDistanceJoin.distance(s, new int[]{1, 2, 4, 5}, 1));
+        assertEquals(2, EditDistanceJoin.distance(s, new int[]{2, 3, 4, 5, 6}, 3));
+        assertEquals(2, EditDistanceJoin.distance(s, new int[]{2, 3, 4, 5, 6}, 1));
+        assertEquals(4, EditDistanceJoin.distance(s, new int[]{}, 3));
+        assertEquals(5, EditDistanceJoin.distance(s, new int[]{}, 5));
+    }
+
+    @Test
+    /*test that only edit distances have joins*/
+    public void testForMetric() {
+        assertEquals(3, EditDistanceJoin.forMetric(new Levenshtein(), 3).getMaxDistance());
+        assertNull(EditDistanceJoin.forMetric(new Hamming(), 3));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    /*test that a distance cannot be negative*/
+    public void testInvalidDistance() {
+        new EditDistanceJoin(-1);
+    }
+}
@@ -3,6 +3,8 @@ package core;
 import data_representation.CSV;
 import data_representation.DataRepresentation;
 import data_representation.StateSequence;
+import data_representation.SymbolTable;
+import model.TestSuite;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -11,6 +13,10 @@ import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.lang.reflect.InvocationTargetException;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Stream;
 
 import static org.junit.Assert.*;
 
@@ -263,5 +269,189 @@ public class FileReaderTest {
         removeFile(folderName+"/"+file3);
         new File(folderName).delete();
     }
-}
 
+    @Test
+    /*test for: TestSuite readTestSuite(String filename, String delimiter, DataRepresentation format, SymbolTable symbols)
+     *
+     * Test that reading a test suite parses each test case, and only keeps its text when the suite is cached
+     */
+    public void testReadTestSuite() throws Exception {
+        String filename = "test";
+        String[] expected = new String[]{"1,2,3", "4,5", "6"};
+        createFile(filename, "1,2,3\n4,5\n6");
+        TestSuite testSuite = fileReader.readTestSuite(filename, System.lineSeparator(), new CSV(), new SymbolTable());
+
+        assertNull(testSuite.getTestCases());
+        assertEquals(3, testSuite.size());
+        for (int i = 0; i < testSuite.size(); i++) {
+            assertTrue(testSuite.getDataRepresentations().get(i) instanceof CSV);
+            assertEquals(expected[i], testSuite.getDataRepresentations().get(i).toString());
+        }
+
+        File cacheFolder = new File("read-test-suite-cache");
+        fileReader.setSuiteCache(new SuiteCache(cacheFolder));
+        testSuite = fileReader.readTestSuite(filename, System.lineSeparator(), new CSV(), new SymbolTable());
+        removeFile(filename);
+        for (File f : Objects.requireNonNull(cacheFolder.listFiles()))
+            f.delete();
+        cacheFolder.delete();
+        assertArrayEquals(expected, testSuite.getTestCases());
+    }
+
+    @Test
+    /*test for: TestSuite sampleTestSuite(String filename, String delimiter, DataRepresentation format, int sampleSize, boolean stratified, long seed, SymbolTable symbols)
+     *
+     * Test that a sample has the requested size, keeps the order of the suite, and is the same for the same seed
+     */
+    public void testSampleTestSuite() throws Exception {
+        String filename = "test";
+        StringBuilder contents = new StringBuilder();
+        for (int i = 0; i < 100; i++)
+            contents.append(i).append("\n");
+        createFile(filename, contents.toString());
+        TestSuite sample = fileReader.sampleTestSuite(filename, System.lineSeparator(), new CSV(), 10, false, 1, new SymbolTable());
+        TestSuite sameSeed = fileReader.sampleTestSuite(filename, System.lineSeparator(), new CSV(), 10, false, 1, new SymbolTable());
+        TestSuite whole = fileReader.sampleTestSuite(filename, System.lineSeparator(), new CSV(), 1000, false, 1, new SymbolTable());
+        removeFile(filename);
+
+        assertEquals(10, sample.size());
+        assertEquals(100, sample.getPopulationSize());
+        assertArrayEquals(sample.getTestCases(), sameSeed.getTestCases());
+        for (int i = 1; i < sample.size(); i++)
+            assertTrue(Integer.parseInt(sample.getTestCases()[i - 1]) < Integer.parseInt(sample.getTestCases()[i]));
+        for (int i = 0; i < sample.size(); i++)
+            assertEquals(sample.getTestCases()[i], sample.getDataRepresentations().get(i).toString());
+        assertEquals(100, whole.size());
+        assertEquals(100, whole.getPopulationSize());
+    }
+
+    @Test
+    /*test for: TestSuite sampleTestSuite(String filename, String delimiter, DataRepresentation format, int sampleSize, boolean stratified, long seed, SymbolTable symbols)
+     *
+     * Test that a stratified sample takes test cases from each file in proportion to the size of the file
+     */
+    public void testSampleTestSuiteStratified() throws Exception {
+        String folderName = "file-reader-service-sample-folder";
+        File folder = new File(folderName);
+        if (!folder.mkdir())
+            fail();
+        StringBuilder large = new StringBuilder();
+        StringBuilder small = new StringBuilder();
+        for (int i = 0; i < 90; i++)
+            large.append("1,").append(i).append("\n");
+        for (int i = 0; i < 10; i++)
+            small.append("2,").append(i).append("\n");
+        createFile(folderName + "/a-file", large.toString());
+        createFile(folderName + "/b-file", small.toString());
+        TestSuite sample = fileReader.sampleTestSuite(folderName, System.lineSeparator(), new CSV(), 10, true, 1, new SymbolTable());
+        removeFile(folderName + "/a-file");
+        removeFile(folderName + "/b-file");
+        folder.delete();
+
+        assertEquals(10, sample.size());
+        assertEquals(100, sample.getPopulationSize());
+        int fromSmallFile = 0;
+        for (String testCase : sample.getTestCases()) {
+            if (testCase.startsWith("2,"))
+                fromSmallFile++;
+        }
+        assertEquals(1, fromSmallFile);
+        assertTrue(sample.getTestCases()[9].startsWith("2,"));
+    }
+
+    @Test
+    /*test for: TestSuite sampleTestSuite(String filename, String delimiter, DataRepresentation format, int sampleSize, boolean stratified, long seed, SymbolTable symbols)
+     *
+     * Test that a file read before a larger file keeps only its share of a stratified sample
+     */
+    public void testSampleTestSuiteStratifiedSmallFileFirst() throws Exception {
+        String folderName = "file-reader-service-sample-folder";
+        File folder = new File(folderName);
+        if (!folder.mkdir())
+            fail();
+        StringBuilder small = new StringBuilder();
+        StringBuilder large = new StringBuilder();
+        for (int i = 0; i < 10; i++)
+            small.append("1,").append(i).append("\n");
+        for (int i = 0; i < 90; i++)
+            large.append("2,").append(i).append("\n");
+        createFile(folderName + "/a-file", small.toString());
+        createFile(folderName + "/b-file", large.toString());
+        TestSuite sample = fileReader.sampleTestSuite(folderName, System.lineSeparator(), new CSV(), 10, true, 1, new SymbolTable());
+        removeFile(folderName + "/a-file");
+        removeFile(folderName + "/b-file");
+        folder.delete();
+
+        assertEquals(10, sample.size());
+        assertEquals(100, sample.getPopulationSize());
+        assertTrue(sample.getTestCases()[0].startsWith("1,"));
+        for (int i = 1; i < 10; i++)
+            assertTrue(sample.getTestCases()[i].startsWith("2,"));
+    }
+
+    @Test
+    /*test for: String[] readTestCases(String filename, String delimiter)
+     *
+     * Test that the files of a folder read in parallel are returned in a deterministic order, the same
+     * as when they are read one at a time
+     */
+    public void testFolderReadInParallel() throws Exception {
+        String folderName = "file-reader-service-parallel-folder";
+        File folder = new File(folderName);
+        File subFolder = new File(folder, "b-sub-folder");
+        if (!folder.mkdir() || !subFolder.mkdir())
+            fail();
+        createFile(folderName + "/c-file", "5\n6");
+        createFile(folderName + "/a-file", "1\n2");
+        createFile(subFolder.getPath() + "/a-file", "3\n4");
+
+        String[] expected = {"1", "2", "3", "4", "5", "6"};
+        ExecutorService readers = Executors.newWorkStealingPool(4);
+        fileReader.setReaders(readers);
+        assertArrayEquals(expected, fileReader.readTestCases(folderName, System.lineSeparator()));
+        DataRepresentation[] testCases = fileReader.readIntoDataRepresentation(folderName, System.lineSeparator(), new CSV());
+        for (int i = 0; i < expected.length; i++)
+            assertEquals(expected[i], testCases[i].toString());
+        readers.shutdown();
+        //a pool that has been shut down is no longer used, and the files are read one at a time
+        assertArrayEquals(expected, fileReader.readTestCases(folderName, System.lineSeparator()));
+        fileReader.setReaders(null);
+        assertArrayEquals(expected, fileReader.readTestCases(folderName, System.lineSeparator()));
+
+        removeFile(folderName + "/c-file");
+        removeFile(folderName + "/a-file");
+        removeFile(subFolder.getPath() + "/a-file");
+        subFolder.delete();
+        folder.delete();
+    }
+
+    @Test
+    /*test for: Stream<String> streamTestCases(String filename, String delimiter)
+     *
+     * Test that streaming a test suite yields the same test cases as reading the whole suite at once
+     */
+    public void testStreamTestCases() throws Exception {
+        String filename = "test";
+        String delimiter = "   ";
+        createFile(filename, "1,2,3,4,5,6   1,2,3   5,6,7");
+
+        try (Stream<String> testCases = fileReader.streamTestCases(filename, delimiter)) {
+            assertArrayEquals(fileReader.readTestCases(filename, delimiter), testCases.toArray());
+        }
+        removeFile(filename);
+    }
+
+    @Test
+    /*test for: Stream<String> streamTestCases(String filename, String delimiter)
+     *
+     * Test that a FileNotFoundException is thrown when streaming a file that does not exist
+     */
+    public void testStreamTestCasesNoMatchingFile() {
+        try {
+            fileReader.streamTestCases("filename", "\r\n");
+            fail(); // if exception not thrown, fail
+        } catch (Exception e) {
+            assertTrue(e instanceof FileNotFoundException);
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package core;
+
+import data_representation.CSV;
+import data_representation.DataRepresentation;
+import data_representation.SymbolTable;
+import metrics.comparison.pairwise.PairwiseComparisonStrategy;
+import model.NearDuplicatePair;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.DoublePredicate;
+
+/**
+ * Test suites shared by the tests of comparisons over whole test suites: random suites of variations of a few test
+ * cases, fixed suites of edge cases, and a brute-force comparison of every pair to check the results against.
+ */
+public final class Fixtures {
+    //the seed of every random suite, so a failing test sees the same suites when it is run again
+    public static final long SEED = 0x5EED;
+
+    /*suites of edge cases: no test cases, one test case, a test case of one empty element, test cases with nothing in
+    common, and ties, where several test cases are repeated or have the same elements in another order*/
+    private static final String[][] EDGE_CASES = {
+            {},
+            {"1,2,3"},
+            {",", ",", "1"},
+            {"1", "2", "3,4"},
+            {"1,2", "1,2", "2,1", "1,2,3", "1,2"},
+            {"1,2,3,4", "1,2,3,5", "1,2,3,6", "5,2,3,4"},
+    };
+
+    private Fixtures() {
+    }
+
+    /**
+     * @return a new source of randomness, seeded with SEED
+     */
+    public static Random random() {
+        return new Random(SEED);
+    }
+
+    /**
+     * parses a test case into a table, as each test case of a suite read by a compare command is
+     *
+     * @param format the data representation to read the test case into
+     * @param symbols the table the elements are given ids in
+     * @param testCase the text of the test case
+     * @return the parsed test case
+     */
+    public static DataRepresentation parse(DataRepresentation format, SymbolTable symbols, String testCase) throws Exception {
+        DataRepresentation parsed = format.factory(symbols).get();
+        parsed.parse(testCase);
+        return parsed;
+    }
+
+    /**
+     * parses test cases as comma separated values, all into one table
+     *
+     * @param testCases the text of each test case
+     * @return the parsed test suite
+     */
+    public static List<DataRepresentation> csv(String... testCases) throws Exception {
+        SymbolTable symbols = new SymbolTable();
+        List<DataRepresentation> testSuite = new ArrayList<>();
+        for (String testCase : testCases)
+            testSuite.add(parse(new CSV(), symbols, testCase));
+        return testSuite;
+    }
+
+    /**
+     * @return each suite of edge cases, parsed as comma separated values
+     */
+    public static List<List<DataRepresentation>> edgeCases() throws Exception {
+        List<List<DataRepresentation>> testSuites = new ArrayList<>();
+        for (String[] testSuite : EDGE_CASES)
+            testSuites.add(csv(testSuite));
+        return testSuites;
+    }
+
+    /**
+     * makes a suite of comma separated values where each test case is a random one of a few original test cases
+     * with a few random edits, so that many pairs are similar and many are the same distance apart
+     *
+     * @param random the source of randomness
+     * @param size the number of test cases
+     * @param originals the number of original test cases
+     * @param maxLength the most elements in an original test case, which has at least one
+     * @param alphabet the number of distinct elements
+     * @param maxEdits the most elements inserted, replaced or removed in a test case
+     * @return the test suite
+     */
+    public static List<DataRepresentation> variations(Random random, int size, int originals, int maxLength,
+                                                      int alphabet, int maxEdits) throws Exception {
+        List<List<Integer>> sources = new ArrayList<>();
+        for (int o = 0; o < originals; o++) {
+            List<Integer> elements = new ArrayList<>();
+            for (int e = 1 + random.nextInt(maxLength); e > 0; e--)
+                elements.add(random.nextInt(alphabet));
+            sources.add(elements);
+        }
+        String[] testCases = new String[size];
+        for (int i = 0; i < size; i++) {
+            List<Integer> elements = new ArrayList<>(sources.get(random.nextInt(originals)));
+            for (int edits = random.nextInt(maxEdits + 1); edits > 0; edits--) {
+                int position = random.nextInt(elements.size() + 1);
+                int edit = random.nextInt(3);
+                if (edit == 0)
+                    elements.add(position, random.nextInt(alphabet));
+                else if (position < elements.size() && (edit == 1 || elements.size() == 1))
+                    elements.set(position, random.nextInt(alphabet));
+                else if (position < elements.size())
+                    elements.remove(position);
+            }
+            StringBuilder testCase = new StringBuilder();
+            for (int element : elements)
+                testCase.append(element).append(',');
+            testCases[i] = testCase.toString();
+        }
+        return csv(testCases);
+    }
+
+    /**
+     * compares every pair of test cases with a metric, as the PairingService pairs them, and keeps the pairs whose
+     * result passes a test
+     *
+     * @param testSuite1 the first test suite
+     * @param testSuite2 the second test suite, or null to pair the test cases of the first suite with each other
+     * @param metric the metric to compare each pair with
+     * @param kept whether the pair with a result is kept
+     * @return each pair kept, in order, as its NearDuplicatePair text
+     */
+    public static List<String> compareEvery(List<DataRepresentation> testSuite1, List<DataRepresentation> testSuite2,
+                                            PairwiseComparisonStrategy metric, DoublePredicate kept) throws Exception {
+        List<DataRepresentation> partners = (testSuite2 == null) ? testSuite1 : testSuite2;
+        List<String> pairs = new ArrayList<>();
+        for (int i = 0; i < testSuite1.size(); i++) {
+            for (int j = (testSuite2 == null) ? i + 1 : 0; j < partners.size(); j++) {
+                double result = metric.compare(testSuite1.get(i).cursor(), partners.get(j).cursor());
+                if (kept.test(result))
+                    pairs.add(new NearDuplicatePair(i, j, result).toString());
+            }
+        }
+        return pairs;
+    }
+
+    /**
+     * @return the text of each item, in order
+     */
+    public static List<String> toStrings(List<?> items) {
+        List<String> strings = new ArrayList<>(items.size());
+        for (Object item : items)
+            strings.add(String.valueOf(item));
+        return strings;
+    }
+}
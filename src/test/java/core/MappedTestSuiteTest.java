@@ -0,0 +1,191 @@
+package core;
+
+import data_representation.CSV;
+import data_representation.DataRepresentation;
+import data_representation.SymbolTable;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test suite for test suites read with a memory mapped file
+ */
+public class MappedTestSuiteTest {
+    private static final String NEWLINE = System.lineSeparator();
+    private static final String FILENAME = "mapped-test-suite";
+    private File file;
+
+    /**
+     * a data representation that accepts any test case, so that splitting can be checked on its own
+     */
+    public static class AnyText implements DataRepresentation {
+        private String testcase;
+
+        @Override
+        public boolean hasNext() {
+            return false;
+        }
+
+        @Override
+        public Object next() {
+            return null;
+        }
+
+        @Override
+        public void parse(String s) {
+            testcase = s;
+        }
+
+        @Override
+        public String toString() {
+            return testcase;
+        }
+
+        @Override
+        public String getDescription() {
+            return "any text";
+        }
+    }
+
+    @Before
+    /*setup to perform before each test case*/
+    public void setup() {
+        file = new File(FILENAME);
+    }
+
+    @After
+    /*cleanup to perform after each test case*/
+    public void tearDown() {
+        file.delete();
+    }
+
+    /**
+     * writes the contents of the simulated test suite file
+     *
+     * @param contents the contents of the file
+     */
+    private void writeFile(String contents) throws IOException {
+        FileOutputStream out = new FileOutputStream(file);
+        out.write(contents.getBytes());
+        out.close();
+    }
+
+    /**
+     * helper method to check that mapping a file splits it into the same test cases as reading it
+     *
+     * @param contents the contents of the simulated test suite file
+     * @param delimiter the literal delimiter between test cases
+     */
+    private void assertSplitLikeReader(String contents, String delimiter) throws Exception {
+        writeFile(contents);
+        String[] expected = new FileReaderService().readTestCases(FILENAME, delimiter);
+        try (MappedTestSuite suite = new MappedTestSuite(file, delimiter, new AnyText(), new SymbolTable())) {
+            String[] actual = new String[suite.size()];
+            for (int i = 0; i < actual.length; i++)
+                actual[i] = suite.getTestCase(i);
+            assertArrayEquals(expected, actual);
+        }
+    }
+
+    @Test
+    /*test that test cases are split on a literal delimiter in the same way as they are read*/
+    public void testSplitOnDelimiter() throws Exception {
+        assertSplitLikeReader("1,2,3   4,5   6", "   ");
+        assertSplitLikeReader("1,2,3   4,5   6\n", "   ");
+        assertSplitLikeReader("1,2,3   4,5   6", null);
+    }
+
+    @Test
+    /*test that empty test cases are kept or dropped in the same way as they are read*/
+    public void testEmptyTestCases() throws Exception {
+        assertSplitLikeReader("1;;2;;;", ";");
+        assertSplitLikeReader(";1;2", ";");
+        assertSplitLikeReader(";;;", ";");
+    }
+
+    @Test
+    /*test that a delimiter containing line separators matches any line terminator in the file*/
+    public void testLineBreakDelimiter() throws Exception {
+        assertSplitLikeReader("1,2\r\r\n3,4\r\r\n5\r\n", NEWLINE + NEWLINE);
+        assertSplitLikeReader("1,2\n\n3,4\r\n\r\n5\r\r6", NEWLINE + NEWLINE);
+        assertSplitLikeReader("1,2\r\n3\n4\r5", NEWLINE);
+    }
+
+    @Test
+    /*test that every line terminator a reader recognizes splits a mapped file in the same way*/
+    public void testUnicodeLineTerminators() throws Exception {
+        for (String terminator : new String[]{"\u2028", "\u2029", "\u0085"}) {
+            assertSplitLikeReader("1,2" + terminator + "3" + terminator + terminator + "4", NEWLINE);
+            assertSplitLikeReader("1,2" + terminator + terminator + "3,4\r\n\n5" + terminator, NEWLINE + NEWLINE);
+            assertSplitLikeReader("1;2" + terminator + "3;4" + terminator, ";");
+            assertSplitLikeReader("1" + terminator + "2", terminator);
+        }
+    }
+
+    @Test
+    /*test that a test case that does not match the data representation is only found when it is retrieved*/
+    public void testLazyValidation() throws Exception {
+        writeFile("1,2\n\n4,5");
+        try (MappedTestSuite suite = new MappedTestSuite(file, NEWLINE, new CSV(), new SymbolTable())) {
+            assertEquals(3, suite.size());
+            assertEquals("1,2", suite.get(0).toString());
+            try {
+                suite.get(1);
+                fail();
+            } catch (IllegalStateException expected) {
+                assertTrue(expected.getCause() instanceof InvalidFormatException);
+            }
+            assertEquals("4,5", suite.get(2).toString());
+        }
+    }
+
+    @Test
+    /*test that an empty file contains no test cases*/
+    public void testEmptyFile() throws Exception {
+        writeFile("");
+        try (MappedTestSuite suite = new MappedTestSuite(file, ",", new CSV(), new SymbolTable())) {
+            assertTrue(suite.isEmpty());
+        }
+    }
+
+    @Test
+    /*test that each test case is parsed into a new data representation when it is retrieved*/
+    public void testGetParsesTestCase() throws Exception {
+        writeFile("1,2,3\r\n4,5\r\n");
+        try (MappedTestSuite suite = new MappedTestSuite(file, NEWLINE, new CSV(), new SymbolTable())) {
+            assertEquals(2, suite.size());
+            DataRepresentation first = suite.get(0);
+            assertTrue(first instanceof CSV);
+            assertEquals("1,2,3", first.toString());
+            assertNotSame(first, suite.get(0));
+            assertEquals("4,5", suite.get(1).toString());
+        }
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    /*test that retrieving a test case outside of the suite fails*/
+    public void testGetOutOfBounds() throws Exception {
+        writeFile("1,2");
+        try (MappedTestSuite suite = new MappedTestSuite(file, NEWLINE, new CSV(), new SymbolTable())) {
+            suite.get(1);
+        }
+    }
+
+    @Test
+    /*test that mapping is only used for large single files with a literal delimiter*/
+    public void testIsMappable() throws Exception {
+        writeFile("1,2,3");
+        FileReaderService fileReader = new FileReaderService();
+        assertTrue(fileReader.isMappable(FILENAME, ",", 1));
+        assertFalse(fileReader.isMappable(FILENAME, ",", 0));
+        assertFalse(fileReader.isMappable(FILENAME, ",", 1024));
+        assertFalse(fileReader.isMappable(FILENAME, ",+", 1));
+        assertFalse(fileReader.isMappable(FILENAME, null, 1));
+    }
+}
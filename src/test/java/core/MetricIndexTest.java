@@ -0,0 +1,146 @@
+package core;
+
+import data_representation.CSV;
+import data_representation.DataRepresentation;
+import metrics.comparison.pairwise.Hamming;
+import metrics.comparison.pairwise.Levenshtein;
+import org.junit.Test;
+import utilities.Tuple;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test suite for the vantage-point tree index of test cases by their distance
+ */
+public class MetricIndexTest {
+    private final Levenshtein metric = new Levenshtein();
+
+    /*makes test cases of random lengths from a few elements, so that many are the same distance apart*/
+    private static List<DataRepresentation> suite(Random random, int size) throws Exception {
+        return Fixtures.variations(random, size, size, 10, 4, 0);
+    }
+
+    /*finds the distance from a test case to every test case of a suite, nearest first*/
+    private List<Tuple<Integer, Double>> compareEvery(List<DataRepresentation> testSuite, DataRepresentation query) throws Exception {
+        List<Tuple<Integer, Double>> distances = new ArrayList<>();
+        for (int i = 0; i < testSuite.size(); i++)
+            distances.add(new Tuple<>(i, metric.compare(query.cursor(), testSuite.get(i).cursor())));
+        distances.sort(Comparator.<Tuple<Integer, Double>, Double>comparing(Tuple::getRight).thenComparing(Tuple::getLeft));
+        return distances;
+    }
+
+    @Test
+    /*test that the nearest test cases are the same as found by comparing every test case, ties in suite order*/
+    public void testNearest() throws Exception {
+        Random random = Fixtures.random();
+        for (int trial = 0; trial < 20; trial++) {
+            List<DataRepresentation> testSuite = suite(random, random.nextInt(100));
+            MetricIndex index = MetricIndex.build(testSuite, metric);
+            for (DataRepresentation query : suite(random, 10)) {
+                List<Tuple<Integer, Double>> expected = compareEvery(testSuite, query);
+                for (int k : new int[]{1, 3, 10, 200}) {
+                    List<Tuple<Integer, Double>> nearest = expected.subList(0, Math.min(k, expected.size()));
+                    assertEquals(nearest.toString(), index.nearest(query, k).toString());
+                }
+            }
+        }
+    }
+
+    @Test
+    /*test that the test cases within a distance are the same as found by comparing every test case*/
+    public void testWithin() throws Exception {
+        Random random = Fixtures.random();
+        for (int trial = 0; trial < 20; trial++) {
+            List<DataRepresentation> testSuite = suite(random, random.nextInt(100));
+            MetricIndex index = MetricIndex.build(testSuite, metric);
+            for (DataRepresentation query : suite(random, 10)) {
+                for (double maxDistance : new double[]{0, 1, 3, 20}) {
+                    List<Tuple<Integer, Double>> expected = new ArrayList<>();
+                    for (Tuple<Integer, Double> distance : compareEvery(testSuite, query)) {
+                        if (distance.getRight() <= maxDistance)
+                            expected.add(distance);
+                    }
+                    expected.sort(Comparator.comparing(Tuple::getLeft));
+                    assertEquals(expected.toString(), index.within(query, maxDistance).toString());
+                }
+            }
+        }
+    }
+
+    @Test
+    /*test that an index read back gives the same answers, and is only read for the suite and metric it was built for*/
+    public void testWriteAndRead() throws Exception {
+        Random random = Fixtures.random();
+        List<DataRepresentation> testSuite = suite(random, 50);
+        MetricIndex index = MetricIndex.build(testSuite, metric);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        index.write(new DataOutputStream(bytes));
+
+        MetricIndex read = MetricIndex.read(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())), testSuite, metric);
+        assertEquals(50, read.size());
+        for (DataRepresentation query : suite(random, 5))
+            assertEquals(index.nearest(query, 5).toString(), read.nearest(query, 5).toString());
+        assertNull(MetricIndex.read(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())),
+                testSuite.subList(0, 49), metric));
+    }
+
+    @Test(expected = IOException.class)
+    /*test that a damaged index is not read*/
+    public void testDamagedIndex() throws Exception {
+        List<DataRepresentation> testSuite = suite(Fixtures.random(), 10);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        MetricIndex.build(testSuite, metric).write(new DataOutputStream(bytes));
+        byte[] damaged = bytes.toByteArray();
+        damaged[damaged.length - 1] = 0x7f; //the last child of the last node is outside the index
+        MetricIndex.read(new DataInputStream(new ByteArrayInputStream(damaged)), testSuite, metric);
+    }
+
+    @Test
+    /*test that the nearest test cases and those within a distance of the edge cases are found, ties in suite order*/
+    public void testEdgeCases() throws Exception {
+        List<List<DataRepresentation>> testSuites = Fixtures.edgeCases();
+        for (List<DataRepresentation> testSuite : testSuites) {
+            MetricIndex index = MetricIndex.build(testSuite, metric);
+            for (List<DataRepresentation> queries : testSuites) {
+                for (DataRepresentation query : queries) {
+                    List<Tuple<Integer, Double>> expected = compareEvery(testSuite, query);
+                    for (int k : new int[]{1, 2, 10})
+                        assertEquals(expected.subList(0, Math.min(k, expected.size())).toString(),
+                                index.nearest(query, k).toString());
+                    List<Tuple<Integer, Double>> within = new ArrayList<>();
+                    for (Tuple<Integer, Double> distance : expected) {
+                        if (distance.getRight() <= 1)
+                            within.add(distance);
+                    }
+                    within.sort(Comparator.comparing(Tuple::getLeft));
+                    assertEquals(within.toString(), index.within(query, 1).toString());
+                }
+            }
+        }
+    }
+
+    @Test
+    /*test that an empty suite has no nearest test cases*/
+    public void testEmpty() throws Exception {
+        MetricIndex index = MetricIndex.build(new ArrayList<>(), metric);
+        assertTrue(index.nearest(new CSV("1"), 3).isEmpty());
+        assertTrue(index.within(new CSV("1"), 3).isEmpty());
+    }
+
+    @Test
+    /*test that only metrics that satisfy the triangle inequality are supported*/
+    public void testSupports() {
+        assertTrue(MetricIndex.supports(new Levenshtein()));
+        assertFalse(MetricIndex.supports(new Hamming()));
+    }
+}
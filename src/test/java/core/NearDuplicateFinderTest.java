@@ -0,0 +1,143 @@
+package core;
+
+import data_representation.CSV;
+import data_representation.DataRepresentation;
+import data_representation.KGramShingles;
+import data_representation.SymbolTable;
+import metrics.comparison.pairwise.Dice;
+import metrics.comparison.pairwise.Hamming;
+import metrics.comparison.pairwise.JaccardIndex;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test suite for finding candidate near-duplicates from MinHash signatures
+ */
+public class NearDuplicateFinderTest {
+    /*makes test cases in groups, where the test cases of a group are variations of one random test case*/
+    private static List<DataRepresentation> suite(Random random, int groups, int variations) throws Exception {
+        return Fixtures.variations(random, groups * variations, groups, 20, 1000, 2);
+    }
+
+    private static long key(int i, int j) {
+        return ((long) i << 32) | j;
+    }
+
+    @Test
+    /*test that the bands are cut so a pair at the threshold is found with the expected probability*/
+    public void testBands() {
+        int previous = 0;
+        for (double threshold = 0.1; threshold < 1; threshold += 0.1) {
+            NearDuplicateFinder finder = new NearDuplicateFinder(threshold);
+            assertTrue(finder.getBands() * finder.getRows() <= NearDuplicateFinder.SIGNATURE_SIZE);
+            assertTrue(1 - Math.pow(1 - Math.pow(threshold, finder.getRows()), finder.getBands()) >= NearDuplicateFinder.RECALL);
+            assertTrue(finder.getRows() >= previous);
+            previous = finder.getRows();
+        }
+    }
+
+    @Test
+    /*test that the pairs above the threshold are candidates, and that far fewer pairs than every pair are*/
+    public void testCandidatesWithin() throws Exception {
+        Random random = Fixtures.random();
+        List<DataRepresentation> testSuite = suite(random, 60, 4);
+        NearDuplicateFinder finder = new NearDuplicateFinder(0.6);
+        Set<Long> candidates = new HashSet<>();
+        for (int[] candidate : finder.candidatesWithin(testSuite)) {
+            assertTrue(candidate[0] < candidate[1]);
+            candidates.add(key(candidate[0], candidate[1]));
+        }
+
+        JaccardIndex metric = new JaccardIndex();
+        int similar = 0;
+        for (int i = 0; i < testSuite.size(); i++) {
+            for (int j = i + 1; j < testSuite.size(); j++) {
+                if (metric.compare(testSuite.get(i).cursor(), testSuite.get(j).cursor()) >= 0.7) {
+                    similar++;
+                    assertTrue(candidates.contains(key(i, j)));
+                }
+            }
+        }
+        assertTrue(similar > 0);
+        int pairs = testSuite.size() * (testSuite.size() - 1) / 2;
+        assertTrue(candidates.size() < pairs / 10);
+    }
+
+    @Test
+    /*test that candidates between suites only pair a test case of the first suite with one of the second*/
+    public void testCandidatesBetween() throws Exception {
+        Random random = Fixtures.random();
+        List<DataRepresentation> testSuite1 = suite(random, 20, 2);
+        List<DataRepresentation> testSuite2 = new ArrayList<>(testSuite1.subList(0, 10));
+        testSuite2.addAll(suite(random, 20, 1));
+        NearDuplicateFinder finder = new NearDuplicateFinder(0.9);
+        Set<Long> candidates = new HashSet<>();
+        for (int[] candidate : finder.candidatesBetween(testSuite1, testSuite2)) {
+            assertTrue(candidate[0] < testSuite1.size());
+            assertTrue(candidate[1] < testSuite2.size());
+            candidates.add(key(candidate[0], candidate[1]));
+        }
+        //a test case in both suites is an exact duplicate, so it is always a candidate
+        for (int i = 0; i < 10; i++)
+            assertTrue(candidates.contains(key(i, i)));
+        assertTrue(finder.candidatesBetween(testSuite1, new ArrayList<>()).isEmpty());
+    }
+
+    @Test
+    /*test that the pairs of the edge cases with the same set of elements are candidates at every threshold, and
+    that candidates are only ever pairs of the suites*/
+    public void testEdgeCases() throws Exception {
+        List<List<DataRepresentation>> testSuites = Fixtures.edgeCases();
+        JaccardIndex metric = new JaccardIndex();
+        for (double threshold : new double[]{0, 0.5, 1}) {
+            NearDuplicateFinder finder = new NearDuplicateFinder(threshold);
+            for (List<DataRepresentation> testSuite : testSuites) {
+                Set<Long> candidates = new HashSet<>();
+                for (int[] candidate : finder.candidatesWithin(testSuite)) {
+                    assertTrue(candidate[0] < candidate[1] && candidate[1] < testSuite.size());
+                    candidates.add(key(candidate[0], candidate[1]));
+                }
+                for (String pair : Fixtures.compareEvery(testSuite, null, metric, similarity -> similarity == 1)) {
+                    String[] indices = pair.split(" ");
+                    assertTrue(candidates.contains(key(Integer.parseInt(indices[0]), Integer.parseInt(indices[1]))));
+                }
+                assertTrue(finder.candidatesBetween(testSuite, new ArrayList<>()).isEmpty());
+                assertTrue(finder.candidatesBetween(new ArrayList<>(), testSuite).isEmpty());
+            }
+        }
+    }
+
+    @Test
+    /*test that the signature of a test case does not depend on the order or repetition of its elements*/
+    public void testSignature() throws Exception {
+        NearDuplicateFinder finder = new NearDuplicateFinder(0.5);
+        SymbolTable symbols = new SymbolTable();
+        DataRepresentation testCase = new CSV("1,2,3,2");
+        assertArrayEquals(finder.signature(new CSV("3,1,2"), symbols), finder.signature(testCase, symbols));
+        assertTrue(testCase.hasNext());
+        assertEquals(NearDuplicateFinder.SIGNATURE_SIZE / finder.getRows() * finder.getRows(), finder.signature(testCase, symbols).length);
+        assertArrayEquals(finder.signature(new KGramShingles("a,b,c,d"), symbols),
+                finder.signature(new KGramShingles("a,b,c,d"), symbols));
+    }
+
+    @Test
+    /*test that only set-based metrics have finders, with the Dice threshold as a Jaccard index*/
+    public void testForMetric() {
+        assertEquals(0.8, NearDuplicateFinder.forMetric(new JaccardIndex(), 0.8).getThreshold(), 0);
+        assertEquals(0.5, NearDuplicateFinder.forMetric(new Dice(), 2.0 / 3).getThreshold(), 1e-12);
+        assertNull(NearDuplicateFinder.forMetric(new Hamming(), 0.8));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    /*test that a threshold must be a similarity*/
+    public void testInvalidThreshold() {
+        new NearDuplicateFinder(1.5);
+    }
+}
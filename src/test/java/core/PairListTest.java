@@ -0,0 +1,210 @@
+package core;
+
+import data_representation.CSV;
+import data_representation.DataRepresentation;
+import org.junit.Test;
+import utilities.Tuple;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test suite for the lazily made list of pairs of test cases
+ */
+public class PairListTest {
+    /*makes a suite of test cases, each a single number starting from a given number*/
+    private static List<DataRepresentation> suite(int first, int size) throws InvalidFormatException {
+        List<DataRepresentation> testSuite = new ArrayList<>();
+        for (int i = 0; i < size; i++)
+            testSuite.add(new CSV(String.valueOf(first + i)));
+        return testSuite;
+    }
+
+    private static String describe(Tuple<DataRepresentation, DataRepresentation> pair) {
+        return pair.getLeft() + "-" + pair.getRight();
+    }
+
+    /*the pairs within a suite, in the order they are made*/
+    private static List<String> expectedWithin(List<DataRepresentation> testSuite) {
+        List<String> pairs = new ArrayList<>();
+        for (int i = 0; i < testSuite.size(); i++) {
+            for (int j = i + 1; j < testSuite.size(); j++)
+                pairs.add(testSuite.get(i) + "-" + testSuite.get(j));
+        }
+        return pairs;
+    }
+
+    /*the pairs between suites, in the order they are made*/
+    private static List<String> expectedBetween(List<List<DataRepresentation>> testSuites) {
+        List<String> pairs = new ArrayList<>();
+        for (int s = 0; s < testSuites.size(); s++) {
+            for (DataRepresentation testCase : testSuites.get(s)) {
+                for (List<DataRepresentation> later : testSuites.subList(s + 1, testSuites.size())) {
+                    for (DataRepresentation other : later)
+                        pairs.add(testCase + "-" + other);
+                }
+            }
+        }
+        return pairs;
+    }
+
+    /*checks the pairs of a list are read the same by position, by iterating, and by a split spliterator*/
+    private static void assertPairs(List<String> expected, PairList pairs) {
+        assertEquals(expected.size(), pairs.size());
+        for (int k = 0; k < pairs.size(); k++)
+            assertEquals(expected.get(k), describe(pairs.get(k)));
+        List<String> iterated = new ArrayList<>();
+        for (Tuple<DataRepresentation, DataRepresentation> pair : pairs)
+            iterated.add(describe(pair));
+        assertEquals(expected, iterated);
+        assertEquals(expected, StreamSupport.stream(pairs.spliterator(), true).map(PairListTest::describe)
+                .collect(Collectors.toList()));
+    }
+
+    @Test
+    /*test that the pairs within suites of every size up to 30 are listed in order*/
+    public void testWithin() throws InvalidFormatException {
+        for (int n = 0; n <= 30; n++) {
+            List<DataRepresentation> testSuite = suite(0, n);
+            assertPairs(expectedWithin(testSuite), PairList.within(testSuite));
+        }
+    }
+
+    @Test
+    /*test that the pairs between suites are listed in order, including when some suites are empty*/
+    public void testBetween() throws InvalidFormatException {
+        int[][] sizes = {{3, 4}, {1, 1}, {3, 0, 2}, {0, 3, 2}, {2, 3, 0, 0}, {4, 1, 3, 2}, {0, 0}};
+        for (int[] suiteSizes : sizes) {
+            List<List<DataRepresentation>> testSuites = new ArrayList<>();
+            int first = 0;
+            for (int size : suiteSizes) {
+                testSuites.add(suite(first, size));
+                first += size;
+            }
+            assertPairs(expectedBetween(testSuites), PairList.between(testSuites));
+        }
+    }
+
+    @Test
+    /*test that the indices of a pair are found from its position*/
+    public void testIndicesOf() throws InvalidFormatException {
+        PairList pairs = PairList.within(suite(0, 5));
+        assertArrayEquals(new int[]{0, 1}, pairs.indicesOf(0));
+        assertArrayEquals(new int[]{1, 2}, pairs.indicesOf(4));
+        assertArrayEquals(new int[]{3, 4}, pairs.indicesOf(9));
+        pairs = PairList.between(Arrays.asList(suite(0, 2), suite(2, 3)));
+        assertArrayEquals(new int[]{1, 3}, pairs.indicesOf(4));
+    }
+
+    @Test
+    /*test that each pair read is made of new cursors over the test cases*/
+    public void testCursors() throws InvalidFormatException {
+        List<DataRepresentation> testSuite = suite(0, 3);
+        PairList pairs = PairList.within(testSuite);
+        DataRepresentation left = pairs.get(0).getLeft();
+        assertNotSame(left, pairs.get(1).getLeft());
+        assertNotSame(testSuite.get(0), left);
+        assertEquals("0", left.next());
+        assertTrue(testSuite.get(0).hasNext());
+    }
+
+    @Test
+    /*test that a spliterator is split into halves that cover every pair*/
+    public void testSplit() throws InvalidFormatException {
+        PairList pairs = PairList.within(suite(0, 10));
+        Spliterator<Tuple<DataRepresentation, DataRepresentation>> second = pairs.spliterator();
+        Spliterator<Tuple<DataRepresentation, DataRepresentation>> first = second.trySplit();
+        assertEquals(22, first.estimateSize());
+        assertEquals(23, second.estimateSize());
+        assertTrue(second.hasCharacteristics(Spliterator.SIZED | Spliterator.SUBSIZED | Spliterator.ORDERED));
+        List<String> read = new ArrayList<>();
+        first.forEachRemaining(pair -> read.add(describe(pair)));
+        second.forEachRemaining(pair -> read.add(describe(pair)));
+        assertEquals(expectedWithin(suite(0, 10)), read);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    /*test that a position past the last pair cannot be read*/
+    public void testOutOfBounds() throws InvalidFormatException {
+        PairList.within(suite(0, 3)).get(3);
+    }
+
+    @Test
+    /*test that there are no pairs between a single suite*/
+    public void testBetweenOneSuite() throws InvalidFormatException {
+        assertTrue(PairList.between(Collections.singletonList(suite(0, 4))).isEmpty());
+    }
+
+    @Test
+    /*test that pairs are counted without listing them, the same as the lists count them*/
+    public void testCounts() throws InvalidFormatException {
+        assertEquals(PairList.within(suite(0, 9)).size(), PairList.countWithin(9));
+        assertEquals(PairList.between(Arrays.asList(suite(0, 3), suite(3, 0), suite(3, 4), suite(7, 2))).size(),
+                PairList.countBetween(3, 0, 4, 2));
+        assertEquals(70000L * 69999 / 2, PairList.countWithin(70000));
+    }
+
+    @Test
+    /*test that more pairs than can be compared at once fail with the number of pairs, before any pair is made*/
+    public void testTooManyPairs() {
+        List<DataRepresentation> testSuite = Collections.nCopies(70000, null);
+        try {
+            PairList.within(testSuite);
+            fail("more pairs than can be compared were listed");
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains(String.valueOf(PairList.countWithin(70000))));
+        }
+        assertEquals(PairList.MAX_PAIRS, PairList.checkedCount(PairList.MAX_PAIRS));
+    }
+
+    @Test
+    /*test that the position of a pair is found from its indices, the opposite of indicesOf()*/
+    public void testPositionOf() throws InvalidFormatException {
+        List<PairList> lists = Arrays.asList(PairList.within(suite(0, 9)),
+                PairList.between(Arrays.asList(suite(0, 3), suite(3, 0), suite(3, 4), suite(7, 2))));
+        for (PairList pairs : lists) {
+            for (int k = 0; k < pairs.size(); k++) {
+                int[] indices = pairs.indicesOf(k);
+                assertTrue(pairs.isPair(indices[0], indices[1]));
+                assertEquals(k, pairs.positionOf(indices[0], indices[1]));
+            }
+        }
+        assertFalse(lists.get(1).isPair(0, 2));
+        assertFalse(lists.get(1).isPair(7, 8));
+        assertFalse(lists.get(0).isPair(3, 3));
+    }
+
+    @Test
+    /*test that the tiles of every size cover each pair exactly once, and hold no more test cases than their side*/
+    public void testTiles() throws InvalidFormatException {
+        List<PairList> lists = Arrays.asList(PairList.within(suite(0, 1)), PairList.within(suite(0, 17)),
+                PairList.between(Arrays.asList(suite(0, 5), suite(5, 0), suite(5, 7), suite(12, 3))));
+        for (PairList pairs : lists) {
+            for (int side = 1; side <= 20; side++) {
+                int[] covered = new int[pairs.size()];
+                for (int[] tile : pairs.tiles(side)) {
+                    assertTrue(tile[1] - tile[0] <= side && tile[3] - tile[2] <= side);
+                    int count = 0;
+                    for (int i = tile[0]; i < tile[1]; i++) {
+                        for (int j = tile[2]; j < tile[3]; j++) {
+                            if (pairs.isPair(i, j)) {
+                                covered[pairs.positionOf(i, j)]++;
+                                count++;
+                            }
+                        }
+                    }
+                    assertTrue(count > 0);
+                }
+                for (int times : covered)
+                    assertEquals(1, times);
+            }
+        }
+    }
+}
@@ -10,11 +10,12 @@ import utilities.Tuple;
 
 import java.io.ByteArrayOutputStream;
 import java.io.PrintStream;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.concurrent.Executors;
 
-import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.*;
 
 /*Test Suite that tests the test case pairing functions for the pairing service*/
 public class PairingServiceTest {
@@ -119,4 +120,62 @@ public class PairingServiceTest {
     public void testProgressBarMultipleList() throws Exception {
         checkProgressHelper(representations1, representations2, representations3, representations4);
     }
+
+    /**
+     * helper method to parse each test case of a suite once
+     *
+     * @param testSuite the test cases
+     * @return the parsed test cases
+     */
+    private List<DataRepresentation> parse(String[] testSuite) throws Exception {
+        List<DataRepresentation> parsed = new ArrayList<>();
+        for (String testCase : testSuite)
+            parsed.add(new CSV(testCase));
+        return parsed;
+    }
+
+    /**
+     * helper method to check that pairs of parsed test cases are the same pairs, in the same order, as pairs of text
+     *
+     * @param expected the pairs made from the text of the test cases
+     * @param actual the pairs made from the parsed test cases
+     */
+    private void assertSamePairs(List<Tuple<DataRepresentation, DataRepresentation>> expected,
+                                 List<Tuple<DataRepresentation, DataRepresentation>> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).getLeft().toString(), actual.get(i).getLeft().toString());
+            assertEquals(expected.get(i).getRight().toString(), actual.get(i).getRight().toString());
+        }
+    }
+
+    @Test
+    /*Tests that a parsed test suite is paired in the same way as the text of the suite*/
+    public void testParsedSingleSuite() throws Exception {
+        assertSamePairs(pairingService.makePairsWithin(null, new CSV(), largeSuite),
+                pairingService.makePairsWithin(null, parse(largeSuite)));
+        assertEquals(0, pairingService.makePairsWithin(null, parse(emptySuite)).size());
+    }
+
+    @Test
+    /*Tests that parsed test suites are paired in the same way as the text of the suites*/
+    public void testParsedMultipleSuites() throws Exception {
+        assertSamePairs(pairingService.makePairsBetween(null, new CSV(), representations4, representations5, representations6),
+                pairingService.makePairsBetween(null, Arrays.asList(parse(representations4), parse(representations5), parse(representations6))));
+    }
+
+    @Test
+    /*Tests that a test case paired many times is parsed once, and each pair iterates over it independently*/
+    public void testParsedPairsShareTestCases() throws Exception {
+        List<DataRepresentation> testSuite = parse(new String[]{"1,2", "3,4", "5,6"});
+        List<Tuple<DataRepresentation, DataRepresentation>> pairs = pairingService.makePairsWithin(null, testSuite);
+        DataRepresentation first = pairs.get(0).getLeft();
+        DataRepresentation second = pairs.get(1).getLeft();
+        assertNotSame(first, second);
+        assertEquals("1", first.next());
+        assertEquals("1", second.next());
+        assertEquals("2", first.next());
+        assertFalse(first.hasNext());
+        assertTrue(testSuite.get(0).hasNext());
+    }
 }
@@ -1,6 +1,8 @@
 package core;
 
 import com.google.gson.Gson;
+import data_representation.CSV;
+import data_representation.TraceSequence;
 import com.google.gson.stream.JsonReader;
 import model.Config;
 import org.junit.Before;
@@ -15,6 +17,7 @@ import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.net.URISyntaxException;
 import java.util.InputMismatchException;
+import java.util.function.Supplier;
 
 import static org.junit.Assert.*;
 
@@ -306,4 +309,33 @@ public class ReflectionServiceTest {
         String fieldName = "banana";
         reflector.retrieveConfigSetter(config, String.class, fieldName);
     }
+
+    /**
+     * Tests that a factory creates a new instance each time, and is only created once for each class.
+     */
+    @Test
+    public void testFactory() throws NoSuchMethodException, InstantiationException {
+        Supplier<CSV> factory = ReflectionService.factory(CSV.class);
+        assertSame(factory, ReflectionService.factory(CSV.class));
+        CSV first = factory.get();
+        CSV second = factory.get();
+        assertNotNull(first);
+        assertNotSame(first, second);
+    }
+
+    /**
+     * Tests that a factory cannot be made for a class without a public no args constructor.
+     */
+    @Test(expected = NoSuchMethodException.class)
+    public void testFactoryNoConstructor() throws NoSuchMethodException, InstantiationException {
+        ReflectionService.factory(Integer.class);
+    }
+
+    /**
+     * Tests that a factory cannot be made for an abstract class.
+     */
+    @Test(expected = InstantiationException.class)
+    public void testFactoryAbstractClass() throws NoSuchMethodException, InstantiationException {
+        ReflectionService.factory(TraceSequence.class);
+    }
 }
@@ -0,0 +1,138 @@
+package core;
+
+import data_representation.CSV;
+import data_representation.DataRepresentation;
+import metrics.comparison.listwise.ListwiseComparisonStrategy;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test suite for the estimate of the error of comparing a sample of test cases
+ */
+public class SampleErrorEstimatorTest {
+    private SampleErrorEstimator estimator;
+
+    @Before
+    /*setup to perform before each test case*/
+    public void setup() {
+        estimator = new SampleErrorEstimator(3);
+    }
+
+    /**
+     * a listwise metric that returns the mean of the first value of each CSV test case
+     */
+    private static class MeanOfFirstValue implements ListwiseComparisonStrategy {
+        @Override
+        public double compare(List<DataRepresentation> testsuite) {
+            double sum = 0;
+            for (DataRepresentation testCase : testsuite)
+                sum += Double.parseDouble(testCase.next().toString());
+            return sum / testsuite.size();
+        }
+
+        @Override
+        public String getDescription() {
+            return "mean of the first value";
+        }
+    }
+
+    /**
+     * computes the jackknife standard error by comparing every pair again with each group left out
+     *
+     * @param similarities the similarity of each pair
+     * @param pairs the indices of the test cases in each pair
+     * @param groups the number of groups
+     * @return the standard error
+     */
+    private double bruteForcePairwise(List<Double> similarities, List<int[]> pairs, int groups) {
+        double[] replicates = new double[groups];
+        for (int r = 0; r < groups; r++) {
+            double sum = 0;
+            int count = 0;
+            for (int p = 0; p < pairs.size(); p++) {
+                if (pairs.get(p)[0] % groups != r && pairs.get(p)[1] % groups != r) {
+                    sum += similarities.get(p);
+                    count++;
+                }
+            }
+            replicates[r] = sum / count;
+        }
+        double mean = Arrays.stream(replicates).average().getAsDouble();
+        double squares = Arrays.stream(replicates).map(x -> (x - mean) * (x - mean)).sum();
+        return Math.sqrt((groups - 1) * squares / groups);
+    }
+
+    @Test
+    /*test that identical similarities have no error*/
+    public void testPairwiseNoSpread() {
+        List<Double> similarities = Collections.nCopies(45, 0.5);
+        assertEquals(0, estimator.pairwiseError(similarities, 10), 1e-12);
+    }
+
+    @Test
+    /*test the estimate for pairs made within one suite against leaving out each group's pairs directly*/
+    public void testPairwiseWithin() {
+        Random random = new Random(7);
+        List<Double> similarities = new ArrayList<>();
+        List<int[]> pairs = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            for (int j = i + 1; j < 8; j++) {
+                similarities.add(random.nextDouble());
+                pairs.add(new int[]{i, j});
+            }
+        }
+        assertEquals(bruteForcePairwise(similarities, pairs, 3), estimator.pairwiseError(similarities, 8), 1e-12);
+    }
+
+    @Test
+    /*test the estimate for pairs made between two suites against leaving out each group's pairs directly*/
+    public void testPairwiseBetween() {
+        Random random = new Random(7);
+        List<Double> similarities = new ArrayList<>();
+        List<int[]> pairs = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            for (int j = 5; j < 11; j++) {
+                similarities.add(random.nextDouble());
+                pairs.add(new int[]{i, j});
+            }
+        }
+        assertEquals(bruteForcePairwise(similarities, pairs, 3), estimator.pairwiseError(similarities, 5, 6), 1e-12);
+    }
+
+    @Test
+    /*test that no estimate is made when there are too few test cases*/
+    public void testPairwiseTooFewTestCases() {
+        assertNull(estimator.pairwiseError(Collections.emptyList(), 1));
+        assertNull(estimator.pairwiseError(Collections.singletonList(0.5), 2));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    /*test that similarities that do not match the suite sizes are rejected*/
+    public void testPairwiseWrongNumberOfSimilarities() {
+        estimator.pairwiseError(Arrays.asList(0.5, 0.5), 3);
+    }
+
+    @Test
+    /*test the listwise estimate, which for the mean of a value is close to its usual standard error*/
+    public void testListwise() throws Exception {
+        List<DataRepresentation> testSuite = new ArrayList<>();
+        for (int i = 1; i <= 6; i++)
+            testSuite.add(new CSV(Integer.toString(i)));
+        double expected = new SampleErrorEstimator(6).listwiseError(new MeanOfFirstValue(),
+                Collections.singletonList(testSuite));
+        //for the mean, the delete-one jackknife is exactly the sample standard deviation over the square root of n
+        assertEquals(Math.sqrt(3.5 / 6), expected, 1e-12);
+        //the test cases are iterated over again with each group left out, without being consumed
+        assertEquals(expected, new SampleErrorEstimator(6).listwiseError(new MeanOfFirstValue(),
+                Collections.singletonList(testSuite)), 1e-12);
+        assertNotNull(estimator.listwiseError(new MeanOfFirstValue(), Arrays.asList(testSuite, testSuite)));
+    }
+}
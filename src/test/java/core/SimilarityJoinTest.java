@@ -0,0 +1,114 @@
+package core;
+
+import data_representation.DataRepresentation;
+import data_representation.KGramShingles;
+import metrics.comparison.pairwise.Dice;
+import metrics.comparison.pairwise.Hamming;
+import metrics.comparison.pairwise.JaccardIndex;
+import metrics.comparison.pairwise.PairwiseComparisonStrategy;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test suite for finding every pair of test cases above a similarity threshold with a set-similarity join
+ */
+public class SimilarityJoinTest {
+    /*makes test cases of varying sizes, many of which are variations of a few random test cases*/
+    private static List<DataRepresentation> suite(Random random, int size) throws Exception {
+        return Fixtures.variations(random, size, 5, 15, 40, 3);
+    }
+
+    /*finds the pairs that reach the threshold by comparing every pair with the metric*/
+    private static List<String> compareEvery(List<DataRepresentation> testSuite1, List<DataRepresentation> testSuite2,
+                                             PairwiseComparisonStrategy metric, double threshold) throws Exception {
+        return Fixtures.compareEvery(testSuite1, testSuite2, metric, similarity -> similarity >= threshold);
+    }
+
+    @Test
+    /*test that the join finds exactly the pairs within a suite that reach the threshold, in order*/
+    public void testJoinWithin() throws Exception {
+        Random random = Fixtures.random();
+        PairwiseComparisonStrategy[] metrics = {new JaccardIndex(), new Dice()};
+        double[] thresholds = {0, 0.2, 0.5, 0.7, 0.8, 0.9, 1};
+        for (int trial = 0; trial < 20; trial++) {
+            List<DataRepresentation> testSuite = suite(random, random.nextInt(80));
+            for (PairwiseComparisonStrategy metric : metrics) {
+                for (double threshold : thresholds) {
+                    SimilarityJoin join = SimilarityJoin.forMetric(metric, threshold);
+                    assertEquals(compareEvery(testSuite, null, metric, threshold), Fixtures.toStrings(join.joinWithin(testSuite)));
+                }
+            }
+        }
+    }
+
+    @Test
+    /*test that the join finds exactly the pairs between suites that reach the threshold, in order*/
+    public void testJoinBetween() throws Exception {
+        Random random = Fixtures.random();
+        for (int trial = 0; trial < 20; trial++) {
+            List<DataRepresentation> testSuite1 = suite(random, random.nextInt(40));
+            List<DataRepresentation> testSuite2 = suite(random, random.nextInt(40));
+            for (double threshold : new double[]{0, 0.4, 0.75, 1}) {
+                SimilarityJoin join = new SimilarityJoin(threshold, false);
+                assertEquals(compareEvery(testSuite1, testSuite2, new JaccardIndex(), threshold),
+                        Fixtures.toStrings(join.joinBetween(testSuite1, testSuite2)));
+            }
+        }
+    }
+
+    @Test
+    /*test that shingles are joined as their sets of distinct shingles*/
+    public void testJoinShingles() throws Exception {
+        List<DataRepresentation> testSuite = Arrays.asList(new KGramShingles("a,b,c,d,e,f"),
+                new KGramShingles("a,b,c,d,e,g"), new KGramShingles("x,y,z"), new KGramShingles("a,b,c,d,e,f"));
+        for (double threshold : new double[]{0.3, 0.6, 1})
+            assertEquals(compareEvery(testSuite, null, new Dice(), threshold),
+                    Fixtures.toStrings(new SimilarityJoin(threshold, true).joinWithin(testSuite)));
+    }
+
+    @Test
+    /*test that every pair reaches a threshold of 0, even test cases with nothing in common*/
+    public void testZeroThreshold() throws Exception {
+        List<DataRepresentation> testSuite = Fixtures.csv("1,2", "3", "4,5,6");
+        assertEquals(Arrays.asList("0 1 0.0", "0 2 0.0", "1 2 0.0"),
+                Fixtures.toStrings(new SimilarityJoin(0, false).joinWithin(testSuite)));
+    }
+
+    @Test
+    /*test that the join finds the pairs of the edge cases, within and between suites, at every threshold from 0 to 1*/
+    public void testEdgeCases() throws Exception {
+        List<List<DataRepresentation>> testSuites = Fixtures.edgeCases();
+        PairwiseComparisonStrategy[] metrics = {new JaccardIndex(), new Dice()};
+        for (List<DataRepresentation> testSuite : testSuites) {
+            for (PairwiseComparisonStrategy metric : metrics) {
+                for (double threshold : new double[]{0, 0.5, 0.6, 1}) {
+                    SimilarityJoin join = SimilarityJoin.forMetric(metric, threshold);
+                    assertEquals(compareEvery(testSuite, null, metric, threshold),
+                            Fixtures.toStrings(join.joinWithin(testSuite)));
+                    for (List<DataRepresentation> other : testSuites)
+                        assertEquals(compareEvery(testSuite, other, metric, threshold),
+                                Fixtures.toStrings(join.joinBetween(testSuite, other)));
+                }
+            }
+        }
+    }
+
+    @Test
+    /*test that only set-based metrics have joins*/
+    public void testForMetric() {
+        assertNotNull(SimilarityJoin.forMetric(new JaccardIndex(), 0.8));
+        assertNotNull(SimilarityJoin.forMetric(new Dice(), 0.8));
+        assertNull(SimilarityJoin.forMetric(new Hamming(), 0.8));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    /*test that a threshold must be a similarity*/
+    public void testInvalidThreshold() {
+        new SimilarityJoin(-0.1, false);
+    }
+}
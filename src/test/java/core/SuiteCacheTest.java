@@ -0,0 +1,175 @@
+package core;
+
+import data_representation.CSV;
+import data_representation.DataRepresentation;
+import data_representation.EventSequence;
+import data_representation.KGramShingles;
+import data_representation.SymbolTable;
+import metrics.comparison.pairwise.Levenshtein;
+import model.TestSuite;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Objects;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test suite for the on-disk cache of parsed test suites
+ */
+public class SuiteCacheTest {
+    private static final String FILENAME = "suite-cache-test-suite";
+    private static final String NEWLINE = System.lineSeparator();
+    private File suite;
+    private File directory;
+    private SuiteCache cache;
+    private FileReaderService fileReader;
+
+    @Before
+    /*setup to perform before each test case*/
+    public void setup() {
+        suite = new File(FILENAME);
+        directory = new File("suite-cache-test-folder");
+        cache = new SuiteCache(directory);
+        fileReader = new FileReaderService();
+    }
+
+    @After
+    /*cleanup to perform after each test case*/
+    public void tearDown() {
+        suite.delete();
+        if (directory.isDirectory()) {
+            for (File f : Objects.requireNonNull(directory.listFiles()))
+                f.delete();
+            directory.delete();
+        }
+    }
+
+    /**
+     * writes the contents of the test suite file
+     *
+     * @param contents the contents of the file
+     */
+    private void writeSuite(String contents) throws IOException {
+        FileOutputStream out = new FileOutputStream(suite);
+        out.write(contents.getBytes());
+        out.close();
+    }
+
+    /**
+     * creates the key of the test suite file
+     */
+    private SuiteCache.Key key(String delimiter, DataRepresentation format) throws IOException {
+        return cache.createKey(FILENAME, Collections.singletonList(suite), delimiter, format);
+    }
+
+    /**
+     * helper method to check two test suites contain the same test cases
+     */
+    private void assertSameTestSuite(TestSuite expected, TestSuite actual) {
+        assertArrayEquals(expected.getTestCases(), actual.getTestCases());
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            DataRepresentation e = expected.getDataRepresentations().get(i);
+            DataRepresentation a = actual.getDataRepresentations().get(i);
+            assertEquals(e.getClass(), a.getClass());
+            assertEquals(e.toString(), a.toString());
+            while (e.hasNext())
+                assertEquals(e.next(), a.next());
+            assertFalse(a.hasNext());
+        }
+    }
+
+    @Test
+    /*test that a stored test suite is loaded with the same test cases it was stored with*/
+    public void testStoreAndLoad() throws Exception {
+        writeSuite("1,2,3\n3,,1,\n,2");
+        TestSuite read = fileReader.readTestSuite(FILENAME, NEWLINE, new CSV(), new SymbolTable());
+        assertTrue(cache.store(key(NEWLINE, new CSV()), read));
+        assertSameTestSuite(fileReader.readTestSuite(FILENAME, NEWLINE, new CSV(), new SymbolTable()), cache.load(key(NEWLINE, new CSV()), new CSV(), new SymbolTable()));
+
+        writeSuite("[4] Start-a-S1-b-S2\nStart-c-S3");
+        read = fileReader.readTestSuite(FILENAME, NEWLINE, new EventSequence(), new SymbolTable());
+        assertTrue(cache.store(key(NEWLINE, new EventSequence()), read));
+        assertSameTestSuite(fileReader.readTestSuite(FILENAME, NEWLINE, new EventSequence(), new SymbolTable()),
+                cache.load(key(NEWLINE, new EventSequence()), new EventSequence(), new SymbolTable()));
+    }
+
+    @Test
+    /*test that a suite is not loaded from the cache once its contents, delimiter or representation change*/
+    public void testInvalidation() throws Exception {
+        writeSuite("1,2,3\n4,5");
+        SuiteCache.Key key = key(NEWLINE, new CSV());
+        cache.store(key, fileReader.readTestSuite(FILENAME, NEWLINE, new CSV(), new SymbolTable()));
+        assertNotNull(cache.load(key(NEWLINE, new CSV()), new CSV(), new SymbolTable()));
+        assertNull(cache.load(key(",", new CSV()), new CSV(), new SymbolTable()));
+        assertNull(cache.load(key(NEWLINE, new EventSequence()), new EventSequence(), new SymbolTable()));
+
+        long modified = suite.lastModified();
+        writeSuite("1,2,3\n4,6"); //same size and modification time, but different contents
+        suite.setLastModified(modified);
+        assertNull(cache.load(key(NEWLINE, new CSV()), new CSV(), new SymbolTable()));
+    }
+
+    @Test
+    /*test that shingles are only loaded from the cache with the shingle size they were read with*/
+    public void testShingleSize() throws Exception {
+        writeSuite("a,b,c,d\na,b,c,x");
+        fileReader.setSuiteCache(cache);
+        fileReader.readTestSuite(FILENAME, NEWLINE, new KGramShingles(2), new SymbolTable());
+        assertNull(cache.load(key(NEWLINE, new KGramShingles(3)), new KGramShingles(3), new SymbolTable()));
+        TestSuite loaded = cache.load(key(NEWLINE, new KGramShingles(2)), new KGramShingles(2), new SymbolTable());
+        assertNotNull(loaded);
+        assertEquals(2, ((KGramShingles) loaded.getDataRepresentations().get(0)).getSize());
+        TestSuite reread = fileReader.readTestSuite(FILENAME, NEWLINE, new KGramShingles(3), new SymbolTable());
+        assertEquals(3, ((KGramShingles) reread.getDataRepresentations().get(0)).getSize());
+    }
+
+    @Test
+    /*test that a damaged cache file is ignored rather than causing a failure*/
+    public void testDamagedCacheFile() throws Exception {
+        writeSuite("1,2,3\n4,5");
+        SuiteCache.Key key = key(NEWLINE, new CSV());
+        cache.store(key, fileReader.readTestSuite(FILENAME, NEWLINE, new CSV(), new SymbolTable()));
+        for (File f : Objects.requireNonNull(directory.listFiles())) {
+            try (FileOutputStream out = new FileOutputStream(f)) {//a valid header followed by an impossible length
+                out.write(new byte[]{0x54, 0x43, 0x53, 0x43, 0, 0, 0, 1, 0x7f, 0x7f, 0x7f, 0x7f});
+            }
+        }
+        assertNull(cache.load(key, new CSV(), new SymbolTable()));
+    }
+
+    @Test
+    /*test that the FileReaderService stores a suite in the cache, and reads it back unchanged*/
+    public void testFileReaderUsesCache() throws Exception {
+        writeSuite("1,2,3\n4,5");
+        fileReader.setSuiteCache(cache);
+        TestSuite expected = fileReader.readTestSuite(FILENAME, NEWLINE, new CSV(), new SymbolTable());
+        assertEquals(1, Objects.requireNonNull(directory.listFiles()).length);
+        assertSameTestSuite(expected, fileReader.readTestSuite(FILENAME, NEWLINE, new CSV(), new SymbolTable()));
+    }
+
+    @Test
+    /*test that the metric index of a suite is stored beside it, and only loaded while the suite is unchanged*/
+    public void testMetricIndex() throws Exception {
+        writeSuite("1,2,3\n1,2,4\n5,6\n1,2,3,4");
+        fileReader.setSuiteCache(cache);
+        TestSuite testSuite = fileReader.readTestSuite(FILENAME, NEWLINE, new CSV(), new SymbolTable());
+        MetricIndex built = fileReader.readMetricIndex(FILENAME, NEWLINE, new CSV(), testSuite, new Levenshtein());
+        assertEquals(2, Objects.requireNonNull(directory.listFiles()).length);
+        MetricIndex loaded = cache.loadIndex(key(NEWLINE, new CSV()), testSuite.getDataRepresentations(), new Levenshtein());
+        assertNotNull(loaded);
+        DataRepresentation query = new CSV("1,2,5");
+        assertEquals(built.nearest(query, 4).toString(), loaded.nearest(query, 4).toString());
+
+        writeSuite("1,2,3\n1,2,4\n5,6");
+        testSuite = fileReader.readTestSuite(FILENAME, NEWLINE, new CSV(), new SymbolTable());
+        assertNull(cache.loadIndex(key(NEWLINE, new CSV()), testSuite.getDataRepresentations(), new Levenshtein()));
+        assertEquals(3, fileReader.readMetricIndex(FILENAME, NEWLINE, new CSV(), testSuite, new Levenshtein()).size());
+    }
+}
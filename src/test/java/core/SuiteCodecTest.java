@@ -0,0 +1,131 @@
+package core;
+
+import data_representation.CSV;
+import data_representation.DataRepresentation;
+import data_representation.EventStatePairs;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test suite for the binary encoding of parsed test cases
+ */
+public class SuiteCodecTest {
+    /*encodes test cases, returning the bytes written*/
+    private static byte[] encode(List<? extends DataRepresentation> testCases) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            assertTrue(SuiteCodec.write(out, testCases));
+        }
+        return bytes.toByteArray();
+    }
+
+    private static List<DataRepresentation> decode(byte[] bytes, DataRepresentation format) throws Exception {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes));
+        return SuiteCodec.read(in, ReflectionService.factory(format.getClass()), bytes.length);
+    }
+
+    @Test
+    /*test that test cases are restored with the same elements they were encoded with*/
+    public void testRoundTrip() throws Exception {
+        List<DataRepresentation> testCases = Arrays.asList(new CSV("a,b,a"), new CSV("\"c,d\",e,"), new CSV("a"));
+        List<DataRepresentation> decoded = decode(encode(testCases), new CSV());
+        assertEquals(testCases.size(), decoded.size());
+        for (int i = 0; i < testCases.size(); i++) {
+            assertEquals(testCases.get(i).toString(), decoded.get(i).toString());
+            while (testCases.get(i).hasNext())
+                assertEquals(testCases.get(i).next(), decoded.get(i).next());
+            assertFalse(decoded.get(i).hasNext());
+        }
+
+        List<DataRepresentation> traces = Collections.singletonList(new EventStatePairs("[7] Start-1-S1-2-S2"));
+        assertEquals(traces.get(0).toString(), decode(encode(traces), new EventStatePairs()).get(0).toString());
+    }
+
+    @Test
+    /*test that repeated tokens are written once in the dictionary, and as a single byte in each test case*/
+    public void testCompact() throws Exception {
+        List<DataRepresentation> testCases = new ArrayList<>();
+        for (int i = 0; i < 200; i++)
+            testCases.add(new CSV("frequent,frequent,token" + i));
+        byte[] bytes = encode(testCases);
+        //the dictionary has 201 entries, and "frequent" is first since it is the most frequent
+        int expected = 2 + 1 + "frequent".length();
+        for (int i = 0; i < 200; i++)
+            expected += 1 + ("token" + i).length();
+        //there are 200 test cases, each of its length, "frequent" twice, and a rare token that takes two bytes
+        //once its index is 128 or more
+        expected += 2;
+        for (int i = 1; i <= 200; i++)
+            expected += 3 + ((i < 128) ? 1 : 2);
+        assertEquals(expected, bytes.length);
+    }
+
+    @Test
+    /*test that varints of every size are read back*/
+    public void testVarints() throws IOException {
+        int[] values = {0, 1, 127, 128, 16383, 16384, Integer.MAX_VALUE};
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            for (int value : values)
+                SuiteCodec.writeVarint(out, value);
+        }
+        assertEquals(1 + 1 + 1 + 2 + 2 + 3 + 5, bytes.size());
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+        for (int value : values)
+            assertEquals(value, SuiteCodec.readVarint(in));
+    }
+
+    @Test
+    /*test that test cases that cannot be restored from tokens are not written*/
+    public void testNotTokenized() throws IOException {
+        DataRepresentation untokenized = new CSV() {
+            @Override
+            public String[] toTokens() {
+                return null;
+            }
+        };
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        assertFalse(SuiteCodec.write(new DataOutputStream(bytes), Collections.singletonList(untokenized)));
+        assertEquals(0, bytes.size());
+    }
+
+    @Test(expected = IOException.class)
+    /*test that an index outside the dictionary is found to be damaged*/
+    public void testDamaged() throws Exception {
+        byte[] bytes = encode(Collections.singletonList(new CSV("a,b")));
+        bytes[bytes.length - 1] = 5;
+        decode(bytes, new CSV());
+    }
+
+    @Test
+    /*test that a test case is serialized compactly and read back at the same position*/
+    public void testExternalizable() throws Exception {
+        CSV testCase = new CSV("a,b,c");
+        testCase.next();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(testCase);
+        }
+        CSV restored;
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            restored = (CSV) in.readObject();
+        }
+        assertEquals("a,b,c", restored.toString());
+        assertEquals("b", restored.next());
+        assertEquals("c", restored.next());
+        assertFalse(restored.hasNext());
+    }
+}
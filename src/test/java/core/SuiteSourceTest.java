@@ -0,0 +1,110 @@
+package core;
+
+import data_representation.CSV;
+import data_representation.DataRepresentation;
+import org.junit.After;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test suite for reading test cases from compressed files and archives
+ */
+public class SuiteSourceTest {
+    private static final String NEWLINE = System.lineSeparator();
+    private static final String GZIP_FILE = "suite-source-test.gz";
+    private static final String ZIP_FILE = "suite-source-test.zip";
+
+    @After
+    /*cleanup to perform after each test case*/
+    public void tearDown() {
+        new File(GZIP_FILE).delete();
+        new File(ZIP_FILE).delete();
+    }
+
+    /**
+     * writes gzip compressed contents to a file
+     */
+    private void writeGzip(String filename, String contents) throws IOException {
+        try (OutputStream out = new GZIPOutputStream(new FileOutputStream(filename))) {
+            out.write(contents.getBytes());
+        }
+    }
+
+    /**
+     * writes an archive containing the passed entries, given as pairs of names and contents
+     */
+    private void writeZip(String filename, String... entries) throws IOException {
+        try (ZipOutputStream out = new ZipOutputStream(new FileOutputStream(filename))) {
+            for (int i = 0; i < entries.length; i += 2) {
+                out.putNextEntry(new ZipEntry(entries[i]));
+                if (entries[i].endsWith(".gz")) {
+                    GZIPOutputStream gzip = new GZIPOutputStream(out);
+                    gzip.write(entries[i + 1].getBytes());
+                    gzip.finish();
+                } else
+                    out.write(entries[i + 1].getBytes());
+                out.closeEntry();
+            }
+        }
+    }
+
+    @Test
+    /*test that the test cases of a gzip compressed file are read without extracting it*/
+    public void testGzipFile() throws Exception {
+        writeGzip(GZIP_FILE, "1,2,3\r\n4,5\r\n6\r\n");
+        assertArrayEquals(new String[]{"1,2,3", "4,5", "6"}, new FileReaderService().readTestCases(GZIP_FILE, NEWLINE));
+    }
+
+    @Test
+    /*test that the entries of an archive are read in order of their names, whether read in parallel or not*/
+    public void testZipArchive() throws Exception {
+        writeZip(ZIP_FILE, "suite/b", "3\n4", "suite/", "", "suite/a", "1\n2", "suite/c.gz", "5\n6");
+        String[] expected = {"1", "2", "3", "4", "5", "6"};
+        FileReaderService fileReader = new FileReaderService();
+        assertArrayEquals(expected, fileReader.readTestCases(ZIP_FILE, NEWLINE));
+        ExecutorService readers = Executors.newWorkStealingPool(4);
+        fileReader.setReaders(readers);
+        try {
+            assertArrayEquals(expected, fileReader.readTestCases(ZIP_FILE, NEWLINE));
+
+            DataRepresentation[] parsed = fileReader.readIntoDataRepresentation(ZIP_FILE, NEWLINE, new CSV());
+            assertEquals(expected.length, parsed.length);
+            for (int i = 0; i < expected.length; i++)
+                assertEquals(expected[i], parsed[i].toString());
+        } finally {
+            readers.shutdown();
+        }
+    }
+
+    @Test
+    /*test that compressed files are recognized by their extension*/
+    public void testIsCompressed() {
+        assertTrue(SuiteSource.isCompressed(new File("suite.GZ")));
+        assertTrue(SuiteSource.isCompressed(new File("suite.zip")));
+        assertTrue(SuiteSource.isCompressed(new File("suite.jar")));
+        assertFalse(SuiteSource.isCompressed(new File("suite.txt")));
+        assertTrue(SuiteSource.isArchive(new File("suite.jar")));
+        assertFalse(SuiteSource.isArchive(new File("suite.gz")));
+    }
+
+    @Test(expected = UncheckedIOException.class)
+    /*test that a file that is not really gzip compressed fails to be read*/
+    public void testInvalidGzipFile() throws Exception {
+        try (FileOutputStream out = new FileOutputStream(GZIP_FILE)) {
+            out.write("1,2,3".getBytes());
+        }
+        new FileReaderService().readTestCases(GZIP_FILE, NEWLINE);
+    }
+}
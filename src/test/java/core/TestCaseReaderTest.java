@@ -0,0 +1,112 @@
+package core;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test suite for the streaming TestCaseReader
+ */
+public class TestCaseReaderTest {
+    private static final String NEWLINE = System.lineSeparator();
+
+    /**
+     * helper method to read all test cases from a string with a TestCaseReader
+     *
+     * @param contents the contents of the simulated test suite file
+     * @param delimiter the delimiter between test cases
+     * @return the test cases read
+     */
+    private List<String> readAll(String contents, String delimiter) throws IOException {
+        List<String> testCases = new ArrayList<>();
+        TestCaseReader reader = new TestCaseReader(Channels.newChannel(
+                new ByteArrayInputStream(contents.getBytes())), delimiter);
+        while (reader.hasNext())
+            testCases.add(reader.next());
+        reader.close();
+        return testCases;
+    }
+
+    @Test
+    /*test that test cases are split on the delimiter in the order they appear*/
+    public void testSplitOnDelimiter() throws IOException {
+        assertEquals(Arrays.asList("1,2,3", "4,5", "6"), readAll("1,2,3   4,5   6", "   "));
+    }
+
+    @Test
+    /*test that a null delimiter reads the whole file as one test case*/
+    public void testNullDelimiter() throws IOException {
+        assertEquals(Arrays.asList("1,2,3   4,5   6"), readAll("1,2,3   4,5   6", null));
+    }
+
+    @Test
+    /*test that an empty file contains no test cases*/
+    public void testEmptyFile() throws IOException {
+        assertTrue(readAll("", "\n").isEmpty());
+        assertTrue(readAll("", null).isEmpty());
+    }
+
+    @Test
+    /*test that each kind of line terminator is read as the system line separator, and the final one is dropped*/
+    public void testLineTerminatorsNormalized() throws IOException {
+        assertEquals(Arrays.asList("a" + NEWLINE + "b" + NEWLINE + "c" + NEWLINE + NEWLINE + "d"),
+                readAll("a\r\nb\rc\r\r\nd\n", null));
+    }
+
+    @Test
+    /*test that test cases separated by blank lines are read in the same way as String.split*/
+    public void testBlankLineDelimiter() throws IOException {
+        String contents = "[0] Start-1-A\r\r\n[1] Start-2-B\r\n";
+        assertEquals(Arrays.asList("[0] Start-1-A", "[1] Start-2-B"), readAll(contents, NEWLINE + NEWLINE));
+    }
+
+    @Test
+    /*test that empty test cases are kept in the middle of a file, but trailing ones are dropped, like String.split*/
+    public void testEmptyTestCases() throws IOException {
+        String contents = "a,,b,,,";
+        assertEquals(Arrays.asList(contents.split(",")), readAll(contents, ","));
+        contents = ",a";
+        assertEquals(Arrays.asList(contents.split(",")), readAll(contents, ","));
+    }
+
+    @Test
+    /*test that a literal delimiter split across chunks of the file is still found*/
+    public void testLiteralDelimiterSpanningChunks() throws IOException {
+        StringBuilder contents = new StringBuilder();
+        for (int i = 0; i < 3000; i++)
+            contents.append(i).append("--end--");
+        assertEquals(Arrays.asList(contents.toString().split("--end--")), readAll(contents.toString(), "--end--"));
+    }
+
+    @Test
+    /*test that a regular expression delimiter is matched across the whole of a match, and not just its beginning*/
+    public void testRegexDelimiter() throws IOException {
+        String contents = "1,2;;;3,4;5";
+        assertEquals(Arrays.asList(contents.split(";+")), readAll(contents, ";+"));
+    }
+
+    @Test
+    /*test that test cases and delimiters larger than the chunks the file is read in are read correctly*/
+    public void testTestCasesSpanningChunks() throws IOException {
+        StringBuilder longTestCase = new StringBuilder();
+        for (int i = 0; i < 5000; i++)
+            longTestCase.append(i).append(',');
+        longTestCase.append("end");
+        StringBuilder contents = new StringBuilder();
+        for (int i = 0; i < 5; i++)
+            contents.append("\r\n\r\n").append(longTestCase);
+
+        List<String> testCases = readAll(contents.toString(), NEWLINE + NEWLINE);
+        assertEquals(6, testCases.size());
+        assertEquals("", testCases.get(0));
+        for (String testCase : testCases.subList(1, testCases.size()))
+            assertEquals(longTestCase.toString(), testCase);
+    }
+}
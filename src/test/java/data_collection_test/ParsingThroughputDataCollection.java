@@ -0,0 +1,75 @@
+package data_collection_test;
+
+import core.FileReaderService;
+import data_representation.DataRepresentation;
+import data_representation.EventSequence;
+import data_representation.EventStatePairs;
+import data_representation.StateSequence;
+import org.junit.Test;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.nio.charset.Charset;
+
+/**
+ * This file contains a script to measure how quickly each trace DataRepresentation parses test cases,
+ * in megabytes of test case text per second, and stores the results
+ */
+public class ParsingThroughputDataCollection {
+    private static final String FILENAME = "examples/VCRTPath.txt";
+    private static final String DELIMITER = System.lineSeparator() + System.lineSeparator();
+    //the number of times the suite is parsed before measuring, so the measurement is not of unoptimized code
+    private static final int WARMUP_ROUNDS = 20;
+    private static final int MEASURED_ROUNDS = 50;
+
+    @Test
+    public void collectParsingThroughputInformation() throws Exception {
+        String[] testSuite = new FileReaderService().readTestCases(FILENAME, DELIMITER);
+        long bytes = 0;
+        for (String testCase : testSuite)
+            bytes += testCase.getBytes(Charset.defaultCharset()).length;
+
+        StringBuilder results = new StringBuilder();
+        for (DataRepresentation format : new DataRepresentation[]{new EventSequence(), new StateSequence(), new EventStatePairs()}) {
+            for (int i = 0; i < WARMUP_ROUNDS; i++)
+                parseAll(testSuite, format);
+            long startTime = System.nanoTime();
+            for (int i = 0; i < MEASURED_ROUNDS; i++)
+                parseAll(testSuite, format);
+            double seconds = (System.nanoTime() - startTime) / 1000000000d;
+            double megabytesPerSecond = (bytes * (double) MEASURED_ROUNDS) / (1024 * 1024) / seconds;
+            results.append(format.getClass().getSimpleName()).append(": ")
+                    .append(Math.round(megabytesPerSecond * 100) / 100d).append(" MB/s")
+                    .append(System.lineSeparator());
+        }
+        System.out.print(results);
+        write(new File("results-parsing-throughput"), results.toString());
+    }
+
+    /**
+     * parses every test case of a suite into a new instance of a data representation
+     *
+     * @param testSuite the test cases to parse
+     * @param format the data representation to parse into
+     */
+    private void parseAll(String[] testSuite, DataRepresentation format) throws Exception {
+        for (String testCase : testSuite)
+            format.getClass().getConstructor().newInstance().parse(testCase);
+    }
+
+    /**
+     * writes specified contents to a file
+     *
+     * @param file the file object to write to
+     * @param contents the contents to write to the file
+     * @throws IOException occurs when write is unsuccessful
+     */
+    private void write(File file, String contents) throws IOException {
+        BufferedWriter bw = new BufferedWriter(new FileWriter(file));
+        bw.write(contents);
+        bw.flush();
+        bw.close();
+    }
+}
@@ -5,7 +5,9 @@ import org.junit.Before;
 import org.junit.Test;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Random;
 import java.util.concurrent.ThreadLocalRandom;
 
 import static org.junit.Assert.*;
@@ -114,4 +116,113 @@ public class CSVTest {
         assertEquals(csv.getDescription(),
                 "comma separated value");
     }
-}
\ No newline at end of file
+
+    /**
+     * test that a test case is accepted exactly when it matches the regular expression CSV test cases were
+     * originally checked with, for strings built from characters around the edge cases of the format
+     */
+    @Test
+    public void testIsValidMatchesRegex() {
+        char[] alphabet = {'a', ',', ' ', '\t', '\n', '\r', '"', '\u2028', '\u0085'};
+        Random random = new Random(0);
+        for (int n = 0; n < 20000; n++) {
+            StringBuilder s = new StringBuilder();
+            int length = random.nextInt(7);
+            for (int i = 0; i < length; i++)
+                s.append(alphabet[random.nextInt(alphabet.length)]);
+            String testCase = s.toString();
+            assertEquals("validity of \"" + testCase + "\"",
+                    testCase.matches("(.+?)(?:,\\s*|$)"), CSV.isValid(testCase));
+        }
+    }
+
+    /**
+     * test that a comma followed by line breaks may end a test case, but a line break anywhere else may not
+     */
+    @Test
+    public void testLineBreaks() throws InvalidFormatException {
+        csv.parse("a,b,\r\n");
+        assertEquals("a", csv.next());
+        assertEquals("b", csv.next());
+        assertEquals("\r\n", csv.next());
+        assertFalse(csv.hasNext());
+        assertFalse(CSV.isValid("a\nb"));
+        assertFalse(CSV.isValid("a,b\n"));
+        assertFalse(CSV.isValid(",\n"));
+    }
+
+    /**
+     * test that the elements of a test case without quotes are the text between each comma, without the empty
+     * text after a final comma
+     */
+    @Test
+    public void testElementsMatchSplit() throws InvalidFormatException {
+        String[] testCases = {"a", "a,b", "a,,b", ",a", "a,", ",", "a,b,,", " a , b "};
+        for (String testCase : testCases) {
+            CSV parsed = new CSV(testCase);
+            List<String> expected = new ArrayList<>(Arrays.asList(testCase.split(",", -1)));
+            if (expected.size() > 1 && expected.get(expected.size() - 1).isEmpty())
+                expected.remove(expected.size() - 1);
+            List<String> actual = new ArrayList<>();
+            while (parsed.hasNext())
+                actual.add(parsed.next());
+            assertEquals(testCase, expected, actual);
+        }
+    }
+
+    /**
+     * test that a quoted element may contain commas and escaped double quotes
+     */
+    @Test
+    public void testQuotedElements() throws InvalidFormatException {
+        CSV parsed = new CSV("\"a,b\",c,\"say \"\"hi\"\"\",\"\"");
+        assertEquals(4, parsed.length());
+        assertEquals("a,b", parsed.next());
+        assertEquals("c", parsed.next());
+        assertEquals("say \"hi\"", parsed.next());
+        assertEquals("", parsed.next());
+        assertFalse(parsed.hasNext());
+        assertEquals("\"a,b\",c,\"say \"\"hi\"\"\",\"\"", parsed.toString());
+    }
+
+    /**
+     * test that double quotes that do not make a well formed quoted element are kept as text
+     */
+    @Test
+    public void testMalformedQuotes() throws InvalidFormatException {
+        CSV parsed = new CSV("\"a,b,c\"d,e\"f\"");
+        assertEquals("\"a", parsed.next());
+        assertEquals("b", parsed.next());
+        assertEquals("c\"d", parsed.next());
+        assertEquals("e\"f\"", parsed.next());
+        assertFalse(parsed.hasNext());
+    }
+
+    /**
+     * test that a quoted element is restored from the tokens of its test case
+     */
+    @Test
+    public void testQuotedTokens() throws InvalidFormatException {
+        CSV parsed = new CSV("\"a,b\",c");
+        CSV restored = new CSV();
+        restored.fromTokens(parsed.toTokens());
+        assertEquals(parsed.toString(), restored.toString());
+        assertEquals("a,b", restored.next());
+        assertEquals("c", restored.next());
+    }
+
+    /**
+     * test that a test case with many elements is split into every element
+     */
+    @Test
+    public void testWideTestCase() throws InvalidFormatException {
+        int width = 100000;
+        StringBuilder s = new StringBuilder();
+        for (int i = 0; i < width; i++)
+            s.append(i % 100).append(',');
+        CSV parsed = new CSV(s.toString());
+        assertEquals(width, parsed.length());
+        for (int i = 0; i < width; i++)
+            assertEquals(String.valueOf(i % 100), parsed.next());
+    }
+}
@@ -1,6 +1,8 @@
 package data_representation;
 
 import core.InvalidFormatException;
+import metrics.comparison.pairwise.Hamming;
+import metrics.comparison.pairwise.JaccardIndex;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -58,6 +60,18 @@ public class EventStatePairsTest {
         assertNull(d.next());
     }
 
+    @Test
+    /*Test that the same test case parsed into two symbol tables is compared as equal, in either order*/
+    public void testCompareAcrossTables() throws Exception {
+        EventStatePairs old = new EventStatePairs("Start-a-b-c-d");
+        EventStatePairs parsedAgain = new EventStatePairs("Start-a-b-c-d");
+        assertNotSame(old.getSymbolTable(), parsedAgain.getSymbolTable());
+        assertEquals(0, new Hamming().compare(parsedAgain.cursor(), old.cursor()), 0);
+        assertEquals(0, new Hamming().compare(old.cursor(), parsedAgain.cursor()), 0);
+        assertEquals(1, new JaccardIndex().compare(parsedAgain.cursor(), old.cursor()), 0);
+        assertEquals(1, new JaccardIndex().compare(old.cursor(), parsedAgain.cursor()), 0);
+    }
+
     @Test
     /*Test that parse() completes successfully without throwing an exception*/
     public void testParse() throws InvalidFormatException {
@@ -0,0 +1,134 @@
+package data_representation;
+
+import core.InvalidFormatException;
+import model.Config;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+public class KGramShinglesTest {
+    /*iterates over the shingles of a test case*/
+    private static List<Object> shinglesOf(DataRepresentation testCase) {
+        List<Object> shingles = new ArrayList<>();
+        while (testCase.hasNext())
+            shingles.add(testCase.next());
+        return shingles;
+    }
+
+    @Test
+    /*test that a test case has a shingle for every k consecutive elements, equal when their elements are equal*/
+    public void testShingles() throws InvalidFormatException {
+        List<Object> shingles = shinglesOf(new KGramShingles("a,b,a,b,c", 2));
+        assertEquals(4, shingles.size());
+        assertEquals(shingles.get(0), shingles.get(2));
+        assertNotEquals(shingles.get(0), shingles.get(1));
+        assertEquals(3, new KGramShingles("a,b,a,b,c", 2).distinctElements().length);
+    }
+
+    @Test
+    /*test that the rolling hash gives the same shingle as hashing its elements directly*/
+    public void testRollingHash() {
+        long[] elements = {5, 17, -3, 99, 17, -3, 99, 42};
+        long[] shingles = KGramShingles.shingle(elements, 3);
+        assertEquals(6, shingles.length);
+        for (int i = 0; i < shingles.length; i++) {
+            long[] window = {elements[i], elements[i + 1], elements[i + 2]};
+            assertEquals(KGramShingles.shingle(window, 3)[0], shingles[i]);
+        }
+        assertEquals(shingles[1], shingles[4]);
+    }
+
+    @Test
+    /*test that a test case shorter than a shingle has one shingle of all of its elements*/
+    public void testShortTestCase() throws InvalidFormatException {
+        assertEquals(1, new KGramShingles("a,b", 5).length());
+        assertNotEquals(new KGramShingles("a,b", 5).next(), new KGramShingles("b,a", 5).next());
+    }
+
+    @Test
+    /*test that traces are read as their events and states, and anything else as comma separated values*/
+    public void testFormats() throws InvalidFormatException {
+        assertEquals(shinglesOf(new KGramShingles("a,b,c", 1)), shinglesOf(new KGramShingles("[4] Start-a-b-c", 1)));
+        Set<Object> distinct = new HashSet<>(shinglesOf(new KGramShingles("\"x,y\",z", 1)));
+        assertEquals(2, distinct.size());
+    }
+
+    @Test(expected = InvalidFormatException.class)
+    /*test that a test case that is neither a trace nor comma separated values is rejected*/
+    public void testInvalid() throws InvalidFormatException {
+        new KGramShingles("");
+    }
+
+    @Test
+    /*test that shingles in common are counted by merging the distinct shingles*/
+    public void testCountCommon() throws InvalidFormatException {
+        long[] shingles1 = new KGramShingles("a,b,c,d", 2).distinctElements();
+        long[] shingles2 = new KGramShingles("x,b,c,d,a,b", 2).distinctElements();
+        assertEquals(3, SymbolTable.countCommon(shingles1, shingles2));
+        assertEquals(0, SymbolTable.countCommon(shingles1, new long[0]));
+    }
+
+    @Test
+    /*test that a cursor and a restored test case have the same shingles*/
+    public void testCursorAndTokens() throws InvalidFormatException {
+        KGramShingles testCase = new KGramShingles("a,b,c,d", 2);
+        List<Object> shingles = shinglesOf(testCase.cursor());
+        assertEquals(shingles, shinglesOf(testCase));
+        KGramShingles restored = new KGramShingles();
+        restored.fromTokens(testCase.toTokens());
+        assertEquals(2, restored.getSize());
+        assertEquals(shingles, shinglesOf(restored));
+    }
+
+    @Test
+    /*test that the shingle size is configured, is part of the format, and that other formats keep no set*/
+    public void testConfigureAndFormatKey() throws InvalidFormatException {
+        Config config = new Config();
+        KGramShingles format = new KGramShingles(2);
+        assertSame(format, format.configure(config));
+        config.setShingleSize(4);
+        assertEquals(4, ((KGramShingles) format.configure(config)).getSize());
+        assertNotEquals(format.formatKey(), format.configure(config).formatKey());
+        assertEquals(CSV.class.getName(), new CSV().formatKey());
+        assertNull(new CSV("a,b").distinctElements());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    /*test that a shingle must have at least one element*/
+    public void testInvalidSize() {
+        new KGramShingles(0);
+    }
+
+    @Test
+    /*test that test cases made by the factory of a test case have its shingle size*/
+    public void testFactory() throws Exception {
+        DataRepresentation testCase = new KGramShingles(2).factory().get();
+        testCase.parse("a,b,c,d");
+        assertEquals(2, ((KGramShingles) testCase).getSize());
+        assertEquals(shinglesOf(new KGramShingles("a,b,c,d", 2)), shinglesOf(testCase));
+    }
+
+    @Test
+    /*test that a serialized test case is read back with the shingle size it was written with*/
+    public void testSerialization() throws Exception {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(new KGramShingles("a,b,c,d", 2));
+        }
+        KGramShingles restored;
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            restored = (KGramShingles) in.readObject();
+        }
+        assertEquals(2, restored.getSize());
+        assertEquals(shinglesOf(new KGramShingles("a,b,c,d", 2)), shinglesOf(restored));
+    }
+}
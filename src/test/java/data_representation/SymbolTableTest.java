@@ -0,0 +1,185 @@
+package data_representation;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test suite for the table that gives the elements of test cases integer ids
+ */
+public class SymbolTableTest {
+    private SymbolTable symbols;
+
+    @Before
+    /*setup to perform before each test case*/
+    public void setup() {
+        symbols = new SymbolTable();
+    }
+
+    @Test
+    /*test that equal elements have the same id, and ids are given in the order elements are first seen*/
+    public void testIds() {
+        assertEquals(0, symbols.idOf("a"));
+        assertEquals(1, symbols.idOf("b"));
+        assertEquals(0, symbols.idOf(new String("a")));
+        assertArrayEquals(new int[]{1, 2, 0}, symbols.idsOf(Arrays.asList("b", "c", "a")));
+        assertEquals(3, symbols.size());
+        assertEquals("c", symbols.symbolOf(2));
+    }
+
+    @Test
+    /*test that an element in a longer text has the same id as the element on its own*/
+    public void testRangeIds() {
+        String text = "Start-ab-a-ab";
+        assertEquals(0, symbols.idOf(text, 6, 8));
+        assertEquals(0, symbols.idOf("ab"));
+        assertEquals(1, symbols.idOf(text, 9, 10));
+        assertEquals(0, symbols.idOf(text, 11, 13));
+        assertEquals(2, symbols.idOf(text, 8, 8));
+        assertEquals("", symbols.symbolOf(2));
+    }
+
+    @Test
+    /*test that different elements with the same hash have different ids, whether looked up on their own or in a
+    longer text*/
+    public void testCollidingHashes() {
+        assertEquals("Aa".hashCode(), "BB".hashCode());
+        assertEquals(0, symbols.idOf("Aa"));
+        assertEquals(1, symbols.idOf("xBBx", 1, 3));
+        assertEquals(0, symbols.idOf("AaBB", 0, 2));
+        assertEquals(1, symbols.idOf("BB"));
+        assertEquals(2, symbols.idOf("AaBB"));
+        assertEquals("BB", symbols.symbolOf(1));
+    }
+
+    @Test
+    /*test that the table grows past its initial capacity*/
+    public void testManySymbols() {
+        for (int i = 0; i < 5000; i++)
+            assertEquals(i, symbols.idOf("element" + i));
+        for (int i = 0; i < 5000; i++)
+            assertEquals("element" + i, symbols.symbolOf(i));
+    }
+
+    @Test
+    /*test that elements interned by many threads at once are each given one dense id*/
+    public void testConcurrentIds() throws Exception {
+        int distinct = 2000;
+        ExecutorService threadPool = Executors.newFixedThreadPool(8);
+        List<Callable<int[]>> tasks = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            int offset = t * 97;
+            tasks.add(() -> {
+                int[] ids = new int[distinct];
+                for (int i = 0; i < distinct; i++) {
+                    int element = (i + offset) % distinct;
+                    ids[element] = symbols.idOf(Integer.toString(element));
+                }
+                return ids;
+            });
+        }
+        List<Future<int[]>> results = threadPool.invokeAll(tasks);
+        threadPool.shutdown();
+
+        int[] expected = results.get(0).get();
+        for (Future<int[]> result : results)
+            assertArrayEquals(expected, result.get());
+        assertEquals(distinct, symbols.size());
+        boolean[] used = new boolean[distinct];
+        for (int i = 0; i < distinct; i++) {
+            assertEquals(Integer.toString(i), symbols.symbolOf(expected[i]));
+            assertFalse(used[expected[i]]);
+            used[expected[i]] = true;
+        }
+    }
+
+    @Test
+    /*test that the distinct elements of a test case are found, and the ones in common are counted*/
+    public void testDistinctIds() throws Exception {
+        int[] set1 = symbols.distinctIdsOf(new CSV("b,a,b,c"));
+        int[] set2 = symbols.distinctIdsOf(new CSV("c,d,a,a"));
+        assertArrayEquals(new int[]{0, 1, 2}, set1);
+        assertArrayEquals(new int[]{1, 2, 3}, set2);
+        assertEquals(2, SymbolTable.countCommon(set1, set2));
+        assertEquals(0, SymbolTable.countCommon(set1, new int[0]));
+    }
+
+    @Test
+    /*test that the ids of a parsed test case are the ids of the elements it iterates over*/
+    public void testParsedIds() throws Exception {
+        for (DataRepresentation testCase : new DataRepresentation[]{new CSV("a,,b,"), new EventSequence("Start-a-S1-b-S2"),
+                new StateSequence("[3] Start-a-S1-b-S1"), new EventStatePairs("Start-a-S1-b-S2")}) {
+            SymbolTable parsedWith = testCase.getSymbolTable();
+            List<Integer> ids = new ArrayList<>();
+            while (testCase.hasNext())
+                ids.add(testCase.nextId(parsedWith));
+            testCase.fromTokens(testCase.toTokens());
+            for (int id : ids)
+                assertEquals(parsedWith.symbolOf(id), testCase.next());
+            assertFalse(testCase.hasNext());
+            //a test case compared with another table looks up its elements
+            testCase.fromTokens(testCase.toTokens());
+            for (int id : ids)
+                assertEquals(parsedWith.symbolOf(id), symbols.symbolOf(testCase.nextId(symbols)));
+        }
+    }
+
+    @Test
+    /*test that a pair is given one id from the ids of its elements, and its text is written out when asked for*/
+    public void testPairs() {
+        int a = symbols.idOf("a");
+        int b = symbols.idOf("b");
+        int pair = symbols.pairOf(a, b);
+        assertEquals(pair, symbols.pairOf(a, b));
+        assertNotEquals(pair, symbols.pairOf(b, a));
+        assertEquals(4, symbols.size());
+        assertEquals("(a,b)", symbols.symbolOf(pair));
+        assertEquals("(b,a)", symbols.symbolOf(symbols.pairOf(b, a)));
+        //once written out, the text of a pair has the id of the pair
+        assertEquals(pair, symbols.idOf("(a,b)"));
+    }
+
+    @Test
+    /*test that a pair is found in another table as the pair of its elements, not as its text*/
+    public void testPairIdIn() {
+        SymbolTable other = new SymbolTable();
+        int pair = symbols.pairOf(symbols.idOf("a"), symbols.idOf("b"));
+        assertEquals(other.pairOf(other.idOf("a"), other.idOf("b")), symbols.idIn(pair, other));
+        assertEquals(other.idOf("a"), symbols.idIn(symbols.idOf("a"), other));
+    }
+
+    @Test
+    /*test that test cases made by a factory with a table give their elements ids in it, and other test cases each
+    have a table of their own*/
+    public void testFactoryTable() throws Exception {
+        for (DataRepresentation format : new DataRepresentation[]{new CSV(), new EventSequence(), new EventStatePairs()}) {
+            DataRepresentation testCase = format.factory(symbols).get();
+            testCase.parse("Start-a-S1");
+            assertSame(format.getClass(), testCase.getClass());
+            assertSame(symbols, testCase.getSymbolTable());
+        }
+        assertNotSame(new CSV("a,b").getSymbolTable(), new CSV("a,b").getSymbolTable());
+        assertSame(symbols, SymbolTable.of(Arrays.asList(new CSV().factory(symbols).get(), new CSV("a"))));
+        assertNotNull(SymbolTable.of(new ArrayList<DataRepresentation>()));
+    }
+
+    @Test
+    /*test that the elements of a set of test cases are counted by id*/
+    public void testCountIds() throws Exception {
+        symbols.idOf("unused");
+        int[] counts = symbols.countIds(Arrays.asList(new CSV("a,b,a"), new CSV("b,c")));
+        assertEquals(0, counts[symbols.idOf("unused")]);
+        assertEquals(2, counts[symbols.idOf("a")]);
+        assertEquals(2, counts[symbols.idOf("b")]);
+        assertEquals(1, counts[symbols.idOf("c")]);
+    }
+}
@@ -0,0 +1,120 @@
+package data_representation;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test suite for reading the elements of test cases by index
+ */
+public class TokenSequenceTest {
+    /**
+     * helper method to check that reading a test case by index gives the same elements as iterating over it
+     *
+     * @param testCase a parsed test case
+     * @param fresh the same test case parsed again, for iterating over
+     * @param length the expected number of elements
+     */
+    private void checkSequence(TokenSequence testCase, TokenSequence fresh, int length) {
+        assertEquals(length, testCase.length());
+        SymbolTable symbols = testCase.getSymbolTable();
+        int[] copied = testCase.copyTo(new int[0]);
+        int[] reused = new int[length + 3];
+        assertSame(reused, testCase.copyTo(reused));
+        for (int i = 0; i < length; i++) {
+            assertTrue(fresh.hasNext());
+            assertEquals(fresh.next(), symbols.symbolOf(testCase.tokenAt(i)));
+            assertEquals(testCase.tokenAt(i), copied[i]);
+            assertEquals(testCase.tokenAt(i), reused[i]);
+        }
+        assertFalse(fresh.hasNext());
+        //reading by index does not move the iterator
+        assertTrue(testCase.hasNext());
+    }
+
+    @Test
+    /*test that each representation can be read by index*/
+    public void testRepresentations() throws Exception {
+        checkSequence(new CSV("a,,b,"), new CSV("a,,b,"), 3);
+        checkSequence(new EventSequence("Start-a-S1-b-S2"), new EventSequence("Start-a-S1-b-S2"), 2);
+        checkSequence(new StateSequence("[3] Start-a-S1-b-S1-c"), new StateSequence("[3] Start-a-S1-b-S1-c"), 2);
+        checkSequence(new EventStatePairs("Start-a-S1-b-S2"), new EventStatePairs("Start-a-S1-b-S2"), 2);
+    }
+
+    @Test
+    /*test that equal elements of different test cases parsed with one table have the same id*/
+    public void testSharedIds() throws Exception {
+        SymbolTable symbols = new SymbolTable();
+        TokenSequence testCase1 = (TokenSequence) new EventStatePairs().factory(symbols).get();
+        TokenSequence testCase2 = (TokenSequence) new EventStatePairs().factory(symbols).get();
+        testCase1.parse("Start-a-S1-b-S2");
+        testCase2.parse("[7] Start-b-S2-a-S1");
+        assertTrue(TokenSequence.comparable(testCase1, testCase2));
+        assertEquals(testCase1.tokenAt(0), testCase2.tokenAt(1));
+        assertEquals(testCase1.tokenAt(1), testCase2.tokenAt(0));
+        assertFalse(TokenSequence.comparable(testCase1, new DataRepresentation() {
+            public boolean hasNext() { return false; }
+            public Object next() { return null; }
+            public void parse(String s) {}
+        }));
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    /*test that reading past the last element fails*/
+    public void testTokenPastEnd() throws Exception {
+        new EventSequence("Start-a-S1").tokenAt(1);
+    }
+
+    @Test
+    /*test that a serialized test case is read back with the same elements*/
+    public void testSerialization() throws Exception {
+        for (TokenSequence testCase : new TokenSequence[]{new CSV("x,y,x"), new EventSequence("[5] Start-x-S1-y-S2")}) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+                out.writeObject(testCase);
+            }
+            TokenSequence copy;
+            try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+                copy = (TokenSequence) in.readObject();
+            }
+            assertEquals(testCase.toString(), copy.toString());
+            assertEquals(testCase.length(), copy.length());
+            assertNotSame(testCase.getSymbolTable(), copy.getSymbolTable());
+            assertEquals(copy.tokenAt(0), copy.getSymbolTable().idOf("x"));
+        }
+    }
+
+    @Test
+    /*test that cursors iterate over a parsed test case independently, from the first element*/
+    public void testCursors() throws Exception {
+        for (DataRepresentation testCase : new DataRepresentation[]{new CSV("a,b"), new EventSequence("[1] Start-a-S1-b-S2")}) {
+            testCase.next();
+            DataRepresentation cursor1 = testCase.cursor();
+            DataRepresentation cursor2 = testCase.cursor();
+            assertSame(testCase.getClass(), cursor1.getClass());
+            assertEquals("a", cursor1.next());
+            assertEquals("a", cursor2.next());
+            assertEquals("b", cursor1.next());
+            assertFalse(cursor1.hasNext());
+            assertTrue(cursor2.hasNext());
+            assertEquals("b", testCase.next());
+            assertEquals(testCase.toString(), cursor2.toString());
+        }
+    }
+
+    @Test
+    /*test that a representation that cannot be iterated over more than once has no cursor*/
+    public void testNoCursor() {
+        DataRepresentation oneShot = new DataRepresentation() {
+            public boolean hasNext() { return false; }
+            public Object next() { return null; }
+            public void parse(String s) {}
+        };
+        assertNull(oneShot.cursor());
+    }
+}
@@ -0,0 +1,103 @@
+package data_representation;
+
+import core.InvalidFormatException;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test suite for the scanner of the trace test case format
+ */
+public class TraceScannerTest {
+    private TraceScanner scanner;
+
+    @Before
+    /*setup to perform before each test case*/
+    public void setup() {
+        scanner = new TraceScanner();
+    }
+
+    /**
+     * helper method to scan every element of a test case
+     *
+     * @param s the test case
+     * @return the elements of the test case
+     */
+    private List<String> scanAll(String s) throws InvalidFormatException {
+        scanner.reset(s);
+        List<String> tokens = new ArrayList<>();
+        while (scanner.nextToken())
+            tokens.add(scanner.token());
+        return tokens;
+    }
+
+    @Test
+    /*test that the elements of a test case are found in order*/
+    public void testElements() throws InvalidFormatException {
+        assertEquals(Arrays.asList("a", "S1", "b", "S2"), scanAll("Start-a-S1-b-S2"));
+        assertNull(scanner.getId());
+    }
+
+    @Test
+    /*test that an identifier is read, and the rest of the test case is trimmed*/
+    public void testIdentifier() throws InvalidFormatException {
+        assertEquals(Arrays.asList("a", "S1"), scanAll("[42]   Start-a-S1  "));
+        assertEquals(Long.valueOf(42), scanner.getId());
+        scanAll("[-7]Start-a");
+        assertEquals(Long.valueOf(-7), scanner.getId());
+        scanAll("[123456789012345678]Start-a");
+        assertEquals(Long.valueOf(123456789012345678L), scanner.getId());
+    }
+
+    @Test
+    /*test that elements are split in the same way as String.split*/
+    public void testSplitSemantics() throws InvalidFormatException {
+        for (String list : new String[]{"a--b", "-a", "a-b--", "a", "a- ", "---"})
+            assertEquals(Arrays.asList(list.split("-")), scanAll("Start-" + list));
+    }
+
+    @Test
+    /*test that an element is given the same id in a symbol table as the text of the element*/
+    public void testTokenId() throws InvalidFormatException {
+        SymbolTable symbols = new SymbolTable();
+        int state = symbols.idOf("state");
+        scanner.reset("Start-event-state-event");
+        scanner.nextToken();
+        int event = scanner.tokenId(symbols);
+        assertEquals(symbols.idOf("event"), event);
+        scanner.nextToken();
+        assertEquals(state, scanner.tokenId(symbols));
+        scanner.nextToken();
+        assertEquals(event, scanner.tokenId(symbols));
+        assertEquals(2, symbols.size());
+    }
+
+    @Test(expected = InvalidFormatException.class)
+    /*test that a test case without the Start state is rejected*/
+    public void testNoStartState() throws InvalidFormatException {
+        scanner.reset("[1] a-S1");
+    }
+
+    @Test(expected = InvalidFormatException.class)
+    /*test that a test case with no elements is rejected*/
+    public void testNoElements() throws InvalidFormatException {
+        scanner.reset("Start-");
+    }
+
+    @Test(expected = InvalidFormatException.class)
+    /*test that an identifier that is not a number is rejected*/
+    public void testInvalidIdentifier() throws InvalidFormatException {
+        scanner.reset("[1a] Start-a");
+    }
+
+    @Test(expected = InvalidFormatException.class)
+    /*test that an identifier without a closing bracket is rejected*/
+    public void testUnclosedIdentifier() throws InvalidFormatException {
+        scanner.reset("[12 Start-a");
+    }
+}
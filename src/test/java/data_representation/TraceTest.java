@@ -0,0 +1,102 @@
+package data_representation;
+
+import core.InvalidFormatException;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+
+import static org.junit.Assert.*;
+
+public class TraceTest {
+    private final String testcase = "[43] Start-1-Off-4-Stopped-13-Playing";
+    private SymbolTable symbols;
+    private Trace trace;
+
+    @Before
+    public void setUp() throws InvalidFormatException {
+        symbols = new SymbolTable();
+        trace = Trace.parse(testcase, symbols);
+    }
+
+    /*test that a trace holds its identifier and every event and state*/
+    @Test
+    public void testParse() {
+        assertEquals(Long.valueOf(43), trace.getId());
+        assertEquals(6, trace.length());
+        assertEquals(3, trace.eventCount());
+        assertEquals(3, trace.stateCount());
+        assertSame(symbols, trace.getSymbolTable());
+        assertEquals("Stopped", symbols.symbolOf(trace.elementAt(3)));
+    }
+
+    /*test that a trace is rejected when it does not have the trace format*/
+    @Test(expected = InvalidFormatException.class)
+    public void testParseInvalid() throws InvalidFormatException {
+        Trace.parse("1-Off-4", symbols);
+    }
+
+    /*test that a trace is restored from its tokens*/
+    @Test
+    public void testTokens() throws InvalidFormatException {
+        Trace restored = Trace.fromTokens(trace.toTokens(), new SymbolTable());
+        assertArrayEquals(trace.toTokens(), restored.toTokens());
+        assertEquals(trace.getId(), restored.getId());
+    }
+
+    /*test that each view of one trace reads the same elements as parsing the test case as that view*/
+    @Test
+    public void testViews() throws InvalidFormatException {
+        assertEquals(new EventSequence(testcase).toString(), new EventSequence(trace).toString());
+        assertEquals(new StateSequence(testcase).toString(), new StateSequence(trace).toString());
+        assertEquals(new EventStatePairs(testcase).toString(), new EventStatePairs(trace).toString());
+        assertEquals("[43] (1,Off)-(4,Stopped)-(13,Playing)", new EventStatePairs(trace).toString());
+    }
+
+    /*test that views of one trace share its elements rather than copying them*/
+    @Test
+    public void testViewsShareTrace() throws InvalidFormatException {
+        EventSequence events = new EventSequence(trace);
+        TraceSequence states = new StateSequence().withTrace(trace);
+        assertSame(trace, events.getTrace());
+        assertSame(trace, states.getTrace());
+        assertSame(trace, ((TraceSequence) events.cursor()).getTrace());
+        assertEquals("Off", states.next());
+        assertEquals("1", events.next());
+    }
+
+    /*test that the pairs of a trace ending with an event cannot be viewed*/
+    @Test(expected = InvalidFormatException.class)
+    public void testPairsWithoutFinalState() throws InvalidFormatException {
+        new EventStatePairs(Trace.parse("Start-1-Off-4", symbols));
+    }
+
+    /*test that a trace ending with an event can still be viewed as events and states*/
+    @Test
+    public void testViewsWithoutFinalState() throws InvalidFormatException {
+        Trace odd = Trace.parse("Start-1-Off-4", symbols);
+        assertEquals("1-4", new EventSequence(odd).toString());
+        assertEquals("Off", new StateSequence(odd).toString());
+    }
+
+    /*test that a view is serialized with its trace and its position*/
+    @Test
+    public void testSerialization() throws Exception {
+        StateSequence states = new StateSequence(trace);
+        states.next();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(states);
+        }
+        StateSequence restored;
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            restored = (StateSequence) in.readObject();
+        }
+        assertEquals(states.toString(), restored.toString());
+        assertEquals("Stopped", restored.next());
+        assertArrayEquals(trace.toTokens(), restored.getTrace().toTokens());
+    }
+}
@@ -33,6 +33,14 @@ public class HammingTest {
         assertEquals(result, metric.compare(new CSV(testCase2), new CSV(testCase1)), THRESHOLD);//check the order does of operands does not matter
     }
 
+    @Test
+    /*Test the comparison metric gives the same result for test cases whose elements were given ids in different tables*/
+    public void testHammingDifferentSymbolTables() throws Exception {
+        CSV testCase1 = new CSV("1,2,3,4,5,6");
+        CSV testCase2 = new CSV("1,3,6,4,2,7");
+        assertEquals(4, metric.compare(testCase1, testCase2), THRESHOLD);
+    }
+
     @Test
     /*Test the comparison metrics works as expected for cases of a different size*/
     public void testHammingUnequalSize() throws Exception {
@@ -1,6 +1,8 @@
 package metrics.comparison.pairwise;
 
 import data_representation.CSV;
+import data_representation.DataRepresentation;
+import data_representation.KGramShingles;
 import metrics.comparison.pairwise.JaccardIndex;
 import org.junit.Before;
 import org.junit.Test;
@@ -73,4 +75,14 @@ public class JaccardIndexTest {
             fail();
         }
     }
+
+    @Test
+    /*Test that shingles are compared as sets of k-grams, giving the same result as comparing them by iterating*/
+    public void testJaccardIndexShingles() throws Exception {
+        //the shingles are {ab, bc, cd} and {ab, bc, cx}
+        double result = metric.compare(new KGramShingles("a,b,c,d", 2), new KGramShingles("a,b,c,x", 2));
+        assertEquals(2.0 / 4, result, THRESHOLD);
+        DataRepresentation iterated = new CSV("1");//any other representation is compared by iterating
+        assertEquals(0, metric.compare(new KGramShingles("a,b,c,d", 2), iterated), THRESHOLD);
+    }
 }
@@ -0,0 +1,63 @@
+package metrics.report_format;
+
+import model.CompareDTO;
+import model.NearDuplicatePair;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Test the NearDuplicates report format.
+ */
+public class NearDuplicatesTest {
+
+    ReportFormat nearDuplicatesFormat;
+
+    @Before
+    public void setup() {
+        nearDuplicatesFormat = new NearDuplicates();
+    }
+
+    /**
+     * Ensures each near-duplicate pair is listed on its own line, and not as a run parameter.
+     */
+    @Test
+    public void testFormat() {
+        CompareDTO dto = new CompareDTO();
+        dto.setComparisonMethod("JaccardIndex");
+        dto.setNearDuplicateThreshold(0.8);
+        dto.setNearDuplicates(Arrays.asList(new NearDuplicatePair(0, 4, 0.9), new NearDuplicatePair(2, 3, 1.0)));
+
+        String result = nearDuplicatesFormat.format(dto, Arrays.asList(0.9, 1.0), Collections.singletonList(Collections.singletonList(0.95)));
+
+        assertTrue("Format does not contain the expected header.", result.contains("/*********"));
+        assertTrue("Format does not contain the threshold.", result.contains("nearDuplicateThreshold: 0.8"));
+        assertFalse("Format lists the pairs as a run parameter.", result.contains("nearDuplicates:"));
+        assertTrue("Format does not contain the number of pairs.", result.contains("Near-duplicate pairs: 2" + System.lineSeparator()));
+        assertTrue("Format does not contain a pair.", result.contains(System.lineSeparator() + "0 4 0.9" + System.lineSeparator()));
+        assertTrue("Format does not contain a pair.", result.endsWith(System.lineSeparator() + "2 3 1.0" + System.lineSeparator()));
+    }
+
+    /**
+     * Ensures a comparison without a near-duplicate search is reported as such.
+     */
+    @Test
+    public void testFormatWithoutSearch() {
+        String result = nearDuplicatesFormat.format(new CompareDTO(), Collections.singletonList(0.5), Collections.emptyList());
+        assertTrue(result.contains("No near-duplicate search was made."));
+    }
+
+    /**
+     * Test get description.
+     */
+    @Test
+    public void testDescription() {
+        assertNotNull("Unable to get description or NearDuplicates format.", nearDuplicatesFormat.getDescription());
+    }
+}
@@ -74,4 +74,23 @@ public class CompareDTOTest {
         assertFalse("Save should be false", compareEmpty.getSave());
         assertFalse(compareEmpty.isUseThreadPool());
     }
+
+    @Test
+    /*test that the sampling values of a CompareDTO are unset until they are set*/
+    public void testSampleValues(){
+        CompareDTO compare = new CompareDTO();
+        assertNull(compare.getSampleSize());
+        assertNull(compare.getStratifiedSample());
+        assertNull(compare.getPopulationSize());
+        assertNull(compare.getSampleError());
+
+        compare.setSampleSize(50);
+        compare.setStratifiedSample(true);
+        compare.setPopulationSize(1000L);
+        compare.setSampleError(0.25);
+        assertEquals(Integer.valueOf(50), compare.getSampleSize());
+        assertTrue(compare.getStratifiedSample());
+        assertEquals(Long.valueOf(1000), compare.getPopulationSize());
+        assertEquals(0.25, compare.getSampleError(), 0);
+    }
 }
@@ -301,6 +301,26 @@ public class ConfigTest {
                 assertEquals(config.getReportFormat(), newFormat);
         }
 
+        /**
+         * Test getter and setter for the memory mapped file threshold.
+         */
+        @Test
+        public void getSetMappedFileThreshold() {
+                int newThreshold = 64;
+                config.setMappedFileThreshold(newThreshold);
+                assertEquals(config.getMappedFileThreshold(), newThreshold);
+        }
+
+        /**
+         * Test getter and setter for the suite cache location.
+         */
+        @Test
+        public void getSetSuiteCacheLocation() {
+                String newLocation = "suite-cache";
+                config.setSuiteCacheLocation(newLocation);
+                assertEquals(config.getSuiteCacheLocation(), newLocation);
+        }
+
         /**
          * Test the to string method for failures
          */
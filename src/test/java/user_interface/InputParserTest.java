@@ -438,6 +438,147 @@ public class InputParserTest {
         }
     }
 
+    /* **********
+     * Sampling *
+    ************/
+
+    @Test
+    /*test for parsing a compare command with a sample size*/
+    public void testCompareSampleFlag() throws InvalidCommandException {
+        CompareDTO compare = (CompareDTO) input.parse("compare file1 CSV -k 50 -m metricname");
+        assertEquals(Integer.valueOf(50), compare.getSampleSize());
+        assertNull(compare.getStratifiedSample());
+        assertEquals("metricname", compare.getComparisonMethod());
+    }
+
+    @Test
+    /*test for parsing a compare command with a stratified sample*/
+    public void testCompareSampleFlagStratified() throws InvalidCommandException {
+        CompareDTO compare = (CompareDTO) input.parse("compare file1 file2 CSV -k 50 stratified");
+        assertEquals(Integer.valueOf(50), compare.getSampleSize());
+        assertTrue(compare.getStratifiedSample());
+        assertEquals("file2", compare.getTestCaseLocationTwo());
+    }
+
+    @Test
+    /*test for parsing a compare command with a sample flag but no sample size*/
+    public void testCompareSampleFlagNoValue() {
+        for (String command : new String[]{"compare file1 CSV -k", "compare file1 CSV -k -t"}) {
+            try {
+                input.parse(command);
+                fail();
+            } catch (InvalidCommandException e) {
+                assertEquals("No sample size specified after sample flag.", e.getErrorMessage());
+            }
+        }
+    }
+
+    @Test
+    /*test for parsing a compare command that searches for near-duplicates*/
+    public void testCompareNearDuplicateFlag() throws InvalidCommandException {
+        CompareDTO compare = (CompareDTO) input.parse("compare file1 CSV -n 0.8 -m JaccardIndex");
+        assertEquals(Double.valueOf(0.8), compare.getNearDuplicateThreshold());
+        assertEquals("JaccardIndex", compare.getComparisonMethod());
+        assertNull(((CompareDTO) input.parse("compare file1 CSV")).getNearDuplicateThreshold());
+    }
+
+    @Test
+    /*test for parsing a compare command that searches for every near-duplicate*/
+    public void testCompareNearDuplicateFlagExact() throws InvalidCommandException {
+        CompareDTO compare = (CompareDTO) input.parse("compare file1 CSV -n 0.9 exact -m Dice");
+        assertEquals(Double.valueOf(0.9), compare.getNearDuplicateThreshold());
+        assertEquals(Boolean.TRUE, compare.getExactNearDuplicates());
+        assertEquals("Dice", compare.getComparisonMethod());
+        assertNull(((CompareDTO) input.parse("compare file1 CSV -n 0.9")).getExactNearDuplicates());
+    }
+
+    @Test
+    /*test for parsing a compare command that searches for pairs within an edit distance*/
+    public void testCompareEditDistanceFlag() throws InvalidCommandException {
+        CompareDTO compare = (CompareDTO) input.parse("compare file1 CSV -e 3 -m Levenshtein");
+        assertEquals(Integer.valueOf(3), compare.getMaxEditDistance());
+        assertEquals("Levenshtein", compare.getComparisonMethod());
+        assertNull(((CompareDTO) input.parse("compare file1 CSV")).getMaxEditDistance());
+    }
+
+    @Test
+    /*test for parsing a compare command with an edit distance flag but no distance, or a distance that is not valid*/
+    public void testCompareEditDistanceFlagInvalidValue() {
+        String[][] cases = {{"compare file1 CSV -e", "No distance specified after edit distance flag."},
+                {"compare file1 CSV -e -n", "No distance specified after edit distance flag."},
+                {"compare file1 CSV -e 0.5", "Value specified after edit distance flag is not a number."},
+                {"compare file1 CSV -e -2", "Edit distance cannot be negative."}};
+        for (String[] command : cases) {
+            try {
+                input.parse(command[0]);
+                fail();
+            } catch (InvalidCommandException e) {
+                assertEquals(command[1], e.getErrorMessage());
+            }
+        }
+    }
+
+    @Test
+    /*test for parsing a compare command that finds the nearest test cases of one suite to each of another*/
+    public void testCompareNearestFlag() throws InvalidCommandException {
+        CompareDTO compare = (CompareDTO) input.parse("compare file1 file2 CSV -q 5 -m Levenshtein");
+        assertEquals(Integer.valueOf(5), compare.getNearestTestCases());
+        assertEquals("file2", compare.getTestCaseLocationTwo());
+        assertNull(((CompareDTO) input.parse("compare file1 file2 CSV")).getNearestTestCases());
+    }
+
+    @Test
+    /*test for parsing a compare command with a nearest flag but no number, or a number that is not positive*/
+    public void testCompareNearestFlagInvalidValue() {
+        String[][] cases = {{"compare file1 file2 CSV -q", "No number of test cases specified after nearest flag."},
+                {"compare file1 file2 CSV -q -m", "No number of test cases specified after nearest flag."},
+                {"compare file1 file2 CSV -q few", "Value specified after nearest flag is not a number."},
+                {"compare file1 file2 CSV -q 0", "Number of nearest test cases must be a positive number."}};
+        for (String[] command : cases) {
+            try {
+                input.parse(command[0]);
+                fail();
+            } catch (InvalidCommandException e) {
+                assertEquals(command[1], e.getErrorMessage());
+            }
+        }
+    }
+
+    @Test
+    /*test for parsing a compare command with a near-duplicate flag but no threshold, or a threshold that is not a similarity*/
+    public void testCompareNearDuplicateFlagInvalidValue() {
+        String[][] cases = {{"compare file1 CSV -n", "No similarity threshold specified after near-duplicate flag."},
+                {"compare file1 CSV -n -t", "No similarity threshold specified after near-duplicate flag."},
+                {"compare file1 CSV -n close", "Value specified after near-duplicate flag is not a number."},
+                {"compare file1 CSV -n 1.5", "Similarity threshold must be from 0 to 1."},
+                {"compare file1 CSV -n NaN", "Similarity threshold must be from 0 to 1."}};
+        for (String[] command : cases) {
+            try {
+                input.parse(command[0]);
+                fail();
+            } catch (InvalidCommandException e) {
+                assertEquals(command[1], e.getErrorMessage());
+            }
+        }
+    }
+
+    @Test
+    /*test for parsing a compare command with a sample size that is not a positive number*/
+    public void testCompareSampleFlagInvalidValue() {
+        try {
+            input.parse("compare file1 CSV -k many");
+            fail();
+        } catch (InvalidCommandException e) {
+            assertEquals("Value specified after sample flag is not a number.", e.getErrorMessage());
+        }
+        try {
+            input.parse("compare file1 CSV -k 0");
+            fail();
+        } catch (InvalidCommandException e) {
+            assertEquals("Sample size must be a positive number.", e.getErrorMessage());
+        }
+    }
+
     /* ************
      * Delimiters *
     **************/